@@ -1,15 +1,71 @@
 package seedu.healthmate;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Scanner;
+
 import seedu.healthmate.services.ChatParser;
 import seedu.healthmate.services.UI;
 
 public class HealthMate {
-    private static ChatParser chatParser = new ChatParser();
+    private static final String SCRIPT_OPTION = "--script";
+    private static final String BATCH_OPTION = "--batch";
+    private static final String CHECKPOINT_OPTION = "--checkpoint";
 
+    /**
+     * Starts the interactive chat, or runs a script of commands in batch mode.
+     * {@code --script <file>} runs the commands in the file, {@code --batch} runs the commands read from
+     * standard input, and {@code --checkpoint <n>} additionally saves all changes every n commands.
+     * @param args The command line arguments
+     */
     public static void main(String[] args) {
-        UI.printGreeting();
-        chatParser.run();
+        String scriptFile = null;
+        boolean isBatch = false;
+        int checkpointInterval = 0;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case SCRIPT_OPTION:
+                    scriptFile = args[++i];
+                    isBatch = true;
+                    break;
+                case BATCH_OPTION:
+                    isBatch = true;
+                    break;
+                case CHECKPOINT_OPTION:
+                    checkpointInterval = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            printUsage();
+            return;
+        }
+        if (checkpointInterval < 0) {
+            printUsage();
+            return;
+        }
 
+        if (!isBatch) {
+            ChatParser chatParser = new ChatParser();
+            UI.printGreeting();
+            chatParser.run();
+            return;
+        }
+        try (Scanner script = scriptFile == null
+                ? new Scanner(System.in)
+                : new Scanner(Path.of(scriptFile), StandardCharsets.UTF_8)) {
+            new ChatParser().runBatch(script, checkpointInterval);
+        } catch (IOException e) {
+            UI.printReply("Could not read script " + scriptFile + ". " + e.getMessage(), "Error: ");
+        }
     }
-}
 
+    private static void printUsage() {
+        UI.printReply("Usage: healthmate [" + SCRIPT_OPTION + " <file> | " + BATCH_OPTION + "] ["
+                + CHECKPOINT_OPTION + " <commands>]", "Error: ");
+    }
+}
@@ -4,6 +4,7 @@ package seedu.healthmate.command;
  * Represents an abstract command with a specific command string, format, and description.
  * This class serves as a base for creating different types of commands, each having its own format
  * and description for user interaction.
+ * Commands are registered in the {@link CommandMap}, which dispatches user input to {@link #execute}.
  */
 public abstract class Command {
     public static final String INDENTATION = "      ";
@@ -23,9 +24,45 @@ public abstract class Command {
     public Command(String command, String format, String description) {
         this.format = format;
         this.command = command;
+        this.commandLower = command.toLowerCase();
         this.description = description;
     }
 
+    /**
+     * Executes the command.
+     *
+     * @param context The application state the command is executed against.
+     * @param args The main command as typed by the user, the following tokens and the whole user input.
+     */
+    public abstract void execute(CommandContext context, CommandPair args);
+
+    /**
+     * Returns whether the command may change the meal menu or the meal log, so that its changes can be undone.
+     *
+     * @return true if the changes of the command are recorded in the undo history.
+     */
+    public boolean isUndoable() {
+        return false;
+    }
+
+    /**
+     * Returns whether the command is shown by the "list commands" command.
+     *
+     * @return true if the command is listed.
+     */
+    public boolean isListed() {
+        return true;
+    }
+
+    /**
+     * Returns whether the application ends once the command was executed.
+     *
+     * @return true if the input loop stops after the command.
+     */
+    public boolean isExit() {
+        return false;
+    }
+
     /**
      * Returns a string representation of the command, including its name, format, and description.
      *
@@ -51,5 +88,14 @@ public abstract class Command {
         return command;
     }
 
+    /**
+     * Returns the normalized command string the command is dispatched by.
+     *
+     * @return The lower-cased command string.
+     */
+    public String getCommandLower() {
+        return commandLower;
+    }
+
 
 }
@@ -0,0 +1,75 @@
+package seedu.healthmate.command;
+
+import java.util.logging.Logger;
+
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealList;
+import seedu.healthmate.core.User;
+import seedu.healthmate.services.HistoryTracker;
+import seedu.healthmate.services.UndoHistory;
+import seedu.healthmate.services.UserHistoryTracker;
+
+/**
+ * The application state a command is executed against.
+ * A context is created for every command, as the meal lists may be replaced by a reload in between commands.
+ */
+public class CommandContext {
+    private final HistoryTracker historyTracker;
+    private final UserHistoryTracker userHistoryTracker;
+    private final UndoHistory undoHistory;
+    private final MealList mealOptions;
+    private final MealEntriesList mealEntries;
+    private final User user;
+    private final Logger logger;
+
+    /**
+     * Constructs a context for a single command.
+     *
+     * @param historyTracker The history tracker persisting meal options and meal entries.
+     * @param userHistoryTracker The history tracker persisting the user profiles.
+     * @param undoHistory The history of changes that can be undone.
+     * @param mealOptions The meal menu.
+     * @param mealEntries The meal log.
+     * @param user The user profile connected with the current application run.
+     * @param logger The logger used for logging command execution steps.
+     */
+    public CommandContext(HistoryTracker historyTracker, UserHistoryTracker userHistoryTracker,
+                          UndoHistory undoHistory, MealList mealOptions, MealEntriesList mealEntries,
+                          User user, Logger logger) {
+        this.historyTracker = historyTracker;
+        this.userHistoryTracker = userHistoryTracker;
+        this.undoHistory = undoHistory;
+        this.mealOptions = mealOptions;
+        this.mealEntries = mealEntries;
+        this.user = user;
+        this.logger = logger;
+    }
+
+    public HistoryTracker getHistoryTracker() {
+        return this.historyTracker;
+    }
+
+    public UserHistoryTracker getUserHistoryTracker() {
+        return this.userHistoryTracker;
+    }
+
+    public UndoHistory getUndoHistory() {
+        return this.undoHistory;
+    }
+
+    public MealList getMealOptions() {
+        return this.mealOptions;
+    }
+
+    public MealEntriesList getMealEntries() {
+        return this.mealEntries;
+    }
+
+    public User getUser() {
+        return this.user;
+    }
+
+    public Logger getLogger() {
+        return this.logger;
+    }
+}
@@ -1,9 +1,12 @@
 package seedu.healthmate.command;
 
 import seedu.healthmate.command.commands.AddMealEntryCommand;
+import seedu.healthmate.command.commands.ClearUserDataCommand;
 import seedu.healthmate.command.commands.DeleteMealCommand;
 import seedu.healthmate.command.commands.DeleteMealEntryCommand;
+import seedu.healthmate.command.commands.ExportCommand;
 import seedu.healthmate.command.commands.HistoricCalorieProgressCommand;
+import seedu.healthmate.command.commands.ImportMealEntriesCommand;
 import seedu.healthmate.command.commands.ListCommandsCommand;
 import seedu.healthmate.command.commands.MealLogCommand;
 import seedu.healthmate.command.commands.MealMenuCommand;
@@ -14,39 +17,64 @@ import seedu.healthmate.command.commands.CurrentUserDataCommand;
 import seedu.healthmate.command.commands.MealRecommendationsCommand;
 import seedu.healthmate.command.commands.WeightTimelineCommand;
 import seedu.healthmate.command.commands.ByeCommand;
+import seedu.healthmate.command.commands.RedoCommand;
+import seedu.healthmate.command.commands.UndoCommand;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.logging.Logger;
 
-
+/**
+ * Registry of all commands, keyed by their lower-cased command string.
+ * User input is dispatched by looking up its lower-cased main command, so a new command only has to be
+ * registered here. The registration order is the order commands are listed in, unless they are unlisted.
+ */
 public class CommandMap {
     private static final Logger logger = Logger.getLogger(CommandMap.class.getName());
     private static final Map<String, Command> COMMANDSMAP = new LinkedHashMap<>();
 
     static {
-        COMMANDSMAP.put(UpdateUserDataCommand.COMMAND_LOWER, new UpdateUserDataCommand());
-        COMMANDSMAP.put(CurrentUserDataCommand.COMMAND_LOWER, new CurrentUserDataCommand());
+        register(new UpdateUserDataCommand());
+        register(new CurrentUserDataCommand());
+        register(new ClearUserDataCommand());
+
+        register(new ListCommandsCommand());
 
-        COMMANDSMAP.put(ListCommandsCommand.COMMAND_LOWER, new ListCommandsCommand());
+        register(new MealLogCommand());
+        register(new AddMealEntryCommand());
+        register(new DeleteMealEntryCommand());
+        register(new ImportMealEntriesCommand());
+        register(new ExportCommand(ExportCommand.Target.MEAL_ENTRIES));
+        register(new ExportCommand(ExportCommand.Target.DAILY_TOTALS));
+        register(new ExportCommand(ExportCommand.Target.USER_DATA));
 
-        COMMANDSMAP.put(MealLogCommand.COMMAND_LOWER, new MealLogCommand());
-        COMMANDSMAP.put(AddMealEntryCommand.COMMAND_LOWER, new AddMealEntryCommand());
-        COMMANDSMAP.put(DeleteMealEntryCommand.COMMAND_LOWER, new DeleteMealEntryCommand());
+        register(new MealMenuCommand());
+        register(new SaveMealCommand());
+        register(new DeleteMealCommand());
 
-        COMMANDSMAP.put(MealMenuCommand.COMMAND_LOWER, new MealMenuCommand());
-        COMMANDSMAP.put(SaveMealCommand.COMMAND_LOWER, new SaveMealCommand());
-        COMMANDSMAP.put(DeleteMealCommand.COMMAND_LOWER, new DeleteMealCommand());
+        register(new UndoCommand());
+        register(new RedoCommand());
 
-        COMMANDSMAP.put(TodayCalorieProgressCommand.COMMAND_LOWER, new TodayCalorieProgressCommand());
-        COMMANDSMAP.put(HistoricCalorieProgressCommand.COMMAND_LOWER, new HistoricCalorieProgressCommand());
+        register(new TodayCalorieProgressCommand());
+        register(new HistoricCalorieProgressCommand());
 
-        COMMANDSMAP.put(MealRecommendationsCommand.COMMAND_LOWER, new MealRecommendationsCommand());
-        COMMANDSMAP.put(WeightTimelineCommand.COMMAND_LOWER, new WeightTimelineCommand());
+        register(new MealRecommendationsCommand());
+        register(new WeightTimelineCommand());
 
-        COMMANDSMAP.put(ByeCommand.COMMAND_LOWER, new ByeCommand());
+        register(new ByeCommand());
+    }
+
+    /**
+     * Looks up the command to dispatch a main command to.
+     *
+     * @param mainCommand The main command as typed by the user, in any case.
+     * @return The registered command, or an empty Optional if there is none.
+     */
+    public static Optional<Command> getCommand(String mainCommand) {
+        return Optional.ofNullable(COMMANDSMAP.get(mainCommand.toLowerCase()));
     }
 
     /**
@@ -66,21 +94,32 @@ public class CommandMap {
         }
         String commandToFind = userInput.substring(command.length()).trim();
         List<Command> commands = new ArrayList<>();
-        if(!COMMANDSMAP.containsKey(commandToFind.toLowerCase())) {
+        Command commandFound = getCommandByName(commandToFind.toLowerCase());
+        if(commandFound == null || !commandFound.isListed()) {
             return commands;
         }
-        commands.add(getCommandByName(commandToFind.toLowerCase()));
+        commands.add(commandFound);
         return commands;
 
     }
 
+    private static void register(Command command) {
+        assert !COMMANDSMAP.containsKey(command.getCommandLower()) : "Commands should be registered once";
+        COMMANDSMAP.put(command.getCommandLower(), command);
+    }
+
     private static Command getCommandByName(String commandName) {
         return COMMANDSMAP.get(commandName);
     }
 
     private static List<Command> getAllCommands() {
         assert !COMMANDSMAP.isEmpty() : "Command map should not be empty";
-        List<Command> commands = new ArrayList<>(COMMANDSMAP.values());
+        List<Command> commands = new ArrayList<>();
+        for (Command command : COMMANDSMAP.values()) {
+            if (command.isListed()) {
+                commands.add(command);
+            }
+        }
 
         logger.info("Retrieved " + commands.size() + " commands from the CommandMap");
 
@@ -5,12 +5,19 @@ import seedu.healthmate.utils.Pair;
 /**
  * Represents a combination of commands with a hierarchy of a main command and additional subcommands.
  * Extends {@code Pair} with the first element as the main command and
- * the second as an array of subcommands.
+ * the second as an array of subcommands. The whole user input is kept for commands that parse parameters.
  */
 public class CommandPair extends Pair<String, String[]> {
 
+    private final String userInput;
+
     public CommandPair(String twoTokenCommand, String[] additionalCommands){
+        this(twoTokenCommand, additionalCommands, twoTokenCommand);
+    }
+
+    public CommandPair(String twoTokenCommand, String[] additionalCommands, String userInput) {
         super(twoTokenCommand, additionalCommands);
+        this.userInput = userInput;
     }
 
     /**
@@ -30,6 +37,14 @@ public class CommandPair extends Pair<String, String[]> {
         return super.u()[index];
     }
 
+    /**
+     * Returns the whole user input the commands were parsed from.
+     * @return user input as a {@code String}
+     */
+    public String getUserInput() {
+        return this.userInput;
+    }
+
     @Override
     public String toString() {
         return "Main Command: " + super.t() + " Other: " + super.u().toString();
@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.MealEntriesList;
 import seedu.healthmate.core.MealList;
 import seedu.healthmate.core.User;
@@ -38,10 +40,22 @@ public class AddMealEntryCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        AddMealEntryCommand.executeCommand(context.getHistoryTracker(), context.getMealOptions(),
+                context.getMealEntries(), context.getUser(), args.getUserInput(), args.getMainCommand(),
+                context.getLogger());
+    }
+
+    @Override
+    public boolean isUndoable() {
+        return true;
+    }
+
     /**
      * Executes the add meal entry command by appending a new meal entry to the user's meal log.
      * The meal entry can be an existing meal from the meal options or a new meal entry with specified calories.
-     * Saves the updated meal entries to the history tracker.
+     * Appends the new meal entries to the history tracker's journal.
      *
      * @param historyTracker The history tracker to save the updated meal entries.
      * @param mealOptions The list of predefined meal options.
@@ -63,7 +77,7 @@ public class AddMealEntryCommand extends Command {
 
         // Adds the meal entry and updates history
         mealEntries.extractAndAppendMeal(userInput, command, mealOptions, user);
-        historyTracker.saveMealEntries(mealEntries);
+        historyTracker.saveMealEntryChanges(mealEntries);
 
         logger.log(Level.INFO, "Finish executing command to add a meal to mealEntries" + System.lineSeparator() +
                 "Number of tracked meals is: " + mealEntries.size());
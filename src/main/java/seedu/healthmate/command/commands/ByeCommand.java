@@ -1,6 +1,11 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
+import seedu.healthmate.services.UI;
+
+import java.util.logging.Level;
 
 
 public class ByeCommand extends Command {
@@ -24,5 +29,18 @@ public class ByeCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    /**
+     * Bids the user farewell. The input loop stops after this command, see {@link #isExit()}.
+     */
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        context.getLogger().log(Level.INFO, "User closes application");
+        UI.printFarewell();
+    }
+
+    @Override
+    public boolean isExit() {
+        return true;
+    }
 
 }
@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.UserEntryList;
 import seedu.healthmate.services.UserHistoryTracker;
 import seedu.healthmate.services.UI;
@@ -35,6 +37,16 @@ public class ClearUserDataCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public boolean isListed() {
+        return false;
+    }
+
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        ClearUserDataCommand.executeCommand(context.getUserHistoryTracker(), context.getLogger());
+    }
+
     /**
      * Executes the clear user data command deleting all file data
      * Logs the command execution and asserts that the new user data is valid.
@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.User;
 import seedu.healthmate.services.UI;
 import seedu.healthmate.services.UserHistoryTracker;
@@ -32,6 +34,11 @@ public class CurrentUserDataCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        CurrentUserDataCommand.executeCommand(context.getUserHistoryTracker(), context.getLogger());
+    }
+
     /**
      * Executes the update user data command by triggering prompts to collect new data for
      * the user's profile, including height, weight, gender, age, and health goal.
@@ -41,7 +48,7 @@ public class CurrentUserDataCommand extends Command {
      * @param logger The logger used for logging command execution steps.
      */
     public static void executeCommand(UserHistoryTracker userHistoryTracker, Logger logger) {
-        Optional<User> lastUser = userHistoryTracker.getLatestUser();
+        Optional<User> lastUser = userHistoryTracker.loadUserEntries().map(userEntries -> userEntries.getLastEntry());
         logger.log(Level.INFO, "Executing command to return current user data");
 
         // Prompts the user to enter new data
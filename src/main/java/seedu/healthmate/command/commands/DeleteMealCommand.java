@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.MealList;
 import seedu.healthmate.services.HistoryTracker;
 import seedu.healthmate.services.UI;
@@ -31,6 +33,17 @@ public class DeleteMealCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        DeleteMealCommand.executeCommand(context.getHistoryTracker(), context.getMealOptions(),
+                args.getUserInput(), args.getMainCommand(), context.getLogger());
+    }
+
+    @Override
+    public boolean isUndoable() {
+        return true;
+    }
+
     /**
      * Executes the delete meal command by removing a meal option from the meal menu at the specified index.
      * Saves the updated meal options list to the history tracker.
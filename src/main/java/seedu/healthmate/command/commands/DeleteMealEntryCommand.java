@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.MealEntriesList;
 import seedu.healthmate.core.User;
 import seedu.healthmate.services.HistoryTracker;
@@ -32,9 +34,20 @@ public class DeleteMealEntryCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        DeleteMealEntryCommand.executeCommand(context.getHistoryTracker(), context.getMealEntries(),
+                context.getUser(), args.getUserInput(), args.getMainCommand(), context.getLogger());
+    }
+
+    @Override
+    public boolean isUndoable() {
+        return true;
+    }
+
     /**
      * Executes the delete meal entry command by removing a meal entry from the user's meal log
-     * at the specified index. Saves the updated meal entries list to the history tracker.
+     * at the specified index. Journals the deletion via the history tracker.
      *
      * @param historyTracker The history tracker to save the updated meal entries.
      * @param mealEntries The list of meal entries from which the specified meal entry will be deleted.
@@ -59,7 +72,7 @@ public class DeleteMealEntryCommand extends Command {
 
         // Removes the specified meal entry from the meal log and updates history
         mealEntries.extractAndRemoveMeal(userInput, command, user);
-        historyTracker.saveMealEntries(mealEntries);
+        historyTracker.saveMealEntryChanges(mealEntries);
 
         logger.log(Level.INFO, "Finish executing command to delete a tracked meal." + System.lineSeparator() +
                 "Number of meals tracked is: " + mealEntries.size());
@@ -0,0 +1,148 @@
+package seedu.healthmate.command.commands;
+
+import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.User;
+import seedu.healthmate.core.UserEntryList;
+import seedu.healthmate.services.DataExporter;
+import seedu.healthmate.services.UI;
+import seedu.healthmate.services.UserHistoryTracker;
+import seedu.healthmate.utils.AtomicFileWriter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Represents a command to export the meal log, the per-day calorie totals or the user profile history
+ * within a range of days to a CSV or JSON lines file. One command is registered for each kind of data.
+ */
+public class ExportCommand extends Command {
+
+    /**
+     * The kinds of data that can be exported, each with its own command keyword.
+     */
+    public enum Target {
+        MEAL_ENTRIES("export mealEntries", "meal entries",
+                "Exports the meal entries logged within the range of days"),
+        DAILY_TOTALS("export dailyTotals", "days",
+                "Exports the total calories and number of meal entries of every day within the range"),
+        USER_DATA("export userdata", "user profiles",
+                "Exports the user profiles recorded within the range of days");
+
+        private final String command;
+        private final String recordName;
+        private final String description;
+
+        Target(String command, String recordName, String description) {
+            this.command = command;
+            this.recordName = recordName;
+            this.description = description;
+        }
+    }
+
+    /** Parameters shared by all export commands. */
+    private static final String PARAMETERS = " {file name ending in .csv or .jsonl} [{from YYYY-MM-DD}] "
+            + "[{to YYYY-MM-DD}]";
+    private static final String DESCRIPTION_SUFFIX = ".\n" + INDENTATION
+            + "Without dates, everything is exported. Files ending in .json or .jsonl are written as JSON lines";
+
+    private final Target target;
+
+    /**
+     * Constructs an {@code ExportCommand} object exporting the given kind of data.
+     *
+     * @param target The kind of data the command exports.
+     */
+    public ExportCommand(Target target) {
+        super(target.command, target.command + PARAMETERS, target.description + DESCRIPTION_SUFFIX);
+        this.target = target;
+    }
+
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        String parameters = args.getUserInput().substring(args.getMainCommand().length()).strip();
+        ExportCommand.executeCommand(target, context.getMealEntries(), context.getUserHistoryTracker(),
+                parameters, context.getLogger());
+    }
+
+    /**
+     * Executes the export command by writing the records of the target within the given range of days
+     * to a file. The file is replaced atomically, so a failed export leaves no partial file behind.
+     *
+     * @param target The kind of data to export.
+     * @param mealEntries The meal log.
+     * @param userHistoryTracker The user history tracker providing the user profile history.
+     * @param parameters The file name followed by the optional first and last day of the range.
+     * @param logger The logger used for logging command execution steps.
+     */
+    public static void executeCommand(Target target, MealEntriesList mealEntries,
+                                      UserHistoryTracker userHistoryTracker, String parameters, Logger logger) {
+        assert mealEntries != null : "Meal entries list should not be null";
+
+        String[] tokens = parameters.isEmpty() ? new String[0] : parameters.split("\\s+");
+        if (tokens.length == 0 || tokens.length > 3) {
+            UI.printReply("Use " + target.command + PARAMETERS, "Retry: ");
+            return;
+        }
+        LocalDate firstDate;
+        LocalDate lastDate;
+        try {
+            firstDate = tokens.length > 1 ? LocalDate.parse(tokens[1]) : LocalDate.MIN;
+            lastDate = tokens.length > 2 ? LocalDate.parse(tokens[2]) : LocalDate.MAX;
+        } catch (DateTimeParseException e) {
+            UI.printReply("Please specify the range of days as YYYY-MM-DD (e.g. 2024-10-30)", "Retry: ");
+            return;
+        }
+        if (firstDate.isAfter(lastDate)) {
+            UI.printReply("The first day of the range cannot be after the last day", "Retry: ");
+            return;
+        }
+
+        String fileName = tokens[0];
+        logger.log(Level.INFO, "Executing command to export " + target.recordName + " to " + fileName);
+        long startTime = System.nanoTime();
+        int[] exportedCount = {0};
+        try {
+            AtomicFileWriter.write(new File(fileName), out -> {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                DataExporter exporter = new DataExporter(DataExporter.Format.fromFileName(fileName), writer,
+                        firstDate, lastDate);
+                exportedCount[0] = export(target, exporter, mealEntries, userHistoryTracker);
+                writer.flush();
+            });
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Exporting " + target.recordName + " failed", e);
+            UI.printReply("Could not write " + fileName + ". " + e.getMessage(), "Error: ");
+            return;
+        }
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        UI.printReply(exportedCount[0] + " " + target.recordName + " to " + fileName + " (" + elapsedMillis
+                + " ms)", "Exported: ");
+        logger.log(Level.INFO, "Finish executing command to export " + target.recordName);
+    }
+
+    private static int export(Target target, DataExporter exporter, MealEntriesList mealEntries,
+                              UserHistoryTracker userHistoryTracker) throws IOException {
+        switch (target) {
+        case MEAL_ENTRIES:
+            return exporter.exportMealEntries(mealEntries);
+        case DAILY_TOTALS:
+            return exporter.exportDailyTotals(mealEntries);
+        default:
+            List<User> users = userHistoryTracker.loadUserEntries().map(UserEntryList::getUserEntryList)
+                    .orElseGet(ArrayList::new);
+            return exporter.exportUserHistory(users);
+        }
+    }
+}
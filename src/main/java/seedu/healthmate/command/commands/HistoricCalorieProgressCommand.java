@@ -1,6 +1,7 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
 import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.MealEntriesList;
 import seedu.healthmate.core.User;
@@ -34,6 +35,12 @@ public class HistoricCalorieProgressCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        HistoricCalorieProgressCommand.executeCommand(context.getMealEntries(), args, context.getUser(),
+                context.getLogger());
+    }
+
     /**
      * Executes the historic calorie progress command by displaying calorie progress bars and statistics
      * for a specified number of days including today. If a valid number of days is specified, the command
@@ -0,0 +1,102 @@
+package seedu.healthmate.command.commands;
+
+import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealList;
+import seedu.healthmate.services.HistoryTracker;
+import seedu.healthmate.services.MealEntryImporter;
+import seedu.healthmate.services.UI;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Represents a command to import meal entries from a CSV or JSON lines file into the user's meal log.
+ */
+public class ImportMealEntriesCommand extends Command {
+
+    /** Command keyword to invoke this action. */
+    public static final String COMMAND = "import mealEntries";
+    public static final String COMMAND_LOWER = "import mealentries";
+    /** Command format for importing meal entries from a file. */
+    private static final String FORMAT = COMMAND + " {path to a .csv or .jsonl file}";
+
+    /** Description of the command functionality. */
+    private static final String DESCRIPTION =
+            "Imports meal entries from a file with one entry per line, either as CSV rows of \n" +
+                    INDENTATION + "name,calories[,YYYY-MM-DD[,portions]] or as JSON objects with the keys \n" +
+                    INDENTATION + "name, calories, timestamp and portions. Invalid entries are skipped";
+
+    /**
+     * Constructs an {@code ImportMealEntriesCommand} object with a predefined command keyword,
+     * format, and description.
+     */
+    public ImportMealEntriesCommand() {
+        super(COMMAND, FORMAT, DESCRIPTION);
+    }
+
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        String fileName = args.getUserInput().substring(args.getMainCommand().length()).strip();
+        ImportMealEntriesCommand.executeCommand(context.getHistoryTracker(), context.getMealOptions(),
+                context.getMealEntries(), fileName, context.getLogger());
+    }
+
+    @Override
+    public boolean isUndoable() {
+        return true;
+    }
+
+    /**
+     * Executes the import command by appending the valid meal entries of a file to the user's meal log.
+     * The meal log is saved once after the whole file was read.
+     *
+     * @param historyTracker The history tracker to save the updated meal entries.
+     * @param mealOptions The list of predefined meal options, used for entries without calories.
+     * @param mealEntries The list of meal entries to which the imported meals are added.
+     * @param fileName The path of the file to import.
+     * @param logger The logger used for logging command execution steps.
+     */
+    public static void executeCommand(HistoryTracker historyTracker, MealList mealOptions,
+                                      MealEntriesList mealEntries, String fileName, Logger logger) {
+        assert mealOptions != null : "Meal options list should not be null";
+        assert mealEntries != null : "Meal entries list should not be null";
+
+        if (fileName.isEmpty()) {
+            UI.printReply("Specify the file to import meal entries from", "Retry: ");
+            return;
+        }
+
+        logger.log(Level.INFO, "Executing command to import meal entries from " + fileName);
+        MealEntryImporter.ImportResult result;
+        try {
+            result = new MealEntryImporter(mealOptions).importFile(Path.of(fileName), mealEntries);
+        } catch (IOException | InvalidPathException e) {
+            logger.log(Level.WARNING, "Importing meal entries failed", e);
+            UI.printReply("Could not read " + fileName + ". No meal entries were imported", "Error: ");
+            return;
+        }
+        if (result.getImportedCount() > 0) {
+            historyTracker.saveMealEntries(mealEntries);
+        }
+
+        List<String> messages = new ArrayList<>();
+        messages.add("Imported: " + result.getImportedCount() + " meal entries from " + fileName);
+        messages.add("Rejected: " + result.getRejectedCount() + " invalid line(s)");
+        for (String rejection : result.getRejections()) {
+            messages.add("  " + rejection);
+        }
+        messages.add("Throughput: " + result.getRecordsPerSecond() + " lines/s (" + result.getElapsedMillis()
+                + " ms)");
+        UI.printMultiLineReply(messages);
+        logger.log(Level.INFO, "Finish executing command to import meal entries" + System.lineSeparator() +
+                "Number of tracked meals is: " + mealEntries.size());
+    }
+}
@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.command.CommandMap;
 import seedu.healthmate.services.UI;
 
@@ -30,6 +32,11 @@ public class ListCommandsCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        ListCommandsCommand.executeCommand(args.getUserInput(), args.getMainCommand(), context.getLogger());
+    }
+
     /**
      * Executes the list commands command by retrieving and displaying all available commands
      * to the user. Logs the command execution and asserts that the commands list is not null.
@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.MealEntriesList;
 import seedu.healthmate.services.UI;
 
@@ -31,6 +33,11 @@ public class MealLogCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        MealLogCommand.executeCommand(context.getMealEntries(), context.getLogger());
+    }
+
     /**
      * Executes the log meals command by displaying the user's meal log.
      * Logs the command execution and asserts that the meal entries list is not null.
@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.MealList;
 import seedu.healthmate.services.UI;
 
@@ -29,6 +31,11 @@ public class MealMenuCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        MealMenuCommand.executeCommand(context.getMealOptions(), context.getLogger());
+    }
+
     /**
      * Executes the meal menu command by displaying the list of saved food options along with their calorie information.
      * Logs the command execution and asserts that the meal options list is not null.
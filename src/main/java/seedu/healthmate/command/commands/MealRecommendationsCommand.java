@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.User;
 import seedu.healthmate.recommender.Recipe;
 import seedu.healthmate.recommender.RecipeMap;
@@ -32,6 +34,11 @@ public class MealRecommendationsCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        MealRecommendationsCommand.executeCommand(context.getUser(), context.getLogger());
+    }
+
     /**
      * Executes the meal recommendations command by displaying meal recommendations that align with
      * the user's health goal. Retrieves relevant recipes from the RecipeMap and displays them.
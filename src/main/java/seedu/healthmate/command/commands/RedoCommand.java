@@ -0,0 +1,71 @@
+package seedu.healthmate.command.commands;
+
+import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealList;
+import seedu.healthmate.services.HistoryTracker;
+import seedu.healthmate.services.UI;
+import seedu.healthmate.services.UndoHistory;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Represents a command to redo the last change undone with the "undo" command.
+ */
+public class RedoCommand extends Command {
+
+    /** Command keyword to invoke this action. */
+    public static final String COMMAND = "redo";
+    public static final String COMMAND_LOWER = "redo";
+    /** Command format for redoing the last undone change. */
+    private static final String FORMAT = "redo";
+
+    /** Description of the command functionality. */
+    private static final String DESCRIPTION =
+            "Redoes the last change undone with the undo command, as long as no other change was made since";
+
+    /**
+     * Constructs a {@code RedoCommand} object with a predefined command keyword,
+     * format, and description.
+     */
+    public RedoCommand() {
+        super(COMMAND, FORMAT, DESCRIPTION);
+    }
+
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        RedoCommand.executeCommand(context.getHistoryTracker(), context.getUndoHistory(),
+                context.getMealOptions(), context.getMealEntries(), context.getLogger());
+    }
+
+    /**
+     * Executes the redo command by restoring the meal menu and meal log to their state before the last undo
+     * and saving the restored lists.
+     *
+     * @param historyTracker The history tracker used to save the restored lists.
+     * @param undoHistory The history of undone changes to redo.
+     * @param mealOptions The meal menu to restore.
+     * @param mealEntries The meal log to restore.
+     * @param logger The logger used for logging command execution steps.
+     */
+    public static void executeCommand(HistoryTracker historyTracker, UndoHistory undoHistory,
+                                      MealList mealOptions, MealEntriesList mealEntries, Logger logger) {
+        assert undoHistory != null : "Undo history should not be null";
+
+        logger.log(Level.INFO, "Executing command to redo the last undone change");
+        List<Meal> mealOptionsBefore = mealOptions.getMealList();
+        List<Meal> mealEntriesBefore = mealEntries.getMealEntries();
+        if (!undoHistory.redo(mealOptions, mealEntries)) {
+            UI.printReply("Nothing to redo", "Error: ");
+            return;
+        }
+        UndoCommand.saveRestoredLists(historyTracker, mealOptions, mealOptionsBefore, mealEntries, mealEntriesBefore);
+        UI.printReply("Redid the last undone change", "");
+        logger.log(Level.INFO, "Finish executing command to redo the last undone change");
+    }
+}
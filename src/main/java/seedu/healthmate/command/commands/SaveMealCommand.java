@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.Meal;
 import seedu.healthmate.core.MealList;
 import seedu.healthmate.services.HistoryTracker;
@@ -34,6 +36,17 @@ public class SaveMealCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        SaveMealCommand.executeCommand(context.getHistoryTracker(), context.getMealOptions(),
+                args.getUserInput(), context.getLogger());
+    }
+
+    @Override
+    public boolean isUndoable() {
+        return true;
+    }
+
     /**
      * Executes the save meal command by extracting meal details from the user input and
      * saving the meal to the meal menu. Logs the command execution and asserts that the necessary
@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.MealEntriesList;
 import seedu.healthmate.core.User;
 
@@ -31,6 +33,12 @@ public class TodayCalorieProgressCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        TodayCalorieProgressCommand.executeCommands(context.getMealEntries(), context.getUser(),
+                context.getLogger());
+    }
+
     /**
      * Executes the today calorie progress command by displaying a calorie progress bar that
      * shows the user's calorie consumption for the current day. Logs the command execution and
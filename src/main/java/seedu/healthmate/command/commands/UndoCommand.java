@@ -0,0 +1,86 @@
+package seedu.healthmate.command.commands;
+
+import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealList;
+import seedu.healthmate.services.HistoryTracker;
+import seedu.healthmate.services.UI;
+import seedu.healthmate.services.UndoHistory;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Represents a command to undo the last change made to the meal menu or the meal log.
+ */
+public class UndoCommand extends Command {
+
+    /** Command keyword to invoke this action. */
+    public static final String COMMAND = "undo";
+    public static final String COMMAND_LOWER = "undo";
+    /** Command format for undoing the last change. */
+    private static final String FORMAT = "undo";
+
+    /** Description of the command functionality. */
+    private static final String DESCRIPTION = "Undoes the last change to the meal menu or the meal log, up to "
+            + UndoHistory.DEFAULT_CAPACITY + " changes back";
+
+    /**
+     * Constructs an {@code UndoCommand} object with a predefined command keyword,
+     * format, and description.
+     */
+    public UndoCommand() {
+        super(COMMAND, FORMAT, DESCRIPTION);
+    }
+
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        UndoCommand.executeCommand(context.getHistoryTracker(), context.getUndoHistory(),
+                context.getMealOptions(), context.getMealEntries(), context.getLogger());
+    }
+
+    /**
+     * Executes the undo command by restoring the meal menu and meal log to their state before the last change
+     * and saving the restored lists.
+     *
+     * @param historyTracker The history tracker used to save the restored lists.
+     * @param undoHistory The history of changes to undo.
+     * @param mealOptions The meal menu to restore.
+     * @param mealEntries The meal log to restore.
+     * @param logger The logger used for logging command execution steps.
+     */
+    public static void executeCommand(HistoryTracker historyTracker, UndoHistory undoHistory,
+                                      MealList mealOptions, MealEntriesList mealEntries, Logger logger) {
+        assert undoHistory != null : "Undo history should not be null";
+
+        logger.log(Level.INFO, "Executing command to undo the last change");
+        List<Meal> mealOptionsBefore = mealOptions.getMealList();
+        List<Meal> mealEntriesBefore = mealEntries.getMealEntries();
+        if (!undoHistory.undo(mealOptions, mealEntries)) {
+            UI.printReply("Nothing to undo", "Error: ");
+            return;
+        }
+        saveRestoredLists(historyTracker, mealOptions, mealOptionsBefore, mealEntries, mealEntriesBefore);
+        UI.printReply("Undid the last change", "");
+        logger.log(Level.INFO, "Finish executing command to undo the last change");
+    }
+
+    /**
+     * Saves the lists that were restored by an undo or redo. The meal entries are saved in full, as the
+     * restored state is not a sequence of journaled additions and deletions.
+     */
+    static void saveRestoredLists(HistoryTracker historyTracker,
+                                  MealList mealOptions, List<Meal> mealOptionsBefore,
+                                  MealEntriesList mealEntries, List<Meal> mealEntriesBefore) {
+        if (mealOptions.getMealList() != mealOptionsBefore) {
+            historyTracker.saveMealOptions(mealOptions);
+        }
+        if (mealEntries.getMealEntries() != mealEntriesBefore) {
+            historyTracker.saveMealEntries(mealEntries);
+        }
+    }
+}
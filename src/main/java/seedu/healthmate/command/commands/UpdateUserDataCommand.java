@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.User;
 import seedu.healthmate.services.UserHistoryTracker;
 
@@ -30,6 +32,11 @@ public class UpdateUserDataCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        UpdateUserDataCommand.executeCommand(context.getUserHistoryTracker(), context.getLogger());
+    }
+
     /**
      * Executes the update user data command by triggering prompts to collect new data for
      * the user's profile, including height, weight, gender, age, and health goal.
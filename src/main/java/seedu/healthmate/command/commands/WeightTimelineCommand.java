@@ -1,6 +1,8 @@
 package seedu.healthmate.command.commands;
 
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 import seedu.healthmate.core.UserEntryList;
 import seedu.healthmate.services.UserHistoryTracker;
 import seedu.healthmate.core.WeightEntryDisplay;
@@ -32,6 +34,11 @@ public class WeightTimelineCommand extends Command {
         super(COMMAND, FORMAT, DESCRIPTION);
     }
 
+    @Override
+    public void execute(CommandContext context, CommandPair args) {
+        WeightTimelineCommand.executeCommand(context.getUserHistoryTracker(), context.getLogger());
+    }
+
     /**
      * Executes the weight timeline command by retrieving and displaying the user's weight history.
      * Logs the command execution and asserts that the user history data is available and valid.
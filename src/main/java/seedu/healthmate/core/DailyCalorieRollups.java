@@ -0,0 +1,175 @@
+package seedu.healthmate.core;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import seedu.healthmate.utils.FenwickTree;
+
+/**
+ * Per-day {@link DailyCalorieSummary} of a meal log, kept up to date as meal entries are added and deleted.
+ * Days without meal entries are not stored.
+ * <p>
+ * The calories per day are additionally held in a {@link FenwickTree} over epoch days, so the total of any
+ * range of days takes O(log n) however many days it spans. The tree covers the logged days plus some days
+ * ahead; it is rebuilt on the next range query once a day outside of it is logged.
+ */
+public class DailyCalorieRollups {
+    private static final int DAYS_AHEAD = 366;
+
+    private final TreeMap<LocalDate, DailyCalorieSummary> summaries;
+    private FenwickTree calorieSums;
+    private long firstEpochDay;
+
+    public DailyCalorieRollups() {
+        this.summaries = new TreeMap<>();
+    }
+
+    /**
+     * Computes the rollups of the given meal entries in a single pass.
+     * @param mealEntries The meal entries in log order
+     * @return The rollups of the meal entries
+     */
+    public static DailyCalorieRollups of(List<Meal> mealEntries) {
+        DailyCalorieRollups rollups = new DailyCalorieRollups();
+        for (Meal meal : mealEntries) {
+            rollups.add(meal);
+        }
+        return rollups;
+    }
+
+    /**
+     * Accounts for a meal entry appended to the log.
+     * @param meal The added meal entry
+     */
+    public void add(Meal meal) {
+        MealEntry mealEntry = (MealEntry) meal;
+        LocalDate date = mealEntry.getTimestamp().toLocalDate();
+        summaries.merge(date, DailyCalorieSummary.EMPTY.withMeal(mealEntry),
+                (summary, added) -> summary.withMeal(mealEntry));
+        updateCalorieSums(date, mealEntry.getTotalCalories());
+    }
+
+    /**
+     * Accounts for a meal entry deleted from the log. The day is only recomputed from its remaining
+     * meal entries if the deleted entry was its heaviest meal.
+     * @param meal The deleted meal entry
+     * @param remainingMealsOfDay Supplies the meal entries of the same day left after the deletion, in log order
+     */
+    public void remove(Meal meal, Supplier<List<Meal>> remainingMealsOfDay) {
+        MealEntry mealEntry = (MealEntry) meal;
+        LocalDate date = mealEntry.getTimestamp().toLocalDate();
+        DailyCalorieSummary summary = summaries.get(date);
+        if (summary == null) {
+            return;
+        }
+        boolean isHeaviestMeal = summary.getHeaviestMeal()
+                .map(heaviestMeal -> heaviestMeal.toSaveString().equals(mealEntry.toSaveString()))
+                .orElse(true);
+        if (isHeaviestMeal) {
+            DailyCalorieSummary recomputedSummary = DailyCalorieSummary.EMPTY;
+            for (Meal remainingMeal : remainingMealsOfDay.get()) {
+                recomputedSummary = recomputedSummary.withMeal((MealEntry) remainingMeal);
+            }
+            summary = recomputedSummary;
+        } else {
+            summary = new DailyCalorieSummary(summary.getCalories() - mealEntry.getTotalCalories(),
+                    summary.getMealCount() - 1, summary.getHeaviestMeal());
+        }
+        put(date, summary);
+    }
+
+    /**
+     * Sets the summary of a day, removing the day if the summary is empty.
+     * @param date The day
+     * @param summary The summary of the day
+     */
+    public void put(LocalDate date, DailyCalorieSummary summary) {
+        updateCalorieSums(date, summary.getCalories() - get(date).getCalories());
+        if (summary.isEmpty()) {
+            summaries.remove(date);
+        } else {
+            summaries.put(date, summary);
+        }
+    }
+
+    /**
+     * Returns the summary of a single day.
+     * @param date The day
+     * @return The summary of the day, empty if no meal entries were logged on it
+     */
+    public DailyCalorieSummary get(LocalDate date) {
+        return summaries.getOrDefault(date, DailyCalorieSummary.EMPTY);
+    }
+
+    /**
+     * Sums the calories consumed over a range of days in O(log n).
+     * @param firstDate The first day of the range (inclusive)
+     * @param lastDate The last day of the range (inclusive)
+     * @return The total calories consumed within the range
+     */
+    public int getCalories(LocalDate firstDate, LocalDate lastDate) {
+        if (summaries.isEmpty() || firstDate.isAfter(lastDate)) {
+            return 0;
+        }
+        if (calorieSums == null) {
+            buildCalorieSums();
+        }
+        long firstIndex = Math.max(firstDate.toEpochDay() - firstEpochDay, 0);
+        long lastIndex = Math.min(lastDate.toEpochDay() - firstEpochDay, calorieSums.size() - 1);
+        if (firstIndex > lastIndex) {
+            return 0;
+        }
+        return (int) calorieSums.rangeSum((int) firstIndex, (int) lastIndex);
+    }
+
+    /**
+     * Combines the summaries of a range of days.
+     * @param firstDate The first day of the range (inclusive)
+     * @param lastDate The last day of the range (inclusive)
+     * @return The summary of the range
+     */
+    public DailyCalorieSummary summarize(LocalDate firstDate, LocalDate lastDate) {
+        DailyCalorieSummary rangeSummary = DailyCalorieSummary.EMPTY;
+        if (firstDate.isAfter(lastDate)) {
+            return rangeSummary;
+        }
+        for (DailyCalorieSummary summary : summaries.subMap(firstDate, true, lastDate, true).values()) {
+            rangeSummary = rangeSummary.plus(summary);
+        }
+        return rangeSummary;
+    }
+
+    /**
+     * Returns all days with meal entries and their summaries.
+     * @return A read-only view of the summaries ordered by day
+     */
+    public NavigableMap<LocalDate, DailyCalorieSummary> getSummaries() {
+        return Collections.unmodifiableNavigableMap(summaries);
+    }
+
+    private void updateCalorieSums(LocalDate date, int delta) {
+        if (calorieSums == null || delta == 0) {
+            return;
+        }
+        long index = date.toEpochDay() - firstEpochDay;
+        if (index < 0 || index >= calorieSums.size()) {
+            calorieSums = null;
+            return;
+        }
+        calorieSums.add((int) index, delta);
+    }
+
+    private void buildCalorieSums() {
+        firstEpochDay = summaries.firstKey().toEpochDay();
+        long[] caloriesPerDay = new long[(int) (summaries.lastKey().toEpochDay() - firstEpochDay) + 1 + DAYS_AHEAD];
+        for (Map.Entry<LocalDate, DailyCalorieSummary> summary : summaries.entrySet()) {
+            caloriesPerDay[(int) (summary.getKey().toEpochDay() - firstEpochDay)] = summary.getValue().getCalories();
+        }
+        calorieSums = new FenwickTree(caloriesPerDay);
+    }
+}
@@ -0,0 +1,106 @@
+package seedu.healthmate.core;
+
+import java.util.Optional;
+
+/**
+ * Aggregated calorie consumption over one day or a range of days:
+ * the total calories, the number of meal entries and the heaviest meal entry.
+ * <p>
+ * The heaviest meal entry is the one with the most calories per portion. Among equally heavy meal entries
+ * the one logged last is kept, like {@link MealEntryColumns#findMaxCaloriesRow()} does. Meal entries are
+ * added in log order, so they resolve such ties themselves. Summaries of different days cannot tell which
+ * of their heaviest meal entries was logged last, so combining them only marks the tie, see
+ * {@link #isHeaviestMealTied()}.
+ */
+public class DailyCalorieSummary {
+    public static final DailyCalorieSummary EMPTY = new DailyCalorieSummary(0, 0, Optional.empty());
+
+    private final int calories;
+    private final int mealCount;
+    private final Optional<MealEntry> heaviestMeal;
+    private final boolean isHeaviestMealTied;
+
+    /**
+     * Constructs a summary from its aggregates.
+     * @param calories The total calories consumed
+     * @param mealCount The number of meal entries
+     * @param heaviestMeal The meal entry with the highest calories, empty if there are no meal entries
+     */
+    public DailyCalorieSummary(int calories, int mealCount, Optional<MealEntry> heaviestMeal) {
+        this(calories, mealCount, heaviestMeal, false);
+    }
+
+    private DailyCalorieSummary(int calories, int mealCount, Optional<MealEntry> heaviestMeal,
+                                boolean isHeaviestMealTied) {
+        assert mealCount >= 0 : "Meal count cannot be negative";
+        this.calories = calories;
+        this.mealCount = mealCount;
+        this.heaviestMeal = heaviestMeal;
+        this.isHeaviestMealTied = isHeaviestMealTied;
+    }
+
+    /**
+     * Returns the summary with one more meal entry, which was logged after all entries of this summary.
+     * @param mealEntry The meal entry to add
+     * @return The updated summary
+     */
+    public DailyCalorieSummary withMeal(MealEntry mealEntry) {
+        boolean isMealHeavier = heaviestMeal.isEmpty() || mealEntry.getCalories() >= heaviestMeal.get().getCalories();
+        return new DailyCalorieSummary(calories + mealEntry.getTotalCalories(), mealCount + 1,
+                isMealHeavier ? Optional.of(mealEntry) : heaviestMeal,
+                isHeaviestMealTied && !isMealHeavier);
+    }
+
+    /**
+     * Combines this summary with the summary of a later range of days.
+     * If both have an equally heavy meal entry, the combined summary is marked as tied.
+     * @param laterSummary The summary of days following the days of this summary
+     * @return The summary of both ranges
+     */
+    public DailyCalorieSummary plus(DailyCalorieSummary laterSummary) {
+        if (heaviestMeal.isEmpty() || laterSummary.heaviestMeal.isEmpty()) {
+            return new DailyCalorieSummary(calories + laterSummary.calories, mealCount + laterSummary.mealCount,
+                    heaviestMeal.isEmpty() ? laterSummary.heaviestMeal : heaviestMeal,
+                    heaviestMeal.isEmpty() ? laterSummary.isHeaviestMealTied : isHeaviestMealTied);
+        }
+        int heaviestCalories = heaviestMeal.get().getCalories();
+        int laterHeaviestCalories = laterSummary.heaviestMeal.get().getCalories();
+        DailyCalorieSummary heavierSummary = laterHeaviestCalories > heaviestCalories ? laterSummary : this;
+        return new DailyCalorieSummary(calories + laterSummary.calories, mealCount + laterSummary.mealCount,
+                heavierSummary.heaviestMeal,
+                heavierSummary.isHeaviestMealTied || heaviestCalories == laterHeaviestCalories);
+    }
+
+    public int getCalories() {
+        return this.calories;
+    }
+
+    public int getMealCount() {
+        return this.mealCount;
+    }
+
+    public Optional<MealEntry> getHeaviestMeal() {
+        return this.heaviestMeal;
+    }
+
+    /**
+     * Returns whether several summaries with equally heavy meal entries were combined into this one.
+     * The heaviest meal entry is then one of them, not necessarily the one logged last.
+     * @return true if the heaviest meal entry has to be looked up in the meal entries
+     */
+    public boolean isHeaviestMealTied() {
+        return this.isHeaviestMealTied;
+    }
+
+    public boolean isEmpty() {
+        return this.mealCount == 0;
+    }
+
+    /**
+     * Converts the summary to a string format for saving.
+     * @return The total calories, meal count and the save string of the heaviest meal entry
+     */
+    public String toSaveString() {
+        return calories + "," + mealCount + "," + heaviestMeal.map(Meal::toSaveString).orElse("");
+    }
+}
@@ -0,0 +1,322 @@
+package seedu.healthmate.core;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * A {@code MealEntriesList} backed by the memory-mapped columns of a binary meal entries file.
+ * Entries are only decoded into {@code MealEntry} objects when they are accessed individually.
+ * Totals, maxima and date range queries run directly over the primitive columns, and date range
+ * queries return views that reference the selected rows instead of copying them.
+ * <p>
+ * Entries appended after loading are kept in heap columns behind the mapped rows. The first operation
+ * that needs random write access (e.g. deleting an entry) materializes the whole list on the heap,
+ * after which this list behaves exactly like a plain {@code MealEntriesList}.
+ */
+public class MappedMealEntriesList extends MealEntriesList {
+    private final ByteBuffer columns;
+    private final int rowCount;
+    private final int[] sharedNameIds;
+    private final int[] rows;
+    private boolean isMaterialized;
+    private MappedView view;
+
+    /**
+     * Immutable view of the mapped rows followed by a snapshot of the entries appended so far.
+     * The mapped rows never change, as storage replaces binary files instead of writing into them.
+     */
+    private class MappedView extends AbstractList<Meal> implements RandomAccess {
+        private final List<Meal> appendedEntries;
+
+        private MappedView(List<Meal> appendedEntries) {
+            this.appendedEntries = appendedEntries;
+        }
+
+        @Override
+        public Meal get(int index) {
+            return index < mappedSize() ? decode(rowAt(index)) : appendedEntries.get(index - mappedSize());
+        }
+
+        @Override
+        public int size() {
+            return mappedSize() + appendedEntries.size();
+        }
+
+        private boolean isViewOf(MappedMealEntriesList list) {
+            return MappedMealEntriesList.this == list;
+        }
+    }
+
+    /**
+     * Constructs a list over all rows of the mapped columns.
+     * The columns hold {@code long[] epochSeconds}, {@code int[] nanos}, {@code int[] calories},
+     * {@code int[] nameIds} and {@code int[] portions} back to back, each with {@code rowCount} values.
+     * @param columns The buffer holding the columns, starting at its first byte
+     * @param rowCount The number of rows in each column
+     * @param dictionary The meal names indexed by name id, interned into the shared {@link MealNameTable}
+     */
+    public MappedMealEntriesList(ByteBuffer columns, int rowCount, String[] dictionary) {
+        this(columns, rowCount, internNames(dictionary), null, new MealEntryColumns(MealNameTable.getShared()));
+    }
+
+    private MappedMealEntriesList(ByteBuffer columns, int rowCount, int[] sharedNameIds,
+                                  int[] rows, MealEntryColumns appendedEntries) {
+        super(appendedEntries);
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.sharedNameIds = sharedNameIds;
+        this.rows = rows;
+        this.isMaterialized = false;
+    }
+
+    @Override
+    public int size() {
+        return isMaterialized ? super.size() : mappedSize() + super.size();
+    }
+
+    @Override
+    public String toMealStringByIndex(int mealIndex) {
+        return getMealByIndex(mealIndex).toString();
+    }
+
+    /**
+     * Sums the calorie and portion columns of the selected rows without decoding any entry.
+     * @return The sum of calories for all meals in this list
+     */
+    @Override
+    public int getTotalCaloriesConsumed() {
+        if (isMaterialized) {
+            return super.getTotalCaloriesConsumed();
+        }
+        int totalCalories = 0;
+        for (int i = 0; i < mappedSize(); i++) {
+            totalCalories += caloriesAt(rowAt(i)) * portionsAt(rowAt(i));
+        }
+        return totalCalories + super.getTotalCaloriesConsumed();
+    }
+
+    /**
+     * Scans the calorie column for the maximum and decodes only the winning entry.
+     * Ties are resolved in favour of the later entry, like {@link MealEntriesList#getMaxCaloriesConsumed()}.
+     * @return The entry with the highest calories, or an empty Optional if the list is empty
+     */
+    @Override
+    public Optional<MealEntry> getMaxCaloriesConsumed() {
+        if (isMaterialized) {
+            return super.getMaxCaloriesConsumed();
+        }
+        int maxIndex = -1;
+        int maxCalories = Integer.MIN_VALUE;
+        for (int i = 0; i < mappedSize(); i++) {
+            int calories = caloriesAt(rowAt(i));
+            if (maxIndex == -1 || calories >= maxCalories) {
+                maxIndex = i;
+                maxCalories = calories;
+            }
+        }
+        MealEntryColumns appendedEntries = getEntries();
+        int maxAppendedRow = appendedEntries.findMaxCaloriesRow();
+        if (maxAppendedRow != -1 && (maxIndex == -1 || appendedEntries.caloriesAt(maxAppendedRow) >= maxCalories)) {
+            maxIndex = mappedSize() + maxAppendedRow;
+        }
+        return maxIndex == -1 ? Optional.empty() : Optional.of((MealEntry) getMealByIndex(maxIndex));
+    }
+
+    /**
+     * Selects the rows within the date range by comparing the primitive timestamp columns.
+     * @param lowerDateBound The inclusive lower bound of the date range.
+     * @param upperDateBound The inclusive upper bound of the date range.
+     * @return A view over the matching rows of this list
+     */
+    @Override
+    public MealEntriesList getMealEntriesByDate(LocalDateTime lowerDateBound, LocalDateTime upperDateBound) {
+        if (isMaterialized) {
+            return super.getMealEntriesByDate(lowerDateBound, upperDateBound);
+        }
+        long lowerSeconds = lowerDateBound.toEpochSecond(ZoneOffset.UTC);
+        int lowerNanos = lowerDateBound.getNano();
+        long upperSeconds = upperDateBound.toEpochSecond(ZoneOffset.UTC);
+        int upperNanos = upperDateBound.getNano();
+
+        int[] matchingRows = new int[mappedSize()];
+        int matchCount = 0;
+        for (int i = 0; i < mappedSize(); i++) {
+            int row = rowAt(i);
+            boolean isAfterLower = compareTimestamp(row, lowerSeconds, lowerNanos) >= 0;
+            boolean isBeforeUpper = compareTimestamp(row, upperSeconds, upperNanos) <= 0;
+            if (isAfterLower && isBeforeUpper) {
+                matchingRows[matchCount++] = row;
+            }
+        }
+        MealEntryColumns matchingAppendedEntries = getEntries().selectBetween(lowerDateBound, upperDateBound);
+        int[] selectedRows = new int[matchCount];
+        System.arraycopy(matchingRows, 0, selectedRows, 0, matchCount);
+        return new MappedMealEntriesList(columns, rowCount, sharedNameIds, selectedRows, matchingAppendedEntries);
+    }
+
+    /**
+     * Compares the primitive timestamp columns and decodes only the rows within the date range.
+     */
+    @Override
+    public void forEachEntryBetween(LocalDateTime lowerDateBound, LocalDateTime upperDateBound,
+                                    Consumer<MealEntry> action) {
+        if (!isMaterialized && !lowerDateBound.isAfter(upperDateBound)) {
+            long lowerSeconds = lowerDateBound.toEpochSecond(ZoneOffset.UTC);
+            int lowerNanos = lowerDateBound.getNano();
+            long upperSeconds = upperDateBound.toEpochSecond(ZoneOffset.UTC);
+            int upperNanos = upperDateBound.getNano();
+            for (int i = 0; i < mappedSize(); i++) {
+                int row = rowAt(i);
+                boolean isAfterLower = compareTimestamp(row, lowerSeconds, lowerNanos) >= 0;
+                boolean isBeforeUpper = compareTimestamp(row, upperSeconds, upperNanos) <= 0;
+                if (isAfterLower && isBeforeUpper) {
+                    action.accept(decode(row));
+                }
+            }
+        }
+        super.forEachEntryBetween(lowerDateBound, upperDateBound, action);
+    }
+
+    @Override
+    public List<Meal> getMealEntries() {
+        return getMealList();
+    }
+
+    @Override
+    public List<Meal> getMealList() {
+        if (isMaterialized) {
+            return super.getMealList();
+        }
+        List<Meal> appendedEntries = super.getMealList();
+        if (view == null || view.appendedEntries != appendedEntries) {
+            view = new MappedView(appendedEntries);
+        }
+        return view;
+    }
+
+    /**
+     * Restores a view of this list taken before it was materialized by restoring only the appended entries,
+     * without decoding the mapped rows. Any other list is materialized on the heap.
+     */
+    @Override
+    public void restoreMealList(List<Meal> mealEntries) {
+        if (!isMaterialized && mealEntries instanceof MappedView && ((MappedView) mealEntries).isViewOf(this)) {
+            super.restoreMealList(((MappedView) mealEntries).appendedEntries);
+            return;
+        }
+        isMaterialized = true;
+        super.restoreMealList(mealEntries);
+    }
+
+    @Override
+    public void deleteMeal(int mealNumber) {
+        materialize();
+        super.deleteMeal(mealNumber);
+    }
+
+    @Override
+    public void removeMealWithoutCLIMessage(int mealNumber) {
+        materialize();
+        super.removeMealWithoutCLIMessage(mealNumber);
+    }
+
+    @Override
+    public void extractAndRemoveMeal(String userInput, String command, User user) {
+        materialize();
+        super.extractAndRemoveMeal(userInput, command, user);
+    }
+
+    @Override
+    public void updateMeal(Meal newMeal) {
+        materialize();
+        super.updateMeal(newMeal);
+    }
+
+    @Override
+    public Optional<Integer> getCaloriesByMealName(String mealName) {
+        materialize();
+        return super.getCaloriesByMealName(mealName);
+    }
+
+    /**
+     * Copies all mapped rows into the heap columns so that the list can be modified at arbitrary positions.
+     */
+    @Override
+    protected void materialize() {
+        if (isMaterialized) {
+            return;
+        }
+        setEntries(MealEntryColumns.of(getMealList(), getEntries().getNames()));
+        isMaterialized = true;
+    }
+
+    private Meal getMealByIndex(int mealIndex) {
+        if (isMaterialized) {
+            return getEntries().get(mealIndex);
+        }
+        if (mealIndex < 0 || mealIndex >= size()) {
+            throw new IndexOutOfBoundsException("Index " + mealIndex + " out of bounds for length " + size());
+        }
+        return mealIndex < mappedSize()
+                ? decode(rowAt(mealIndex))
+                : getEntries().get(mealIndex - mappedSize());
+    }
+
+    private int mappedSize() {
+        return rows == null ? rowCount : rows.length;
+    }
+
+    private int rowAt(int index) {
+        return rows == null ? index : rows[index];
+    }
+
+    private long epochSecondAt(int row) {
+        return columns.getLong(row * Long.BYTES);
+    }
+
+    private int nanoAt(int row) {
+        return columns.getInt(rowCount * Long.BYTES + row * Integer.BYTES);
+    }
+
+    private int caloriesAt(int row) {
+        return columns.getInt(rowCount * (Long.BYTES + Integer.BYTES) + row * Integer.BYTES);
+    }
+
+    private int nameIdAt(int row) {
+        return columns.getInt(rowCount * (Long.BYTES + 2 * Integer.BYTES) + row * Integer.BYTES);
+    }
+
+    private int portionsAt(int row) {
+        return columns.getInt(rowCount * (Long.BYTES + 3 * Integer.BYTES) + row * Integer.BYTES);
+    }
+
+    private int compareTimestamp(int row, long epochSecond, int nano) {
+        int secondsComparison = Long.compare(epochSecondAt(row), epochSecond);
+        return secondsComparison != 0 ? secondsComparison : Integer.compare(nanoAt(row), nano);
+    }
+
+    private MealEntry decode(int row) {
+        int nameId = nameIdAt(row);
+        Optional<String> name = MealNameTable.getShared()
+                .getName(nameId == MealNameTable.NO_NAME_ID ? nameId : sharedNameIds[nameId]);
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(epochSecondAt(row), nanoAt(row), ZoneOffset.UTC);
+        return new MealEntry(name, caloriesAt(row), timestamp, portionsAt(row));
+    }
+
+    /**
+     * Maps the ids of a file dictionary to the ids of the same names in the shared table.
+     */
+    private static int[] internNames(String[] dictionary) {
+        int[] sharedIds = new int[dictionary.length];
+        for (int i = 0; i < dictionary.length; i++) {
+            sharedIds[i] = MealNameTable.getShared().intern(Optional.of(dictionary[i]));
+        }
+        return sharedIds;
+    }
+}
@@ -5,7 +5,7 @@ import java.util.Optional;
 
 import seedu.healthmate.exceptions.BadCalorieException;
 import seedu.healthmate.exceptions.EmptyCalorieException;
-import seedu.healthmate.utils.Parameter;
+import seedu.healthmate.utils.ParsedParameters;
 
 public class Meal {
     
@@ -29,8 +29,21 @@ public class Meal {
      */
     public static Meal extractMealFromString(String input,
                                              String command) throws EmptyCalorieException, BadCalorieException {
-        Optional<String> mealDescription = extractMealDescription(input, command);
-        int calories = Parameter.getCalories(input);
+        return extractMeal(ParsedParameters.parse(input), command);
+    }
+
+    /**
+     * Extracts a Meal object from the parameters of an input.
+     * @param parameters The parameters parsed from the input
+     * @param command The command string to parse from
+     * @return A new Meal object with the extracted description and calories
+     * @throws EmptyCalorieException if no calorie value is specified
+     * @throws BadCalorieException if the calorie format is invalid
+     */
+    public static Meal extractMeal(ParsedParameters parameters,
+                                   String command) throws EmptyCalorieException, BadCalorieException {
+        Optional<String> mealDescription = extractMealDescription(parameters, command);
+        int calories = parameters.getCalories();
         Meal meal = new Meal(mealDescription, calories);
         return meal;
     }
@@ -42,17 +55,17 @@ public class Meal {
      * @return An Optional containing the extracted meal description, or empty if none exists
      */
     public static Optional<String> extractMealDescription(String input, String command) {
-        int mealDescriptionIndex = input.indexOf(command) + command.length();
-        int signallerIndex = input.indexOf(Parameter.EMPTY_SIGNALLER.getPrefix());
-        if (signallerIndex == -1) {
-            signallerIndex = input.length();
-        }
-        String mealDescrition = input.substring(mealDescriptionIndex, signallerIndex).trim().toLowerCase();
-        if (mealDescrition.strip().length() > 0) {
-            return Optional.of(mealDescrition);
-        } else {
-            return Optional.empty();
-        }
+        return extractMealDescription(ParsedParameters.parse(input), command);
+    }
+
+    /**
+     * Extracts the meal description from the parameters of an input.
+     * @param parameters The parameters parsed from the input
+     * @param command The command string to parse from
+     * @return An Optional containing the extracted meal description, or empty if none exists
+     */
+    public static Optional<String> extractMealDescription(ParsedParameters parameters, String command) {
+        return MealNameTable.getShared().internName(parameters.getDescription(command));
     }
 
     public boolean descriptionIsEmpty() {
@@ -83,6 +96,18 @@ public class Meal {
         return this.calories;
     }
 
+    public int getPortions() {
+        return 1;
+    }
+
+    /**
+     * Returns the calories of all portions of this meal.
+     * @return The calories per portion times the number of portions
+     */
+    public int getTotalCalories() {
+        return this.getCalories() * this.getPortions();
+    }
+
     @Override
     public String toString() {
         return this.name.orElse("Meal") + " with " + this.calories + " calories";
@@ -1,15 +1,16 @@
 package seedu.healthmate.core;
 
 
-import static seedu.healthmate.core.MealEntry.extractMealEntryFromString;
+import static seedu.healthmate.core.MealEntry.extractMealEntry;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableMap;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 import seedu.healthmate.services.ConsumptionStatistics;
 import seedu.healthmate.services.UI;
@@ -19,17 +20,32 @@ import seedu.healthmate.exceptions.BadTimestampException;
 import seedu.healthmate.exceptions.EmptyCalorieException;
 import seedu.healthmate.exceptions.MealNotFoundException;
 import seedu.healthmate.utils.DateTimeUtils;
-import seedu.healthmate.utils.Parameter;
+import seedu.healthmate.utils.ParsedParameters;
 
 
+/**
+ * The log of meal entries in the order they were tracked.
+ * Entries are held in the primitive columns of a {@link MealEntryColumns} rather than as {@code MealEntry}
+ * objects, so totals and maxima run over plain arrays and names are interned instead of held per entry.
+ * The meal list inherited from {@code MealList} is not used.
+ */
 public class MealEntriesList extends MealList {
 
+    private final List<MealEntryChange> pendingChanges = new ArrayList<>();
+    private MealEntryColumns entries;
+    private DailyCalorieRollups dailyRollups;
+
     public MealEntriesList() {
-        super();
+        this(new ArrayList<>());
     }
 
     public MealEntriesList(ArrayList<Meal> mealList) {
-        super(mealList);
+        this(MealEntryColumns.of(mealList, MealNameTable.getShared()));
+    }
+
+    protected MealEntriesList(MealEntryColumns entries) {
+        super();
+        this.entries = entries;
     }
 
     /**
@@ -42,12 +58,13 @@ public class MealEntriesList extends MealList {
     @Override
     public void extractAndAppendMeal(String userInput, String command, MealList mealOptions, User user) {
         try {
-            if (userInput.contains(",")) {
+            ParsedParameters parameters = ParsedParameters.parse(userInput);
+            if (parameters.containsComma()) {
                 UI.printReply("No Commas Allowed", "Retry: ");
                 return;
             }
-            int portions = Parameter.getPortions(userInput);
-            MealEntry meal = extractMealEntryFromString(userInput, command, mealOptions);
+            int portions = parameters.getPortions();
+            MealEntry meal = extractMealEntry(parameters, command, mealOptions);
             if (!meal.descriptionWithinMaxLength()) {
                 UI.printReply(
                         "Keep description to less than " + Meal.MAX_DESCRIPTION_LENGTH + " characters",
@@ -99,13 +116,12 @@ public class MealEntriesList extends MealList {
     }
 
     /**
-     * Given portions `p`, adds the mealEntry p times to the list of mealEntries
+     * Given portions `p`, adds a single mealEntry of p portions to the list of mealEntries
      * @param mealEntry the meal to be added to the {@code MealEntriesList}
      * @param portion the portions consumed of the {@code mealEntry}
      */
-    public void addPortionsOfMeal(Meal mealEntry, int portion) {
-        IntStream.range(0, Math.max(1, portion))
-                .forEach(i -> this.addMeal(mealEntry));
+    public void addPortionsOfMeal(MealEntry mealEntry, int portion) {
+        this.addMeal(mealEntry.withPortions(Math.max(1, portion)));
     }
 
     /**
@@ -114,7 +130,9 @@ public class MealEntriesList extends MealList {
      */
     @Override
     public void addMeal(Meal mealEntry) {
-        super.mealList.add(mealEntry);
+        this.entries.add(mealEntry);
+        rollUpAddedMeal(mealEntry);
+        this.pendingChanges.add(MealEntryChange.added(mealEntry));
         UI.printReply(mealEntry.toString(), "Tracked: ");
     }
 
@@ -125,19 +143,156 @@ public class MealEntriesList extends MealList {
     //@@author DarkDragoon2002
     @Override
     public void deleteMeal(int mealNumber) {
-        Meal mealToDelete = this.mealList.get(mealNumber - 1);
-        super.mealList.remove(mealNumber - 1);
+        Meal mealToDelete = this.entries.remove(mealNumber - 1);
+        rollUpRemovedMeal(mealToDelete);
+        this.pendingChanges.add(MealEntryChange.deleted(mealNumber, mealToDelete));
         UI.printReply(mealToDelete.toString(), "Deleted entry: ");
     }
     //@@author
 
+    @Override
+    public void addMealWithoutCLIMessage(Meal meal) {
+        this.entries.add(meal);
+        rollUpAddedMeal(meal);
+    }
+
+    /**
+     * Appends a batch of meal entries without displaying CLI messages or recording them as pending changes,
+     * e.g. for imports that save the whole list afterwards.
+     * @param meals The meal entries to append in order
+     */
+    public void addMealsWithoutCLIMessage(List<? extends Meal> meals) {
+        for (Meal meal : meals) {
+            addMealWithoutCLIMessage(meal);
+        }
+    }
+
+    @Override
+    public void removeMealWithoutCLIMessage(int mealNumber) {
+        Meal mealToRemove = this.entries.remove(mealNumber - 1);
+        rollUpRemovedMeal(mealToRemove);
+    }
+
+    /**
+     * Removes a single portion without displaying CLI messages. Portions are numbered as if every portion
+     * was an entry of its own, which is how meal entries were logged before portions were stored.
+     * @param portionNumber The 1-based index of the portion to remove
+     * @throws IndexOutOfBoundsException if there are fewer portions than {@code portionNumber}
+     */
+    public void removePortionWithoutCLIMessage(int portionNumber) {
+        materialize();
+        int portionCount = 0;
+        for (int i = 0; i < this.entries.size(); i++) {
+            portionCount += this.entries.portionsAt(i);
+            if (portionCount < portionNumber) {
+                continue;
+            }
+            MealEntry mealEntry = this.entries.get(i);
+            this.removeMealWithoutCLIMessage(i + 1);
+            if (mealEntry.getPortions() > 1) {
+                MealEntry remainingPortions = mealEntry.withPortions(mealEntry.getPortions() - 1);
+                this.entries.add(i, remainingPortions);
+                rollUpAddedMeal(remainingPortions);
+            }
+            return;
+        }
+        throw new IndexOutOfBoundsException("Portion " + portionNumber + " out of bounds for " + portionCount);
+    }
+
+    /**
+     * Replaces the first meal entry with exactly the same name.
+     * @param newMeal The meal entry replacing it
+     */
+    @Override
+    public void updateMeal(Meal newMeal) {
+        int row = findFirstRow(newMeal.getName());
+        if (row != -1) {
+            this.entries.set(row, newMeal);
+            this.dailyRollups = null;
+        }
+    }
+
+    @Override
+    public boolean containsMealName(Optional<String> name) {
+        return findFirstRow(name) != -1;
+    }
+
+    @Override
+    public Optional<Integer> getCaloriesByMealName(String mealName) {
+        for (int i = 0; i < this.entries.size(); i++) {
+            Optional<String> name = this.entries.getNames().getName(this.entries.nameIdAt(i));
+            if (name.isPresent() && name.get().equalsIgnoreCase(mealName)) {
+                return Optional.of(this.entries.caloriesAt(i));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String toMealStringByIndex(int mealIndex) {
+        return this.entries.get(mealIndex).toString();
+    }
+
+    /**
+     * Returns the per-day calorie rollups of this list, computing them from all entries if they were
+     * neither computed nor loaded before. Once available, they are updated with every addition and deletion.
+     * @return The per-day calorie rollups
+     */
+    public DailyCalorieRollups getDailyRollups() {
+        if (this.dailyRollups == null) {
+            this.dailyRollups = DailyCalorieRollups.of(this.getMealEntries());
+        }
+        return this.dailyRollups;
+    }
+
+    /**
+     * Sets rollups loaded from storage, so that they do not have to be computed from the entries.
+     * @param dailyRollups The per-day calorie rollups matching the entries of this list
+     */
+    public void setDailyRollups(DailyCalorieRollups dailyRollups) {
+        this.dailyRollups = dailyRollups;
+    }
+
+    /**
+     * Returns an immutable snapshot of the meal entries in log order, without copying them.
+     * @return The meal entries as they are now, unaffected by later changes to this list
+     */
     public List<Meal> getMealEntries() {
-        return new ArrayList<>(super.mealList);
+        return this.entries.snapshot();
+    }
+
+    @Override
+    public List<Meal> getMealList() {
+        return this.entries.snapshot();
+    }
+
+    /**
+     * Replaces all entries with an earlier snapshot returned by {@link #getMealEntries()}, sharing its storage.
+     * Pending changes are discarded, so the restored entries have to be saved in full.
+     * @param mealEntries The meal entries in log order
+     */
+    @Override
+    public void restoreMealList(List<Meal> mealEntries) {
+        this.entries = MealEntryColumns.of(mealEntries, this.entries.getNames());
+        this.dailyRollups = null;
+        this.pendingChanges.clear();
+    }
+
+    /**
+     * Returns the additions and deletions made since the last call and forgets them,
+     * so that the persistence layer can append exactly these changes to its journal.
+     * @return The changes in the order they were applied to this list
+     */
+    public List<MealEntryChange> drainPendingChanges() {
+        List<MealEntryChange> changes = new ArrayList<>(this.pendingChanges);
+        this.pendingChanges.clear();
+        return changes;
     }
 
     /**
      * Computes actual calorie consumption and delegates the construction and actual printing of the
-     * consumption bar to the user instance which forwards it to the UI class
+     * consumption bar to the user instance which forwards it to the UI class.
+     * Without daily rollups only the entries of the day are visited, rather than summarizing the whole log.
      * @param user User profile for which the ideal calorie consumption
      *                  will be compared with the actual consumption
      * @param dateTime The date for which actual consumption is calculated and compared to the target.
@@ -147,11 +302,8 @@ public class MealEntriesList extends MealList {
         assert dateTime != null: "Date needs to be specified to print todays consumption bar";
 
         LocalDate date = dateTime.toLocalDate();
-        LocalDateTime todayStartOfDay = DateTimeUtils.startOfDayLocalDateTime(date);
-        LocalDateTime todayEndOfDay = DateTimeUtils.endOfDayLocalDateTime(date);
-
-        MealEntriesList mealsConsumedToday = this.getMealEntriesByDate(todayStartOfDay, todayEndOfDay);
-        int caloriesConsumed = mealsConsumedToday.getTotalCaloriesConsumed();
+        int caloriesConsumed = this.getDailySummaries(date, date)
+                .getOrDefault(date, DailyCalorieSummary.EMPTY).getCalories();
         Integer targetCalories = user.getTargetCalories();
         boolean useSpecialChars = user.isAbleToSeeSpecialChars();
 
@@ -188,34 +340,134 @@ public class MealEntriesList extends MealList {
      * @return The sum of calories for all meals in {@code MealEntriesList}.
      */
     public int getTotalCaloriesConsumed() {
-        return this.mealList.stream()
-                .map(meal -> meal.getCalories())
-                .reduce(0, (accumulator, calorie) -> accumulator + calorie);
+        return this.entries.getTotalCalories();
     }
 
     /**
-     * Retrieves the meal entry with the maximum calories in {@code MealEntriesList}.
+     * Retrieves the meal entry with the maximum calories per portion in {@code MealEntriesList}.
      * @return An {@code Optional} containing the {@code MealEntry} with the highest calorie count,
      *         or an empty {@code Optional} if {@code mealList} is empty.
      */
     public Optional<MealEntry> getMaxCaloriesConsumed() {
-        return this.mealList.stream()
-                .map(meal -> (MealEntry) meal)
-                .reduce((meal1, meal2) -> meal1.getCalories() > meal2.getCalories() ? meal1 : meal2);
+        int maxRow = this.entries.findMaxCaloriesRow();
+        return maxRow == -1 ? Optional.empty() : Optional.of(this.entries.get(maxRow));
     }
 
     /**
      * Collects a list of meal entries within a specified date range into a new MealEntriesList.
+     * The range is looked up in the time index of the entries, so only the k entries within the range
+     * are visited and sorted back into log order in O(log n + k log k), even for back-dated entries.
      * @param lowerDateBound The inclusive lower bound of the date range.
      * @param upperDateBound The inclusive upper bound of the date range.
      * @return A {@code MealEntriesList} containing meals that fall within the specified date range.
      */
     public MealEntriesList getMealEntriesByDate(LocalDateTime lowerDateBound, LocalDateTime upperDateBound) {
-        ArrayList<Meal> filteredMeals = super.mealList.stream()
-                .filter(meal -> meal.isBeforeEqualDate(upperDateBound))
-                .filter(meal -> meal.isAfterEqualDate(lowerDateBound))
-                .collect(Collectors.toCollection(() -> new ArrayList<Meal>()));
-        return new MealEntriesList(filteredMeals);
+        return new MealEntriesList(this.entries.selectBetween(lowerDateBound, upperDateBound));
+    }
+
+    /**
+     * Passes the meal entries within a date range to the given action one at a time, in log order,
+     * without collecting them into a list first.
+     * @param lowerDateBound The inclusive lower bound of the date range.
+     * @param upperDateBound The inclusive upper bound of the date range.
+     * @param action Receives each meal entry within the range
+     */
+    public void forEachEntryBetween(LocalDateTime lowerDateBound, LocalDateTime upperDateBound,
+                                    Consumer<MealEntry> action) {
+        this.entries.forEachBetween(lowerDateBound, upperDateBound, action);
+    }
+
+    /**
+     * Returns the summaries of the days with meal entries within a range of days. The daily rollups are used
+     * if they were computed or loaded before, otherwise only the entries within the range are visited, so that
+     * a range does not require summarizing the whole log.
+     * @param firstDate The first day of the range
+     * @param lastDate The last day of the range, not before the first day
+     * @return The summaries ordered by day
+     */
+    public NavigableMap<LocalDate, DailyCalorieSummary> getDailySummaries(LocalDate firstDate, LocalDate lastDate) {
+        if (this.dailyRollups != null) {
+            return this.dailyRollups.getSummaries().subMap(firstDate, true, lastDate, true);
+        }
+        TreeMap<LocalDate, DailyCalorieSummary> summaries = new TreeMap<>();
+        this.forEachEntryBetween(DateTimeUtils.startOfDayLocalDateTime(firstDate),
+                DateTimeUtils.endOfDayLocalDateTime(lastDate),
+                mealEntry -> summaries.merge(mealEntry.getTimestamp().toLocalDate(),
+                        DailyCalorieSummary.EMPTY.withMeal(mealEntry),
+                        (summary, added) -> summary.withMeal(mealEntry)));
+        return summaries;
+    }
+
+    /**
+     * Looks up the calories consumed on each day of a range of consecutive days in the daily rollups.
+     * @param firstDate The first day of the range
+     * @param days The number of days in the range
+     * @return The calories consumed per day, indexed by the number of days after {@code firstDate}
+     */
+    public int[] getCaloriesPerDay(LocalDate firstDate, int days) {
+        int[] caloriesPerDay = new int[days];
+        DailyCalorieRollups rollups = this.getDailyRollups();
+        for (int i = 0; i < days; i++) {
+            caloriesPerDay[i] = rollups.get(firstDate.plusDays(i)).getCalories();
+        }
+        return caloriesPerDay;
+    }
+
+    /**
+     * Sums the calories consumed within a date range. The calories of whole days are summed by the
+     * prefix sums of the daily rollups, only the entries of days the range covers partially are visited.
+     * @param lowerDateBound The inclusive lower bound of the date range.
+     * @param upperDateBound The inclusive upper bound of the date range.
+     * @return The total calories consumed within the range
+     */
+    public int getCaloriesConsumed(LocalDateTime lowerDateBound, LocalDateTime upperDateBound) {
+        LocalDate lowerDate = lowerDateBound.toLocalDate();
+        LocalDate upperDate = upperDateBound.toLocalDate();
+        boolean isLowerDateWhole = lowerDateBound.equals(DateTimeUtils.startOfDayLocalDateTime(lowerDate));
+        boolean isUpperDateWhole = upperDateBound.equals(DateTimeUtils.endOfDayLocalDateTime(upperDate));
+        LocalDate firstWholeDate = isLowerDateWhole ? lowerDate : lowerDate.plusDays(1);
+        LocalDate lastWholeDate = isUpperDateWhole ? upperDate : upperDate.minusDays(1);
+        if (firstWholeDate.isAfter(lastWholeDate)) {
+            return summarizeEntries(lowerDateBound, upperDateBound).getCalories();
+        }
+        return summarizeEntries(lowerDateBound, DateTimeUtils.startOfDayLocalDateTime(firstWholeDate).minusNanos(1))
+                .getCalories()
+                + this.getDailyRollups().getCalories(firstWholeDate, lastWholeDate)
+                + summarizeEntries(DateTimeUtils.endOfDayLocalDateTime(lastWholeDate).plusNanos(1), upperDateBound)
+                .getCalories();
+    }
+
+    /**
+     * Summarizes the meal entries within a date range. Whole days are looked up in the daily rollups,
+     * only the entries of days the range covers partially are visited individually. If several days have
+     * an equally heavy meal entry, the entries of the range are visited to keep the one logged last.
+     * @param lowerDateBound The inclusive lower bound of the date range.
+     * @param upperDateBound The inclusive upper bound of the date range.
+     * @return The total calories, number of entries and heaviest meal entry within the range
+     */
+    public DailyCalorieSummary getCalorieSummary(LocalDateTime lowerDateBound, LocalDateTime upperDateBound) {
+        LocalDate lowerDate = lowerDateBound.toLocalDate();
+        LocalDate upperDate = upperDateBound.toLocalDate();
+        boolean isLowerDateWhole = lowerDateBound.equals(DateTimeUtils.startOfDayLocalDateTime(lowerDate));
+        boolean isUpperDateWhole = upperDateBound.equals(DateTimeUtils.endOfDayLocalDateTime(upperDate));
+        LocalDate firstWholeDate = isLowerDateWhole ? lowerDate : lowerDate.plusDays(1);
+        LocalDate lastWholeDate = isUpperDateWhole ? upperDate : upperDate.minusDays(1);
+        if (firstWholeDate.isAfter(lastWholeDate)) {
+            return summarizeEntries(lowerDateBound, upperDateBound);
+        }
+        DailyCalorieSummary leadingSummary = summarizeEntries(lowerDateBound,
+                DateTimeUtils.startOfDayLocalDateTime(firstWholeDate).minusNanos(1));
+        DailyCalorieSummary trailingSummary = summarizeEntries(
+                DateTimeUtils.endOfDayLocalDateTime(lastWholeDate).plusNanos(1), upperDateBound);
+        DailyCalorieSummary summary = leadingSummary
+                .plus(this.getDailyRollups().summarize(firstWholeDate, lastWholeDate))
+                .plus(trailingSummary);
+        if (!summary.isHeaviestMealTied()) {
+            return summary;
+        }
+        Optional<MealEntry> heaviestMeal = this.getMealEntriesByDate(lowerDateBound, upperDateBound)
+                .getMaxCaloriesConsumed();
+        return new DailyCalorieSummary(summary.getCalories(), summary.getMealCount(), heaviestMeal);
     }
 
     /**
@@ -224,7 +476,7 @@ public class MealEntriesList extends MealList {
      */
     @Override
     public int size() {
-        return super.size();
+        return this.entries.size();
     }
 
     //@@author DarkDragoon2002
@@ -234,15 +486,12 @@ public class MealEntriesList extends MealList {
      * @param user user profile for which the progress bar is built
      */
     private void printHistoricBarPerDay(int days, User user) {
-        LocalDate today = DateTimeUtils.currentDate();
+        LocalDate firstDate = DateTimeUtils.currentDate().minusDays(Math.max(days - 1, 0));
+        int[] caloriesPerDay = this.getCaloriesPerDay(firstDate, days);
 
-        for (int i = days - 1; i >= 0; i--) {
-            LocalDate printDate = today.minusDays(i);
-            LocalDateTime upperDateBound = DateTimeUtils.endOfDayLocalDateTime(printDate);
-            LocalDateTime lowerDateBound = DateTimeUtils.startOfDayLocalDateTime(printDate);
-
-            MealEntriesList mealsConsumed = this.getMealEntriesByDate(lowerDateBound, upperDateBound);
-            int caloriesConsumed = mealsConsumed.getTotalCaloriesConsumed();
+        for (int i = 0; i < days; i++) {
+            LocalDate printDate = firstDate.plusDays(i);
+            int caloriesConsumed = caloriesPerDay[i];
             int targetCalories = user.getTargetCalories();
             boolean useSpecialChars = user.isAbleToSeeSpecialChars();
 
@@ -252,9 +501,53 @@ public class MealEntriesList extends MealList {
     }
     //@@author
 
+    private DailyCalorieSummary summarizeEntries(LocalDateTime lowerDateBound, LocalDateTime upperDateBound) {
+        DailyCalorieSummary summary = DailyCalorieSummary.EMPTY;
+        if (lowerDateBound.isAfter(upperDateBound)) {
+            return summary;
+        }
+        for (Meal meal : this.getMealEntriesByDate(lowerDateBound, upperDateBound).getMealEntries()) {
+            summary = summary.withMeal((MealEntry) meal);
+        }
+        return summary;
+    }
+
+    private void rollUpAddedMeal(Meal meal) {
+        if (this.dailyRollups != null && meal instanceof MealEntry) {
+            this.dailyRollups.add(meal);
+        }
+    }
+
+    private void rollUpRemovedMeal(Meal meal) {
+        if (this.dailyRollups == null || !(meal instanceof MealEntry)) {
+            return;
+        }
+        LocalDate date = ((MealEntry) meal).getTimestamp().toLocalDate();
+        this.dailyRollups.remove(meal, () -> this.getMealEntriesByDate(DateTimeUtils.startOfDayLocalDateTime(date),
+                DateTimeUtils.endOfDayLocalDateTime(date)).getMealEntries());
+    }
+
+    /**
+     * Moves entries held outside of the columns into them, so that the list can be modified at any position.
+     * Plain lists already hold all their entries in the columns.
+     */
+    protected void materialize() {
+    }
+
+    protected MealEntryColumns getEntries() {
+        return this.entries;
+    }
+
+    protected void setEntries(MealEntryColumns entries) {
+        this.entries = entries;
+    }
+
+    private int findFirstRow(Optional<String> name) {
+        return this.entries.getNames().findId(name).map(this.entries::findFirstRow).orElse(-1);
+    }
+
     private LocalDateTime getDateOfMealEntry(int mealNumber) {
-        MealEntry mealEntry = (MealEntry) this.mealList.get(mealNumber - 1);
-        return mealEntry.getTimestamp();
+        return this.entries.timestampAt(mealNumber - 1);
     }
 
 }
@@ -11,14 +11,17 @@ import seedu.healthmate.exceptions.EmptyCalorieException;
 import seedu.healthmate.exceptions.EmptyTimestampException;
 import seedu.healthmate.exceptions.MealNotFoundException;
 import seedu.healthmate.utils.DateTimeUtils;
-import seedu.healthmate.utils.Parameter;
+import seedu.healthmate.utils.ParsedParameters;
 
 /**
  * Represents a meal entry in the HealthMate application.
  * A meal entry extends the Meal class and includes timestamp information.
+ * Several portions of a meal consumed at once are a single entry carrying the number of portions,
+ * so the calories of a meal entry are the calories of one portion.
  */
 public class MealEntry extends Meal{
     private final LocalDateTime timestamp;
+    private final int portions;
 
     /**
      * Constructs a MealEntry with the current timestamp.
@@ -27,8 +30,7 @@ public class MealEntry extends Meal{
      * @param calories The caloric content of the meal
      */
     public MealEntry(Optional<String> name, int calories) {
-        super(name, calories);
-        this.timestamp = LocalDateTime.now();
+        this(name, calories, LocalDateTime.now());
     }
 
     /**
@@ -39,8 +41,22 @@ public class MealEntry extends Meal{
      * @param timestamp The timestamp of when the meal was consumed
      */
     public MealEntry(Optional<String> name, int calories, LocalDateTime timestamp) {
+        this(name, calories, timestamp, 1);
+    }
+
+    /**
+     * Constructs a MealEntry of several portions with a specified timestamp.
+     *
+     * @param name The name/description of the meal
+     * @param calories The caloric content of one portion of the meal
+     * @param timestamp The timestamp of when the meal was consumed
+     * @param portions The number of portions consumed
+     */
+    public MealEntry(Optional<String> name, int calories, LocalDateTime timestamp, int portions) {
         super(name, calories);
+        assert portions > 0 : "A meal entry needs at least one portion";
         this.timestamp = timestamp;
+        this.portions = portions;
     }
 
     /**
@@ -57,12 +73,29 @@ public class MealEntry extends Meal{
      */
     public static MealEntry extractMealEntryFromString(String input, String command, MealList mealOptions)
             throws EmptyCalorieException, BadCalorieException, MealNotFoundException, BadTimestampException {
+        return extractMealEntry(ParsedParameters.parse(input), command, mealOptions);
+    }
+
+    /**
+     * Extracts a MealEntry object from the parameters of an input.
+     *
+     * @param parameters The parameters parsed from the input
+     * @param command The command associated with the input
+     * @param mealOptions List of predefined meal options
+     * @return A new MealEntry object based on the input
+     * @throws EmptyCalorieException If calories information is missing
+     * @throws BadCalorieException If calories value is invalid
+     * @throws MealNotFoundException If referenced meal is not found in options
+     * @throws BadTimestampException If timestamp format is invalid
+     */
+    public static MealEntry extractMealEntry(ParsedParameters parameters, String command, MealList mealOptions)
+            throws EmptyCalorieException, BadCalorieException, MealNotFoundException, BadTimestampException {
 
         int calories;
-        Optional<String> mealDescription = extractMealDescription(input, command);
+        Optional<String> mealDescription = extractMealDescription(parameters, command);
 
         try {
-            calories = Parameter.getCalories(input);
+            calories = parameters.getCalories();
         } catch (EmptyCalorieException e) {
             UI.printSeparator();
             UI.printString("Getting info from meal options...");
@@ -75,8 +108,8 @@ public class MealEntry extends Meal{
         }
 
         try {
-            LocalDate timestamp = Parameter.getTimestamp(input);
-            if (timestamp.isAfter(DateTimeUtils.currentDate())) {
+            LocalDate timestamp = parameters.getTimestamp();
+            if (isFutureDate(timestamp)) {
                 UI.printString("DATE ERROR: NO FUTURE DATES");
                 throw new BadTimestampException();
             }
@@ -88,6 +121,16 @@ public class MealEntry extends Meal{
         }
     }
 
+    /**
+     * Checks whether a date lies in the future, which meal entries may not be dated to.
+     *
+     * @param date The date to check
+     * @return true if the date is after today
+     */
+    public static boolean isFutureDate(LocalDate date) {
+        return date.isAfter(DateTimeUtils.currentDate());
+    }
+
     /**
      * Gets the timestamp of the meal entry.
      *
@@ -97,14 +140,43 @@ public class MealEntry extends Meal{
         return this.timestamp;
     }
 
+    @Override
+    public int getPortions() {
+        return this.portions;
+    }
+
+    /**
+     * Returns this meal entry with a different number of portions.
+     *
+     * @param portions The number of portions consumed
+     * @return A meal entry of the same meal at the same time with the given number of portions
+     */
+    public MealEntry withPortions(int portions) {
+        return new MealEntry(this.getName(), this.getCalories(), this.timestamp, portions);
+    }
+
+    /**
+     * Checks if the given meal entry is a portion of the same meal consumed at the same time.
+     *
+     * @param other The meal entry to compare against
+     * @return true if both entries have the same name, calories per portion and timestamp
+     */
+    public boolean isSameMealAs(MealEntry other) {
+        return this.getName().equals(other.getName()) && this.getCalories() == other.getCalories()
+                && this.timestamp.equals(other.timestamp);
+    }
+
     /**
      * Converts the meal entry to a string format for saving.
+     * The number of portions is only appended if more than one portion was consumed,
+     * so single portions are saved exactly like before portions were stored.
      *
      * @return String representation of the meal entry for storage
      */
     @Override
     public String toSaveString() {
-        return super.toSaveString() + ", " + this.timestamp;
+        String saveString = super.toSaveString() + ", " + this.timestamp;
+        return this.portions == 1 ? saveString : saveString + "," + this.portions;
     }
 
     /**
@@ -136,6 +208,7 @@ public class MealEntry extends Meal{
      */
     @Override
     public String toString() {
-        return super.toString() + " (at: " + this.timestamp.toLocalDate() + ")";
+        String portionsPrefix = this.portions == 1 ? "" : this.portions + " x ";
+        return portionsPrefix + super.toString() + " (at: " + this.timestamp.toLocalDate() + ")";
     }
 }
@@ -0,0 +1,67 @@
+package seedu.healthmate.core;
+
+/**
+ * Represents a single mutation of a {@code MealEntriesList} that has not been persisted yet.
+ * A change is either the addition of a meal entry or the deletion of the entry at a 1-based log index.
+ * Both carry the affected meal entry.
+ */
+public class MealEntryChange {
+
+    /**
+     * The kind of mutation recorded by a {@code MealEntryChange}.
+     */
+    public enum Type {
+        ADD,
+        DELETE
+    }
+
+    private final Type type;
+    private final Meal mealEntry;
+    private final int mealNumber;
+
+    private MealEntryChange(Type type, Meal mealEntry, int mealNumber) {
+        this.type = type;
+        this.mealEntry = mealEntry;
+        this.mealNumber = mealNumber;
+    }
+
+    /**
+     * Creates a change recording that a meal entry was appended to the log.
+     * @param mealEntry The meal entry that was added
+     * @return A new {@code MealEntryChange} of type {@code ADD}
+     */
+    public static MealEntryChange added(Meal mealEntry) {
+        assert mealEntry != null : "Added meal entry should not be null";
+        return new MealEntryChange(Type.ADD, mealEntry, -1);
+    }
+
+    /**
+     * Creates a change recording that the meal entry at the given log index was deleted.
+     * @param mealNumber The 1-based index of the deleted meal entry
+     * @param mealEntry The meal entry that was deleted
+     * @return A new {@code MealEntryChange} of type {@code DELETE}
+     */
+    public static MealEntryChange deleted(int mealNumber, Meal mealEntry) {
+        assert mealNumber > 0 : "Deleted meal number should be 1-based";
+        return new MealEntryChange(Type.DELETE, mealEntry, mealNumber);
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    public Meal getMealEntry() {
+        return this.mealEntry;
+    }
+
+    public int getMealNumber() {
+        return this.mealNumber;
+    }
+
+    @Override
+    public String toString() {
+        return this.type == Type.ADD
+                ? "Added: " + this.mealEntry
+                : "Deleted meal number: " + this.mealNumber;
+    }
+}
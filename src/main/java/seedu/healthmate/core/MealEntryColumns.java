@@ -0,0 +1,676 @@
+package seedu.healthmate.core;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+import seedu.healthmate.utils.PersistentList;
+
+/**
+ * Struct-of-arrays store of meal entries in log order.
+ * Every entry is a row across the primitive columns {@code long[] epochSeconds}, {@code int[] nanos},
+ * {@code int[] calories}, {@code int[] portions} and {@code int[] nameIds}, the names are interned in a
+ * {@link MealNameTable}. Aggregations run over the columns directly, entries are only decoded into
+ * {@code MealEntry} objects when they are accessed individually.
+ * <p>
+ * The rows are split into chunks of at most {@value #CHUNK_CAPACITY} rows, like a rope. The chunks are
+ * weighted by their sizes in a {@link PersistentList}, which locates the chunk holding a log position in
+ * O(log n) and splits, merges or removes chunks in O(log n) as well. Accessing, inserting or deleting a row
+ * at any position therefore only shifts the rows of a single chunk. A chunk that drops below half full is
+ * merged with a neighbour if both fit into one chunk, so heavy deletions leave no trail of nearly empty
+ * chunks.
+ * <p>
+ * Next to the chunks, a time index holds every row sorted by timestamp. Each row carries an order label in
+ * {@code long[] labels} that increases in log order and stays with the row when chunks are split or merged,
+ * so the index only changes when rows are added, replaced or removed. A date range query finds its k rows
+ * in the index in O(log n + k) and sorts them back into log order by their labels in O(k log k), however
+ * far back the entries are dated. Labels are spaced {@value #LABEL_GAP} apart; when an insertion finds no
+ * free label between its neighbours, all rows are labelled again.
+ * <p>
+ * {@link #snapshot()} hands out immutable views that share the chunks instead of copying the rows. The chunks
+ * are held in a {@link PersistentList} and copied on write: the first change to a chunk after a snapshot was
+ * taken replaces it with a private copy. The time index is a {@code PersistentList} as well. A snapshot thus
+ * costs O(1) and a later change one chunk copy plus O(log n) tree nodes, so many snapshots can be kept,
+ * e.g. as undo history.
+ */
+public class MealEntryColumns {
+    private static final int CHUNK_CAPACITY = 256;
+    private static final int INITIAL_CHUNK_CAPACITY = 8;
+    private static final long LABEL_GAP = 1L << 32;
+    private static final Comparator<IndexedRow> TIME_ORDER = Comparator.<IndexedRow>comparingLong(
+            row -> row.epochSecond).thenComparingInt(row -> row.nano).thenComparingLong(row -> row.label);
+
+    private final MealNameTable names;
+    private PersistentList<Chunk> chunks;
+    private PersistentList<IndexedRow> timeIndex;
+    private int size;
+    private Object owner;
+    private List<Meal> snapshot;
+
+    /**
+     * Up to {@value #CHUNK_CAPACITY} consecutive rows of the log. The columns grow with the rows, so small
+     * lists such as the entries of a single day stay small. The chunk weighs as many rows as it holds, so
+     * after changing its size it has to be put into the chunk list again.
+     * Only the columns whose current owner token matches the owner of a chunk may modify it in place;
+     * all other chunks may be referenced by snapshots.
+     */
+    private static class Chunk implements PersistentList.Weighted {
+        private long[] epochSeconds = new long[INITIAL_CHUNK_CAPACITY];
+        private int[] nanos = new int[INITIAL_CHUNK_CAPACITY];
+        private int[] calories = new int[INITIAL_CHUNK_CAPACITY];
+        private int[] portions = new int[INITIAL_CHUNK_CAPACITY];
+        private int[] nameIds = new int[INITIAL_CHUNK_CAPACITY];
+        private long[] labels = new long[INITIAL_CHUNK_CAPACITY];
+        private int size;
+        private final Object owner;
+
+        private Chunk(Object owner) {
+            this.owner = owner;
+        }
+
+        private Chunk copy(Object owner) {
+            Chunk copy = new Chunk(owner);
+            copy.epochSeconds = epochSeconds.clone();
+            copy.nanos = nanos.clone();
+            copy.calories = calories.clone();
+            copy.portions = portions.clone();
+            copy.nameIds = nameIds.clone();
+            copy.labels = labels.clone();
+            copy.size = size;
+            return copy;
+        }
+
+        @Override
+        public int weight() {
+            return size;
+        }
+
+        private boolean isFull() {
+            return size == CHUNK_CAPACITY;
+        }
+
+        /**
+         * Grows the columns if they cannot hold another row.
+         */
+        private void ensureRoom() {
+            ensureCapacity(size + 1);
+        }
+
+        private void ensureCapacity(int rowCount) {
+            if (rowCount <= calories.length) {
+                return;
+            }
+            int capacity = Math.min(Math.max(calories.length * 2, rowCount), CHUNK_CAPACITY);
+            epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+            nanos = Arrays.copyOf(nanos, capacity);
+            calories = Arrays.copyOf(calories, capacity);
+            portions = Arrays.copyOf(portions, capacity);
+            nameIds = Arrays.copyOf(nameIds, capacity);
+            labels = Arrays.copyOf(labels, capacity);
+        }
+
+        private void shift(int fromRow, int toRow, int length) {
+            System.arraycopy(epochSeconds, fromRow, epochSeconds, toRow, length);
+            System.arraycopy(nanos, fromRow, nanos, toRow, length);
+            System.arraycopy(calories, fromRow, calories, toRow, length);
+            System.arraycopy(portions, fromRow, portions, toRow, length);
+            System.arraycopy(nameIds, fromRow, nameIds, toRow, length);
+            System.arraycopy(labels, fromRow, labels, toRow, length);
+        }
+
+        private void copyRow(Chunk source, int sourceRow, int row) {
+            epochSeconds[row] = source.epochSeconds[sourceRow];
+            nanos[row] = source.nanos[sourceRow];
+            calories[row] = source.calories[sourceRow];
+            portions[row] = source.portions[sourceRow];
+            nameIds[row] = source.nameIds[sourceRow];
+            labels[row] = source.labels[sourceRow];
+        }
+    }
+
+    /**
+     * Entry of the time index: the timestamp and label of a row together with its values, so that the rows
+     * found by timestamp are decoded without locating them in the chunks.
+     */
+    private static final class IndexedRow {
+        private final long epochSecond;
+        private final int nano;
+        private final long label;
+        private final int calories;
+        private final int portions;
+        private final int nameId;
+
+        private IndexedRow(Chunk chunk, int row) {
+            this.epochSecond = chunk.epochSeconds[row];
+            this.nano = chunk.nanos[row];
+            this.label = chunk.labels[row];
+            this.calories = chunk.calories[row];
+            this.portions = chunk.portions[row];
+            this.nameId = chunk.nameIds[row];
+        }
+
+        private int compareTimestamp(long otherEpochSecond, int otherNano) {
+            int secondsComparison = Long.compare(epochSecond, otherEpochSecond);
+            return secondsComparison != 0 ? secondsComparison : Integer.compare(nano, otherNano);
+        }
+
+        private MealEntry decode(MealNameTable names) {
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+            return new MealEntry(names.getName(nameId), calories, timestamp, portions);
+        }
+    }
+
+    /**
+     * Immutable view of the rows at the time a snapshot was taken. The view references the chunks and the
+     * time index of that time, which are never modified once shared, and decodes entries on access.
+     */
+    private static class Snapshot extends AbstractList<Meal> implements RandomAccess {
+        private final MealNameTable names;
+        private final PersistentList<Chunk> chunks;
+        private final PersistentList<IndexedRow> timeIndex;
+        private final int size;
+
+        private Snapshot(MealNameTable names, PersistentList<Chunk> chunks, PersistentList<IndexedRow> timeIndex,
+                int size) {
+            this.names = names;
+            this.chunks = chunks;
+            this.timeIndex = timeIndex;
+            this.size = size;
+        }
+
+        @Override
+        public Meal get(int position) {
+            if (position < 0 || position >= size) {
+                throw new IndexOutOfBoundsException("Index " + position + " out of bounds for length " + size);
+            }
+            int chunkIndex = chunks.indexOfWeight(position);
+            return decode(names, chunks.get(chunkIndex), position - (int) chunks.weightBefore(chunkIndex));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Constructs empty columns whose names are interned in the given table.
+     * @param names The table the meal names are interned in
+     */
+    public MealEntryColumns(MealNameTable names) {
+        this.names = names;
+        this.chunks = PersistentList.empty();
+        this.timeIndex = PersistentList.empty();
+        this.size = 0;
+        this.owner = new Object();
+    }
+
+    /**
+     * Builds columns holding the given meal entries. Columns restored from one of their own snapshots share
+     * its chunks and time index instead of encoding the entries again.
+     * @param mealEntries The meal entries in log order
+     * @param names The table the meal names are interned in
+     * @return The columns holding the meal entries
+     */
+    public static MealEntryColumns of(List<Meal> mealEntries, MealNameTable names) {
+        MealEntryColumns columns = new MealEntryColumns(names);
+        if (mealEntries instanceof Snapshot && ((Snapshot) mealEntries).names == names) {
+            Snapshot snapshot = (Snapshot) mealEntries;
+            columns.chunks = snapshot.chunks;
+            columns.timeIndex = snapshot.timeIndex;
+            columns.size = snapshot.size;
+            columns.snapshot = snapshot;
+            return columns;
+        }
+        ArrayList<Chunk> filledChunks = new ArrayList<>();
+        ArrayList<IndexedRow> indexedRows = new ArrayList<>(mealEntries.size());
+        Chunk chunk = null;
+        for (Meal meal : mealEntries) {
+            if (chunk == null || chunk.isFull()) {
+                chunk = new Chunk(columns.owner);
+                filledChunks.add(chunk);
+            }
+            chunk.ensureRoom();
+            columns.setRow(chunk, chunk.size, (MealEntry) meal);
+            chunk.labels[chunk.size] = (indexedRows.size() + 1) * LABEL_GAP;
+            indexedRows.add(new IndexedRow(chunk, chunk.size++));
+        }
+        columns.chunks = PersistentList.of(filledChunks);
+        columns.timeIndex = sortedIndex(indexedRows);
+        columns.size = indexedRows.size();
+        return columns;
+    }
+
+    public MealNameTable getNames() {
+        return this.names;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Appends a meal entry as the last row.
+     * @param meal The meal entry to append
+     */
+    public void add(Meal meal) {
+        long label = nextLabel();
+        int chunkIndex = getLastChunkWithRoom();
+        Chunk chunk = getWritableChunk(chunkIndex);
+        chunk.ensureRoom();
+        setRow(chunk, chunk.size, (MealEntry) meal);
+        chunk.labels[chunk.size] = label;
+        addToIndex(new IndexedRow(chunk, chunk.size));
+        chunk.size++;
+        resizeChunk(chunkIndex, chunk, 1);
+    }
+
+    /**
+     * Inserts a meal entry at the given position, shifting the following rows of its chunk back.
+     * A full chunk is split in half first.
+     * @param position The position the meal entry is inserted at
+     * @param meal The meal entry to insert
+     */
+    public void add(int position, Meal meal) {
+        checkIndex(position, size + 1);
+        if (position == size) {
+            add(meal);
+            return;
+        }
+        long label = labelBefore(position);
+        int chunkIndex = chunks.indexOfWeight(position);
+        int row = position - chunkStart(chunkIndex);
+        if (chunks.get(chunkIndex).isFull()) {
+            splitChunk(chunkIndex);
+            if (row >= CHUNK_CAPACITY / 2) {
+                chunkIndex++;
+                row -= CHUNK_CAPACITY / 2;
+            }
+        }
+        Chunk chunk = getWritableChunk(chunkIndex);
+        chunk.ensureRoom();
+        chunk.shift(row, row + 1, chunk.size - row);
+        setRow(chunk, row, (MealEntry) meal);
+        chunk.labels[row] = label;
+        addToIndex(new IndexedRow(chunk, row));
+        chunk.size++;
+        resizeChunk(chunkIndex, chunk, 1);
+    }
+
+    /**
+     * Removes the row at the given position, shifting the following rows of its chunk forward.
+     * A chunk left less than half full is merged with a neighbour if both fit into one chunk.
+     * @param position The position of the row to remove
+     * @return The removed meal entry
+     */
+    public MealEntry remove(int position) {
+        checkIndex(position, size);
+        int chunkIndex = chunks.indexOfWeight(position);
+        int row = position - chunkStart(chunkIndex);
+        Chunk chunk = getWritableChunk(chunkIndex);
+        MealEntry removedEntry = decode(names, chunk, row);
+        removeFromIndex(new IndexedRow(chunk, row));
+        chunk.shift(row + 1, row, chunk.size - row - 1);
+        chunk.size--;
+        if (chunk.size == 0) {
+            chunks = chunks.minus(chunkIndex);
+            size--;
+            return removedEntry;
+        }
+        resizeChunk(chunkIndex, chunk, -1);
+        mergeIfUnderfull(chunkIndex);
+        return removedEntry;
+    }
+
+    /**
+     * Replaces the meal entry at the given position.
+     * @param position The position of the row to replace
+     * @param meal The new meal entry
+     */
+    public void set(int position, Meal meal) {
+        checkIndex(position, size);
+        int chunkIndex = chunks.indexOfWeight(position);
+        int row = position - chunkStart(chunkIndex);
+        Chunk chunk = getWritableChunk(chunkIndex);
+        removeFromIndex(new IndexedRow(chunk, row));
+        setRow(chunk, row, (MealEntry) meal);
+        addToIndex(new IndexedRow(chunk, row));
+    }
+
+    /**
+     * Decodes the meal entry at the given position.
+     * @param position The position of the meal entry
+     * @return The meal entry
+     */
+    public MealEntry get(int position) {
+        checkIndex(position, size);
+        int chunkIndex = chunks.indexOfWeight(position);
+        return decode(names, chunks.get(chunkIndex), position - chunkStart(chunkIndex));
+    }
+
+    public int caloriesAt(int position) {
+        checkIndex(position, size);
+        int chunkIndex = chunks.indexOfWeight(position);
+        return chunks.get(chunkIndex).calories[position - chunkStart(chunkIndex)];
+    }
+
+    public int portionsAt(int position) {
+        checkIndex(position, size);
+        int chunkIndex = chunks.indexOfWeight(position);
+        return chunks.get(chunkIndex).portions[position - chunkStart(chunkIndex)];
+    }
+
+    public int nameIdAt(int position) {
+        checkIndex(position, size);
+        int chunkIndex = chunks.indexOfWeight(position);
+        return chunks.get(chunkIndex).nameIds[position - chunkStart(chunkIndex)];
+    }
+
+    public LocalDateTime timestampAt(int position) {
+        checkIndex(position, size);
+        int chunkIndex = chunks.indexOfWeight(position);
+        int row = position - chunkStart(chunkIndex);
+        Chunk chunk = chunks.get(chunkIndex);
+        return LocalDateTime.ofEpochSecond(chunk.epochSeconds[row], chunk.nanos[row], ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns an immutable view of the current rows in log order. Later changes to these columns are not
+     * reflected in the view, and the view can be read from other threads while the columns are changed.
+     * The view is reused until the columns change.
+     * @return The meal entries in log order
+     */
+    public List<Meal> snapshot() {
+        if (snapshot == null) {
+            owner = new Object();
+            snapshot = new Snapshot(names, chunks, timeIndex, size);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Sums the calories of all portions of all rows.
+     * @return The total calories
+     */
+    public int getTotalCalories() {
+        int totalCalories = 0;
+        for (Chunk chunk : chunks) {
+            for (int row = 0; row < chunk.size; row++) {
+                totalCalories += chunk.calories[row] * chunk.portions[row];
+            }
+        }
+        return totalCalories;
+    }
+
+    /**
+     * Finds the row with the highest calories per portion. Ties are resolved in favour of the later row.
+     * @return The position of the row, or -1 if there are no rows
+     */
+    public int findMaxCaloriesRow() {
+        int maxPosition = -1;
+        int maxCalories = Integer.MIN_VALUE;
+        int chunkStart = 0;
+        for (Chunk chunk : chunks) {
+            for (int row = 0; row < chunk.size; row++) {
+                if (maxPosition == -1 || chunk.calories[row] >= maxCalories) {
+                    maxPosition = chunkStart + row;
+                    maxCalories = chunk.calories[row];
+                }
+            }
+            chunkStart += chunk.size;
+        }
+        return maxPosition;
+    }
+
+    /**
+     * Finds the first row whose meal name id is the given one.
+     * @param nameId The interned id of the meal name
+     * @return The position of the row, or -1 if no row has that name
+     */
+    public int findFirstRow(int nameId) {
+        int chunkStart = 0;
+        for (Chunk chunk : chunks) {
+            for (int row = 0; row < chunk.size; row++) {
+                if (chunk.nameIds[row] == nameId) {
+                    return chunkStart + row;
+                }
+            }
+            chunkStart += chunk.size;
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the rows with timestamps within a range into new columns sharing the name table, in log order.
+     * The k rows are looked up in the time index and sorted back into log order in O(log n + k log k).
+     * @param lowerBound The inclusive lower bound of the range
+     * @param upperBound The inclusive upper bound of the range
+     * @return The columns holding the selected rows in log order
+     */
+    public MealEntryColumns selectBetween(LocalDateTime lowerBound, LocalDateTime upperBound) {
+        MealEntryColumns selection = new MealEntryColumns(names);
+        visitRowsBetween(lowerBound, upperBound, selection::appendRow);
+        return selection;
+    }
+
+    /**
+     * Decodes the rows with timestamps within the given range one at a time, in log order.
+     * Like {@link #selectBetween}, the rows are looked up in the time index; no rows are copied.
+     * @param lowerBound The inclusive lower bound of the range
+     * @param upperBound The inclusive upper bound of the range
+     * @param action Receives each decoded meal entry
+     */
+    public void forEachBetween(LocalDateTime lowerBound, LocalDateTime upperBound, Consumer<MealEntry> action) {
+        visitRowsBetween(lowerBound, upperBound, row -> action.accept(row.decode(names)));
+    }
+
+    private void visitRowsBetween(LocalDateTime lowerBound, LocalDateTime upperBound, Consumer<IndexedRow> visitor) {
+        if (lowerBound.isAfter(upperBound)) {
+            return;
+        }
+        long lowerSeconds = lowerBound.toEpochSecond(ZoneOffset.UTC);
+        int lowerNanos = lowerBound.getNano();
+        long upperSeconds = upperBound.toEpochSecond(ZoneOffset.UTC);
+        int upperNanos = upperBound.getNano();
+        int firstIndex = timeIndex.indexOfFirst(row -> row.compareTimestamp(lowerSeconds, lowerNanos) >= 0);
+        ArrayList<IndexedRow> rowsInRange = new ArrayList<>();
+        Iterator<IndexedRow> rows = timeIndex.iterator(firstIndex);
+        while (rows.hasNext()) {
+            IndexedRow row = rows.next();
+            if (row.compareTimestamp(upperSeconds, upperNanos) > 0) {
+                break;
+            }
+            rowsInRange.add(row);
+        }
+        rowsInRange.sort(Comparator.comparingLong(row -> row.label));
+        rowsInRange.forEach(visitor);
+    }
+
+    private void appendRow(IndexedRow source) {
+        long label = nextLabel();
+        int chunkIndex = getLastChunkWithRoom();
+        Chunk chunk = getWritableChunk(chunkIndex);
+        chunk.ensureRoom();
+        int row = chunk.size;
+        chunk.epochSeconds[row] = source.epochSecond;
+        chunk.nanos[row] = source.nano;
+        chunk.calories[row] = source.calories;
+        chunk.portions[row] = source.portions;
+        chunk.nameIds[row] = source.nameId;
+        chunk.labels[row] = label;
+        addToIndex(new IndexedRow(chunk, row));
+        chunk.size++;
+        resizeChunk(chunkIndex, chunk, 1);
+    }
+
+    private int getLastChunkWithRoom() {
+        if (chunks.isEmpty() || chunks.get(chunks.size() - 1).isFull()) {
+            chunks = chunks.plus(new Chunk(owner));
+        }
+        return chunks.size() - 1;
+    }
+
+    /**
+     * Returns the chunk at the given index for modification, first replacing it with a private copy if it
+     * may be shared with a snapshot. Every modification invalidates the current snapshot.
+     */
+    private Chunk getWritableChunk(int chunkIndex) {
+        snapshot = null;
+        Chunk chunk = chunks.get(chunkIndex);
+        if (chunk.owner != owner) {
+            chunk = chunk.copy(owner);
+            chunks = chunks.with(chunkIndex, chunk);
+        }
+        return chunk;
+    }
+
+    private static MealEntry decode(MealNameTable names, Chunk chunk, int row) {
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(chunk.epochSeconds[row], chunk.nanos[row],
+                ZoneOffset.UTC);
+        return new MealEntry(names.getName(chunk.nameIds[row]), chunk.calories[row], timestamp,
+                chunk.portions[row]);
+    }
+
+    /**
+     * Writes the values of a meal entry into a row. The label of the row is left as it is.
+     */
+    private void setRow(Chunk chunk, int row, MealEntry mealEntry) {
+        LocalDateTime timestamp = mealEntry.getTimestamp();
+        chunk.epochSeconds[row] = timestamp.toEpochSecond(ZoneOffset.UTC);
+        chunk.nanos[row] = timestamp.getNano();
+        chunk.calories[row] = mealEntry.getCalories();
+        chunk.portions[row] = mealEntry.getPortions();
+        chunk.nameIds[row] = names.intern(mealEntry.getName());
+    }
+
+    /**
+     * Returns the label for a row appended after the last row.
+     */
+    private long nextLabel() {
+        if (size == 0) {
+            return LABEL_GAP;
+        }
+        Chunk lastChunk = chunks.get(chunks.size() - 1);
+        return lastChunk.labels[lastChunk.size - 1] + LABEL_GAP;
+    }
+
+    /**
+     * Returns a free label between the labels of the rows before and at the given position, labelling all
+     * rows again if there is none.
+     */
+    private long labelBefore(int position) {
+        long nextLabel = labelAt(position);
+        long previousLabel = position == 0 ? nextLabel - 2 * LABEL_GAP : labelAt(position - 1);
+        if (nextLabel - previousLabel < 2) {
+            relabel();
+            return labelBefore(position);
+        }
+        return previousLabel + (nextLabel - previousLabel) / 2;
+    }
+
+    private long labelAt(int position) {
+        int chunkIndex = chunks.indexOfWeight(position);
+        return chunks.get(chunkIndex).labels[position - chunkStart(chunkIndex)];
+    }
+
+    /**
+     * Spaces the labels of all rows evenly again and rebuilds the time index in O(n log n).
+     */
+    private void relabel() {
+        ArrayList<IndexedRow> indexedRows = new ArrayList<>(size);
+        for (int chunkIndex = 0; chunkIndex < chunks.size(); chunkIndex++) {
+            Chunk chunk = getWritableChunk(chunkIndex);
+            for (int row = 0; row < chunk.size; row++) {
+                chunk.labels[row] = (indexedRows.size() + 1) * LABEL_GAP;
+                indexedRows.add(new IndexedRow(chunk, row));
+            }
+        }
+        timeIndex = sortedIndex(indexedRows);
+    }
+
+    private static PersistentList<IndexedRow> sortedIndex(List<IndexedRow> indexedRows) {
+        indexedRows.sort(TIME_ORDER);
+        return PersistentList.of(indexedRows);
+    }
+
+    private void addToIndex(IndexedRow indexedRow) {
+        int index = timeIndex.indexOfFirst(row -> TIME_ORDER.compare(row, indexedRow) > 0);
+        timeIndex = timeIndex.plus(index, indexedRow);
+    }
+
+    private void removeFromIndex(IndexedRow indexedRow) {
+        int index = timeIndex.indexOfFirst(row -> TIME_ORDER.compare(row, indexedRow) >= 0);
+        assert index < timeIndex.size() && timeIndex.get(index).label == indexedRow.label : "Row not indexed";
+        timeIndex = timeIndex.minus(index);
+    }
+
+    /**
+     * Moves the upper half of a full chunk into a new chunk following it.
+     */
+    private void splitChunk(int chunkIndex) {
+        Chunk chunk = getWritableChunk(chunkIndex);
+        Chunk upperHalf = new Chunk(owner);
+        upperHalf.ensureCapacity(chunk.size - CHUNK_CAPACITY / 2);
+        for (int row = CHUNK_CAPACITY / 2; row < chunk.size; row++) {
+            upperHalf.copyRow(chunk, row, upperHalf.size++);
+        }
+        chunk.size = CHUNK_CAPACITY / 2;
+        chunks = chunks.with(chunkIndex, chunk).plus(chunkIndex + 1, upperHalf);
+    }
+
+    /**
+     * Merges the chunk at the given index with its previous or next chunk if it is less than half full
+     * and both fit into one chunk.
+     */
+    private void mergeIfUnderfull(int chunkIndex) {
+        int chunkSize = chunks.get(chunkIndex).size;
+        if (chunkSize >= CHUNK_CAPACITY / 2) {
+            return;
+        }
+        if (chunkIndex > 0 && chunks.get(chunkIndex - 1).size + chunkSize <= CHUNK_CAPACITY) {
+            mergeWithNextChunk(chunkIndex - 1);
+        } else if (chunkIndex + 1 < chunks.size()
+                && chunkSize + chunks.get(chunkIndex + 1).size <= CHUNK_CAPACITY) {
+            mergeWithNextChunk(chunkIndex);
+        }
+    }
+
+    /**
+     * Appends the rows of the chunk following the given one to it and removes the following chunk.
+     */
+    private void mergeWithNextChunk(int chunkIndex) {
+        Chunk chunk = getWritableChunk(chunkIndex);
+        Chunk nextChunk = chunks.get(chunkIndex + 1);
+        chunk.ensureCapacity(chunk.size + nextChunk.size);
+        for (int row = 0; row < nextChunk.size; row++) {
+            chunk.copyRow(nextChunk, row, chunk.size++);
+        }
+        chunks = chunks.with(chunkIndex, chunk).minus(chunkIndex + 1);
+    }
+
+    /**
+     * Puts a chunk whose size changed by the given number of rows into the chunk list again, so that the
+     * list weighs it by its new size.
+     */
+    private void resizeChunk(int chunkIndex, Chunk chunk, int delta) {
+        chunks = chunks.with(chunkIndex, chunk);
+        size += delta;
+    }
+
+    private int chunkStart(int chunkIndex) {
+        return (int) chunks.weightBefore(chunkIndex);
+    }
+
+    private void checkIndex(int position, int length) {
+        if (position < 0 || position >= length) {
+            throw new IndexOutOfBoundsException("Index " + position + " out of bounds for length " + length);
+        }
+    }
+}
@@ -1,27 +1,44 @@
 package seedu.healthmate.core;
-import static seedu.healthmate.core.Meal.extractMealFromString;
+import static seedu.healthmate.core.Meal.extractMeal;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 
 import seedu.healthmate.services.UI;
 import seedu.healthmate.exceptions.BadCalorieException;
 import seedu.healthmate.exceptions.EmptyCalorieException;
+import seedu.healthmate.utils.FenwickTree;
+import seedu.healthmate.utils.ParsedParameters;
+import seedu.healthmate.utils.PersistentList;
 
 /**
  * Represents a list of meals that can be manipulated.
  * Provides methods to add, remove, and manage meals in the list.
+ * <p>
+ * Lookups by meal name go through a hash index from the case-folded name to the slots of the meals carrying
+ * it, folded so that two names share a key exactly if they are {@link String#equalsIgnoreCase} equal. Every
+ * meal keeps its slot while meals before it are deleted; a {@link FenwickTree} counting the slots still in
+ * use translates between slots and positions in O(log n). The index is built on the first lookup, and
+ * appends and deletions only update the entry of the affected name.
+ * <p>
+ * The meals are held in a {@link PersistentList}, so every change creates a new version of the list that
+ * shares all unchanged structure with the previous one. {@link #getMealList()} hands out these versions
+ * without copying them, and {@link #restoreMealList(List)} returns to an earlier version, e.g. to undo changes.
  */
 public class MealList {
 
-    protected ArrayList<Meal> mealList;
+    protected PersistentList<Meal> mealList;
+    private HashMap<String, List<Integer>> nameIndex;
+    private FenwickTree indexedSlots;
+    private int slotCount;
 
     /**
      * Constructs an empty MealList.
      */
     public MealList() {
-        this.mealList = new ArrayList<Meal>();
+        this.mealList = PersistentList.empty();
     }
 
     /**
@@ -29,7 +46,7 @@ public class MealList {
      * @param mealList The ArrayList of meals to initialize with
      */
     public MealList(ArrayList<Meal> mealList) {
-        this.mealList = mealList;
+        this.mealList = PersistentList.of(mealList);
     }
 
     /**
@@ -41,11 +58,12 @@ public class MealList {
      */
     public void extractAndAppendMeal(String userInput, String command, MealList mealOptions, User user) {
         try {
-            if (userInput.contains(",")) {
+            ParsedParameters parameters = ParsedParameters.parse(userInput);
+            if (parameters.containsComma()) {
                 UI.printReply("Meal entry should not include commas", "Retry: ");
                 return;
             }
-            Meal meal = extractMealFromString(userInput, command);
+            Meal meal = extractMeal(parameters, command);
 
             if (meal.descriptionIsEmpty()) {
                 UI.printReply("Meal options require a name", "Retry: ");
@@ -85,7 +103,18 @@ public class MealList {
      * @param meal The meal to be added
      */
     public void addMealWithoutCLIMessage(Meal meal) {
-        this.mealList.add(meal);
+        this.mealList = this.mealList.plus(meal);
+        indexMealName(meal);
+    }
+
+    /**
+     * Removes a meal from the list without displaying CLI messages.
+     * @param mealNumber The 1-based index of the meal to remove
+     */
+    public void removeMealWithoutCLIMessage(int mealNumber) {
+        Meal mealToRemove = this.mealList.get(mealNumber - 1);
+        this.mealList = this.mealList.minus(mealNumber - 1);
+        unindexMealName(mealNumber - 1, mealToRemove);
     }
 
     /**
@@ -93,7 +122,8 @@ public class MealList {
      * @param meal The meal to be added
      */
     public void addMeal(Meal meal) {
-        this.mealList.add(meal);
+        this.mealList = this.mealList.plus(meal);
+        indexMealName(meal);
         UI.printReply(meal.toString(), "Added to options: ");
     }
 
@@ -105,27 +135,48 @@ public class MealList {
     //@@author DarkDragoon2002
     public void deleteMeal(int mealNumber) {
         Meal mealToDelete = this.mealList.get(mealNumber - 1);
-        this.mealList.remove(mealNumber - 1);
+        this.mealList = this.mealList.minus(mealNumber - 1);
+        unindexMealName(mealNumber - 1, mealToDelete);
         UI.printReply(mealToDelete.toString(), "Deleted option: ");
     }
     //@@author
 
+    /**
+     * Returns the current version of the meals in menu order, without copying them.
+     * @return The meals as they are now, unaffected by later changes to this list
+     */
     public List<Meal> getMealList() {
-        return new ArrayList<>(mealList);
+        return this.mealList;
     }
 
     /**
-     * Retrieves the calories for a meal by its name.
+     * Replaces all meals of this list with an earlier version returned by {@link #getMealList()}.
+     * @param meals The meals in order
+     */
+    public void restoreMealList(List<Meal> meals) {
+        this.mealList = PersistentList.of(meals);
+        invalidateNameIndex();
+    }
+
+    /**
+     * Retrieves the calories for a meal by its name, ignoring case.
      * @param mealName The name of the meal to look up
-     * @return Optional containing the calories if found, empty otherwise
+     * @return Optional containing the calories of the first meal with that name if found, empty otherwise
      */
     public Optional<Integer> getCaloriesByMealName(String mealName) {
-        for (Meal meal : mealList) {
-            if (meal.getName().isPresent() && meal.getName().get().equalsIgnoreCase(mealName)) {
-                return Optional.of(meal.getCalories());
-            }
-        }
-        return Optional.empty();
+        List<Integer> slots = getNameIndex().get(toNameKey(Optional.of(mealName)));
+        return slots == null
+                ? Optional.empty()
+                : Optional.of(this.mealList.get(toPosition(slots.get(0))).getCalories());
+    }
+
+    /**
+     * Checks if a meal with exactly the given name is in the list.
+     * @param name The name to look up
+     * @return true if a meal carries the name, false otherwise
+     */
+    public boolean containsMealName(Optional<String> name) {
+        return findMealPosition(name).isPresent();
     }
 
     /**
@@ -143,16 +194,101 @@ public class MealList {
 
     /**
      * Updates an existing meal in the list with new information.
+     * The first meal with exactly the same name is replaced in place.
      * @param newMeal The meal containing updated information
      */
     public void updateMeal(Meal newMeal) {
-        for (int i = 0; i < mealList.size(); i++) {
-            if (mealList.get(i).getName().equals(newMeal.getName())) {
-                mealList.remove(i);
-                mealList.add(i, newMeal);
-                break;
+        findMealPosition(newMeal.getName())
+                .ifPresent(position -> this.mealList = this.mealList.with(position, newMeal));
+    }
+
+    /**
+     * Adds a meal appended to the backing list to the name index, if the index was built.
+     * @param meal The meal appended last
+     */
+    protected void indexMealName(Meal meal) {
+        if (this.nameIndex == null) {
+            return;
+        }
+        if (this.slotCount == this.indexedSlots.size()) {
+            // Out of slots: rebuild, which also drops the slots of deleted meals
+            invalidateNameIndex();
+            return;
+        }
+        this.indexedSlots.add(this.slotCount, 1);
+        this.nameIndex.computeIfAbsent(toNameKey(meal.getName()), key -> new ArrayList<>()).add(this.slotCount);
+        this.slotCount++;
+    }
+
+    /**
+     * Removes a meal deleted from the backing list from the name index, if the index was built.
+     * @param position The position the meal was deleted from
+     * @param meal The deleted meal
+     */
+    protected void unindexMealName(int position, Meal meal) {
+        if (this.nameIndex == null) {
+            return;
+        }
+        int slot = this.indexedSlots.findFirstExceeding(position);
+        this.indexedSlots.add(slot, -1);
+        String key = toNameKey(meal.getName());
+        List<Integer> slots = this.nameIndex.get(key);
+        slots.remove(Integer.valueOf(slot));
+        if (slots.isEmpty()) {
+            this.nameIndex.remove(key);
+        }
+    }
+
+    /**
+     * Discards the name index after the meals were replaced, so that it is rebuilt on the next lookup.
+     */
+    protected void invalidateNameIndex() {
+        this.nameIndex = null;
+        this.indexedSlots = null;
+    }
+
+    private Optional<Integer> findMealPosition(Optional<String> name) {
+        List<Integer> slots = getNameIndex().get(toNameKey(name));
+        if (slots == null) {
+            return Optional.empty();
+        }
+        return slots.stream()
+                .map(this::toPosition)
+                .filter(position -> this.mealList.get(position).getName().equals(name))
+                .findFirst();
+    }
+
+    private int toPosition(int slot) {
+        return (int) this.indexedSlots.prefixSum(slot - 1);
+    }
+
+    private HashMap<String, List<Integer>> getNameIndex() {
+        if (this.nameIndex == null) {
+            int size = this.mealList.size();
+            long[] usedSlots = new long[Math.max(16, 2 * size)];
+            this.nameIndex = new HashMap<>();
+            int slot = 0;
+            for (Meal meal : this.mealList) {
+                usedSlots[slot] = 1;
+                this.nameIndex.computeIfAbsent(toNameKey(meal.getName()), key -> new ArrayList<>()).add(slot++);
             }
+            this.indexedSlots = new FenwickTree(usedSlots);
+            this.slotCount = size;
         }
+        return this.nameIndex;
+    }
+
+    /**
+     * Case-folds a meal name into its index key by mapping every code point to the lower case of its upper
+     * case, the same comparison {@link String#equalsIgnoreCase} makes. Meals without a name are indexed under
+     * the null key, which no name looked up ever folds to.
+     */
+    private static String toNameKey(Optional<String> name) {
+        return name.map(presentName -> presentName.codePoints()
+                .map(codePoint -> Character.toLowerCase(Character.toUpperCase(codePoint)))
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString())
+                .orElse(null);
     }
 
 }
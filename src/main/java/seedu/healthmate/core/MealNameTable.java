@@ -0,0 +1,104 @@
+package seedu.healthmate.core;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary interning meal names into dense integer ids.
+ * Users log the same few meal names over and over, so meal options, meal entries and their columns all refer
+ * to names through the {@link #getShared() shared} table: every distinct name is held once, as a single
+ * {@code Optional} instance, however often it is logged. Storage backends can create tables of their own to
+ * dictionary-encode the names of the meals they write.
+ * <p>
+ * Ids are assigned in the order names are first seen and never change; unnamed meals share the id
+ * {@link #NO_NAME_ID}. Names may be interned and looked up concurrently, e.g. by parallel CSV parsing.
+ */
+public class MealNameTable {
+    public static final int NO_NAME_ID = -1;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final MealNameTable SHARED = new MealNameTable();
+
+    private final ConcurrentHashMap<String, Integer> ids;
+    private volatile Optional<String>[] names;
+    private int size;
+
+    public MealNameTable() {
+        this.ids = new ConcurrentHashMap<>();
+        @SuppressWarnings("unchecked")
+        Optional<String>[] initialNames = (Optional<String>[]) new Optional<?>[INITIAL_CAPACITY];
+        this.names = initialNames;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the table shared by all meal lists of the application.
+     * @return The shared table
+     */
+    public static MealNameTable getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the id of a name, assigning the next free id if the name was not seen before.
+     * @param name The meal name
+     * @return The id of the name, {@link #NO_NAME_ID} for unnamed meals
+     */
+    public int intern(Optional<String> name) {
+        if (name.isEmpty()) {
+            return NO_NAME_ID;
+        }
+        Integer id = ids.get(name.get());
+        return id != null ? id : assignId(name);
+    }
+
+    /**
+     * Returns the instance of a name held by this table, interning the name if it was not seen before.
+     * @param name The meal name
+     * @return An equal name that is shared by all meals carrying it
+     */
+    public Optional<String> internName(Optional<String> name) {
+        return getName(intern(name));
+    }
+
+    /**
+     * Looks up the id of a name without interning it.
+     * @param name The meal name
+     * @return The id of the name, or an empty Optional if the name was never interned
+     */
+    public Optional<Integer> findId(Optional<String> name) {
+        return name.isEmpty() ? Optional.of(NO_NAME_ID) : Optional.ofNullable(ids.get(name.get()));
+    }
+
+    /**
+     * Returns the name interned under an id. Names of the same id share a single Optional instance.
+     * @param id The id of the name
+     * @return The name, or an empty Optional for {@link #NO_NAME_ID}
+     */
+    public Optional<String> getName(int id) {
+        return id == NO_NAME_ID ? Optional.empty() : names[id];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Assigns the next id to a name. The name is stored before its id is published, so any thread that
+     * obtained the id can look the name up.
+     */
+    private synchronized int assignId(Optional<String> name) {
+        Integer id = ids.get(name.get());
+        if (id != null) {
+            return id;
+        }
+        Optional<String>[] currentNames = names;
+        if (size == currentNames.length) {
+            currentNames = Arrays.copyOf(currentNames, size * 2);
+        }
+        currentNames[size] = name;
+        names = currentNames;
+        ids.put(name.get(), size);
+        return size++;
+    }
+}
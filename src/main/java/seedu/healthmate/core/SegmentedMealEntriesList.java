@@ -0,0 +1,310 @@
+package seedu.healthmate.core;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A {@code MealEntriesList} whose entries are partitioned into time segments that are only read on demand.
+ * Date range queries, which back the daily and historic calorie progress, read just the segments
+ * overlapping the queried range.
+ * <p>
+ * Entries appended after loading are kept in heap columns behind the segments. The first operation that needs
+ * the whole log in order (e.g. listing or deleting an entry) reads all remaining segments and merges them
+ * into log order, after which this list behaves exactly like a plain {@code MealEntriesList}.
+ * Snapshots of the entries taken before that are views that only read the segments once they are accessed,
+ * so that e.g. capturing the state for undo does not read the whole log.
+ */
+public class SegmentedMealEntriesList extends MealEntriesList {
+
+    /**
+     * The entries of one time segment, read lazily and cached once read.
+     */
+    public static class Segment {
+        private final LocalDate start;
+        private final LocalDate end;
+        private final Supplier<List<Meal>> reader;
+        private List<Meal> meals;
+
+        /**
+         * Constructs a segment covering the dates from {@code start} (inclusive) to {@code end} (exclusive).
+         * @param start The first date covered by the segment
+         * @param end The first date after the segment
+         * @param reader Reads the entries of the segment
+         */
+        public Segment(LocalDate start, LocalDate end, Supplier<List<Meal>> reader) {
+            this.start = start;
+            this.end = end;
+            this.reader = reader;
+        }
+
+        private List<Meal> getMeals() {
+            if (meals == null) {
+                meals = reader.get();
+            }
+            return meals;
+        }
+
+        /**
+         * Returns the cached entries, or reads them without caching them.
+         */
+        private List<Meal> readMeals() {
+            return meals != null ? meals : reader.get();
+        }
+    }
+
+    /**
+     * The entries read from the segments, in log order. Shared by all views handed out before the list was
+     * materialized and only filled in by materializing it.
+     */
+    private static class LoadedEntries {
+        private List<Meal> meals;
+    }
+
+    /**
+     * Immutable view of the entries of the segments followed by a snapshot of the entries appended so far.
+     * The segments never change before the list is materialized, so they are only read once the view is
+     * accessed, by materializing the list.
+     */
+    private class SegmentedView extends AbstractList<Meal> implements RandomAccess {
+        private final LoadedEntries loadedEntries;
+        private final List<Meal> appendedEntries;
+
+        private SegmentedView(LoadedEntries loadedEntries, List<Meal> appendedEntries) {
+            this.loadedEntries = loadedEntries;
+            this.appendedEntries = appendedEntries;
+        }
+
+        @Override
+        public Meal get(int index) {
+            List<Meal> loadedMeals = getLoadedMeals();
+            return index < loadedMeals.size()
+                    ? loadedMeals.get(index)
+                    : appendedEntries.get(index - loadedMeals.size());
+        }
+
+        @Override
+        public int size() {
+            return getLoadedMeals().size() + appendedEntries.size();
+        }
+
+        private List<Meal> getLoadedMeals() {
+            if (loadedEntries.meals == null) {
+                materialize();
+            }
+            return loadedEntries.meals;
+        }
+    }
+
+    private final NavigableMap<LocalDate, Segment> segments;
+    private final Comparator<Meal> logOrder;
+    private boolean isMaterialized;
+    private LoadedEntries loadedEntries;
+    private SegmentedView view;
+
+    /**
+     * Constructs a list over the given non-overlapping segments.
+     * @param segments The segments holding the entries
+     * @param logOrder Orders entries read from different segments by their position in the meal log
+     */
+    public SegmentedMealEntriesList(List<Segment> segments, Comparator<Meal> logOrder) {
+        super();
+        this.segments = new TreeMap<>();
+        for (Segment segment : segments) {
+            this.segments.put(segment.start, segment);
+        }
+        this.logOrder = logOrder;
+        this.isMaterialized = false;
+        this.loadedEntries = new LoadedEntries();
+    }
+
+    /**
+     * Collects the entries within the date range, reading only the segments overlapping it.
+     * @param lowerDateBound The inclusive lower bound of the date range.
+     * @param upperDateBound The inclusive upper bound of the date range.
+     * @return A {@code MealEntriesList} containing meals that fall within the specified date range.
+     */
+    @Override
+    public MealEntriesList getMealEntriesByDate(LocalDateTime lowerDateBound, LocalDateTime upperDateBound) {
+        if (isMaterialized) {
+            return super.getMealEntriesByDate(lowerDateBound, upperDateBound);
+        }
+        LocalDate lowerDate = lowerDateBound.toLocalDate();
+        LocalDate firstStart = Optional.ofNullable(segments.floorKey(lowerDate)).orElse(lowerDate);
+        ArrayList<Meal> filteredMeals = new ArrayList<>();
+        if (!firstStart.isAfter(upperDateBound.toLocalDate())) {
+            for (Segment segment : segments.subMap(firstStart, true, upperDateBound.toLocalDate(), true).values()) {
+                if (segment.end.isAfter(lowerDate)) {
+                    addMealsWithinDates(segment.getMeals(), lowerDateBound, upperDateBound, filteredMeals);
+                }
+            }
+        }
+        filteredMeals.addAll(super.getMealEntriesByDate(lowerDateBound, upperDateBound).getMealEntries());
+        return new MealEntriesList(filteredMeals);
+    }
+
+    /**
+     * Reads the segments overlapping the date range one after another without caching them, so that at most
+     * one segment is held in memory at a time. The entries are passed on segment by segment, followed by the
+     * entries appended since loading, rather than in log order.
+     */
+    @Override
+    public void forEachEntryBetween(LocalDateTime lowerDateBound, LocalDateTime upperDateBound,
+                                    Consumer<MealEntry> action) {
+        if (!isMaterialized && !lowerDateBound.isAfter(upperDateBound)) {
+            LocalDate lowerDate = lowerDateBound.toLocalDate();
+            LocalDate firstStart = Optional.ofNullable(segments.floorKey(lowerDate)).orElse(lowerDate);
+            for (Segment segment : segments.subMap(firstStart, true, upperDateBound.toLocalDate(), true).values()) {
+                if (!segment.end.isAfter(lowerDate)) {
+                    continue;
+                }
+                for (Meal meal : segment.readMeals()) {
+                    if (meal.isAfterEqualDate(lowerDateBound) && meal.isBeforeEqualDate(upperDateBound)) {
+                        action.accept((MealEntry) meal);
+                    }
+                }
+            }
+        }
+        super.forEachEntryBetween(lowerDateBound, upperDateBound, action);
+    }
+
+    @Override
+    public int size() {
+        materialize();
+        return super.size();
+    }
+
+    @Override
+    public String toMealStringByIndex(int mealIndex) {
+        materialize();
+        return super.toMealStringByIndex(mealIndex);
+    }
+
+    @Override
+    public int getTotalCaloriesConsumed() {
+        materialize();
+        return super.getTotalCaloriesConsumed();
+    }
+
+    @Override
+    public Optional<MealEntry> getMaxCaloriesConsumed() {
+        materialize();
+        return super.getMaxCaloriesConsumed();
+    }
+
+    @Override
+    public List<Meal> getMealEntries() {
+        return getMealList();
+    }
+
+    /**
+     * Returns a view of the entries without reading the segments, as long as the list was not materialized.
+     * The same view is returned until entries are appended.
+     */
+    @Override
+    public List<Meal> getMealList() {
+        if (isMaterialized) {
+            return super.getMealList();
+        }
+        List<Meal> appendedEntries = super.getMealList();
+        if (view == null || view.appendedEntries != appendedEntries) {
+            view = new SegmentedView(loadedEntries, appendedEntries);
+        }
+        return view;
+    }
+
+    /**
+     * Restores a view of this list taken before it was materialized by restoring only the appended entries,
+     * without reading the segments. Any other list replaces the segments.
+     */
+    @Override
+    public void restoreMealList(List<Meal> mealEntries) {
+        if (!isMaterialized && mealEntries instanceof SegmentedView
+                && ((SegmentedView) mealEntries).loadedEntries == loadedEntries) {
+            super.restoreMealList(((SegmentedView) mealEntries).appendedEntries);
+            return;
+        }
+        if (view != null) {
+            materialize();
+        }
+        segments.clear();
+        isMaterialized = true;
+        super.restoreMealList(mealEntries);
+    }
+
+    @Override
+    public void deleteMeal(int mealNumber) {
+        materialize();
+        super.deleteMeal(mealNumber);
+    }
+
+    @Override
+    public void removeMealWithoutCLIMessage(int mealNumber) {
+        materialize();
+        super.removeMealWithoutCLIMessage(mealNumber);
+    }
+
+    @Override
+    public void extractAndRemoveMeal(String userInput, String command, User user) {
+        materialize();
+        super.extractAndRemoveMeal(userInput, command, user);
+    }
+
+    @Override
+    public void updateMeal(Meal newMeal) {
+        materialize();
+        super.updateMeal(newMeal);
+    }
+
+    @Override
+    public Optional<Integer> getCaloriesByMealName(String mealName) {
+        materialize();
+        return super.getCaloriesByMealName(mealName);
+    }
+
+    /**
+     * Reads all segments, merges them into log order and appends the entries added since loading.
+     * If views were handed out, they keep sharing a snapshot of the merged segment entries.
+     */
+    @Override
+    protected void materialize() {
+        if (isMaterialized) {
+            return;
+        }
+        ArrayList<Meal> meals = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            meals.addAll(segment.getMeals());
+        }
+        meals.sort(logOrder);
+        MealEntryColumns entries = MealEntryColumns.of(meals, getEntries().getNames());
+        if (view != null) {
+            loadedEntries.meals = entries.snapshot();
+        }
+        for (Meal meal : getEntries().snapshot()) {
+            entries.add(meal);
+        }
+        setEntries(entries);
+        segments.clear();
+        loadedEntries = null;
+        view = null;
+        isMaterialized = true;
+    }
+
+    private static void addMealsWithinDates(List<Meal> meals, LocalDateTime lowerDateBound,
+                                            LocalDateTime upperDateBound, List<Meal> filteredMeals) {
+        for (Meal meal : meals) {
+            if (meal.isAfterEqualDate(lowerDateBound) && meal.isBeforeEqualDate(upperDateBound)) {
+                filteredMeals.add(meal);
+            }
+        }
+    }
+}
@@ -159,10 +159,26 @@ public class User {
         return this.localDateTime;
     }
 
+    public double getHeight() {
+        return this.heightEntry;
+    }
+
     public double getWeight() {
         return this.weightEntry;
     }
 
+    public boolean isMale() {
+        return this.isMale;
+    }
+
+    public int getAge() {
+        return this.age;
+    }
+
+    public double getIdealCalories() {
+        return this.idealCalories;
+    }
+
     private static Double askForHeight(Scanner scanner) {
         UI.printString("Height in cm (e.g. 180):");
         try {
@@ -0,0 +1,279 @@
+package seedu.healthmate.services;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import seedu.healthmate.core.MappedMealEntriesList;
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.core.MealNameTable;
+import seedu.healthmate.utils.AtomicFileWriter;
+
+/**
+ * Reads and writes meal entries in a binary, column oriented format.
+ * <p>
+ * Layout (big endian): a header of magic number, format version, entry count, dictionary size
+ * and journal checkpoint (epoch and record count, since version 2), followed by the primitive columns
+ * {@code long[] epochSeconds}, {@code int[] nanos}, {@code int[] calories}, {@code int[] nameIds}
+ * and {@code int[] portions} (since version 3), and finally the name dictionary as length-prefixed UTF-8 strings.
+ * A name id of -1 denotes a meal entry without a name. Timestamps are stored as UTC epoch seconds
+ * plus nanoseconds, so converting from and to CSV is lossless.
+ */
+public class BinaryMealEntryStore {
+    public static final int MAGIC_NUMBER = 0x484D4D45; // "HMME"
+    public static final int FORMAT_VERSION = 3;
+    public static final int HEADER_BYTES = 6 * Integer.BYTES;
+    public static final int BYTES_PER_ENTRY = Long.BYTES + 4 * Integer.BYTES;
+    public static final int LEGACY_BYTES_PER_ENTRY = Long.BYTES + 3 * Integer.BYTES;
+    public static final int NO_NAME_ID = MealNameTable.NO_NAME_ID;
+
+    /**
+     * The decoded header of a binary meal entries file.
+     */
+    private static class Header {
+        private final int version;
+        private final int count;
+        private final int dictionarySize;
+        private final MealEntryJournal.Checkpoint checkpoint;
+
+        private Header(int version, int count, int dictionarySize, MealEntryJournal.Checkpoint checkpoint) {
+            this.version = version;
+            this.count = count;
+            this.dictionarySize = dictionarySize;
+            this.checkpoint = checkpoint;
+        }
+
+        private boolean hasPortions() {
+            return version >= 3;
+        }
+
+        private int getBytesPerEntry() {
+            return hasPortions() ? BYTES_PER_ENTRY : LEGACY_BYTES_PER_ENTRY;
+        }
+    }
+
+    /**
+     * Atomically replaces a binary file with the given meal entries.
+     * @param meals The meal entries to write
+     * @param file The file to write to
+     * @param checkpoint The journal checkpoint the written meal entries correspond to
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(List<Meal> meals, File file, MealEntryJournal.Checkpoint checkpoint)
+            throws IOException {
+        int count = meals.size();
+        long[] epochSeconds = new long[count];
+        int[] nanos = new int[count];
+        int[] calories = new int[count];
+        int[] nameIds = new int[count];
+        int[] portions = new int[count];
+        MealNameTable dictionary = new MealNameTable();
+
+        for (int i = 0; i < count; i++) {
+            MealEntry mealEntry = (MealEntry) meals.get(i);
+            LocalDateTime timestamp = mealEntry.getTimestamp();
+            epochSeconds[i] = timestamp.toEpochSecond(ZoneOffset.UTC);
+            nanos[i] = timestamp.getNano();
+            calories[i] = mealEntry.getCalories();
+            nameIds[i] = dictionary.intern(mealEntry.getName());
+            portions[i] = mealEntry.getPortions();
+        }
+
+        // Replacing the file instead of truncating it also keeps lists still mapping the old file valid
+        AtomicFileWriter.write(file, fileOut -> {
+            DataOutputStream out = new DataOutputStream(fileOut);
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(count);
+            out.writeInt(dictionary.size());
+            out.writeInt(checkpoint.getEpoch());
+            out.writeInt(checkpoint.getRecordCount());
+            for (long epochSecond : epochSeconds) {
+                out.writeLong(epochSecond);
+            }
+            for (int nano : nanos) {
+                out.writeInt(nano);
+            }
+            for (int calorie : calories) {
+                out.writeInt(calorie);
+            }
+            for (int nameId : nameIds) {
+                out.writeInt(nameId);
+            }
+            for (int portion : portions) {
+                out.writeInt(portion);
+            }
+            for (int nameId = 0; nameId < dictionary.size(); nameId++) {
+                byte[] nameBytes = dictionary.getName(nameId).orElseThrow().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(nameBytes.length);
+                out.write(nameBytes);
+            }
+            out.flush();
+        });
+    }
+
+    /**
+     * Reads all meal entries of a binary file with a single bulk read.
+     * Files written before portions were stored hold one row per portion and are read as such.
+     * @param file The file to read from
+     * @return The meal entries in the order they were written
+     * @throws IOException if the file cannot be read or is not a valid binary meal entries file
+     */
+    public static List<Meal> read(File file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        try {
+            Header header = readHeader(buffer);
+            int count = header.count;
+            int columnsStart = buffer.position();
+            String[] dictionary = readDictionary(buffer, columnsStart + count * header.getBytesPerEntry(),
+                    header.dictionarySize);
+
+            List<Meal> meals = new ArrayList<>(count);
+            int nanosStart = columnsStart + count * Long.BYTES;
+            int caloriesStart = nanosStart + count * Integer.BYTES;
+            int nameIdsStart = caloriesStart + count * Integer.BYTES;
+            int portionsStart = nameIdsStart + count * Integer.BYTES;
+            for (int i = 0; i < count; i++) {
+                long epochSecond = buffer.getLong(columnsStart + i * Long.BYTES);
+                int nano = buffer.getInt(nanosStart + i * Integer.BYTES);
+                int calories = buffer.getInt(caloriesStart + i * Integer.BYTES);
+                int nameId = buffer.getInt(nameIdsStart + i * Integer.BYTES);
+                int portions = header.hasPortions() ? buffer.getInt(portionsStart + i * Integer.BYTES) : 1;
+                Optional<String> name = nameId == NO_NAME_ID
+                        ? Optional.empty()
+                        : MealNameTable.getShared().internName(Optional.of(dictionary[nameId]));
+                LocalDateTime timestamp = LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+                meals.add(new MealEntry(name, calories, timestamp, portions));
+            }
+            return meals;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException
+                | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Binary meal entries file is truncated or corrupted");
+        }
+    }
+
+    /**
+     * Opens a binary meal entries file. Files with a portions column are memory-mapped, see {@link #map(File)}.
+     * Older files hold one row per portion, so they are read in full and repeated rows are collapsed into
+     * entries of several portions.
+     * @param file The file to open
+     * @return The meal entries of the file
+     * @throws IOException if the file cannot be read or is not a valid binary meal entries file
+     */
+    public static MealEntriesList open(File file) throws IOException {
+        if (readHeader(file).hasPortions()) {
+            return map(file);
+        }
+        return new MealEntriesList(HistoryTracker.collapsePortions(read(file)));
+    }
+
+    /**
+     * Memory-maps a binary meal entries file. Only the header and the name dictionary are decoded eagerly,
+     * all entries are decoded on access.
+     * @param file The file to map
+     * @return A meal entries list backed by the mapped file
+     * @throws IOException if the file cannot be mapped, has no portions column
+     *     or is not a valid binary meal entries file
+     */
+    public static MappedMealEntriesList map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Header header = readHeader(buffer);
+            if (!header.hasPortions()) {
+                throw new IOException("Binary meal entries version " + header.version + " cannot be mapped");
+            }
+            int count = header.count;
+            int columnsStart = buffer.position();
+            long columnsEnd = columnsStart + (long) count * BYTES_PER_ENTRY;
+            if (columnsEnd > buffer.limit()) {
+                throw new IOException("Binary meal entries file is truncated or corrupted");
+            }
+            String[] dictionary = readDictionary(buffer, (int) columnsEnd, header.dictionarySize);
+            ByteBuffer columns = buffer.position(columnsStart).limit((int) columnsEnd).slice();
+            return new MappedMealEntriesList(columns, count, dictionary);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException
+                | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Binary meal entries file is truncated or corrupted");
+        }
+    }
+
+    /**
+     * Reads only the header of a binary meal entries file to obtain its journal checkpoint.
+     * @param file The file to read from
+     * @return The checkpoint stored in the file
+     * @throws IOException if the file cannot be read or is not a valid binary meal entries file
+     */
+    public static MealEntryJournal.Checkpoint readCheckpoint(File file) throws IOException {
+        return readHeader(file).checkpoint;
+    }
+
+    private static Header readHeader(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // keep reading until the header is complete or the file ends
+            }
+            buffer.flip();
+            return readHeader(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Binary meal entries file is truncated or corrupted");
+        }
+    }
+
+    /**
+     * Validates and decodes the header at the start of the buffer, leaving it positioned at the columns.
+     * Version 1 files carry no journal checkpoint, files before version 3 no portions column.
+     * @param buffer The buffer positioned at the start of the file
+     * @return The decoded header
+     * @throws IOException if the header is not a valid binary meal entries header
+     */
+    private static Header readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC_NUMBER) {
+            throw new IOException("Not a binary meal entries file");
+        }
+        int version = buffer.getInt();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IOException("Unsupported binary meal entries version: " + version);
+        }
+        int count = buffer.getInt();
+        int dictionarySize = buffer.getInt();
+        if (count < 0 || dictionarySize < 0) {
+            throw new IOException("Binary meal entries file is corrupted");
+        }
+        MealEntryJournal.Checkpoint checkpoint = version == 1
+                ? MealEntryJournal.Checkpoint.NONE
+                : new MealEntryJournal.Checkpoint(buffer.getInt(), buffer.getInt());
+        return new Header(version, count, dictionarySize, checkpoint);
+    }
+
+    /**
+     * Decodes the name dictionary stored after the columns.
+     * @param buffer The buffer holding the whole file
+     * @param dictionaryStart The byte offset of the dictionary
+     * @param dictionarySize The number of names in the dictionary
+     * @return The names indexed by their name id
+     */
+    private static String[] readDictionary(ByteBuffer buffer, int dictionaryStart, int dictionarySize) {
+        String[] dictionary = new String[dictionarySize];
+        buffer.position(dictionaryStart);
+        for (int i = 0; i < dictionarySize; i++) {
+            byte[] nameBytes = new byte[buffer.getInt()];
+            buffer.get(nameBytes);
+            dictionary[i] = new String(nameBytes, StandardCharsets.UTF_8);
+        }
+        return dictionary;
+    }
+}
@@ -0,0 +1,53 @@
+package seedu.healthmate.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.utils.Pair;
+
+/**
+ * Storage backend keeping the meal entries snapshot in the binary columnar {@code meal_entries.bin}.
+ * The snapshot is memory-mapped when read and its entries are decoded lazily, see {@link BinaryMealEntryStore}.
+ */
+public class BinaryStorage extends FileStorage {
+    private final File mealEntriesFile;
+
+    public BinaryStorage(File dataDirectory) {
+        super(dataDirectory);
+        this.mealEntriesFile = new File(dataDirectory, StorageFormat.BINARY.getMealEntriesFileName());
+    }
+
+    @Override
+    public boolean hasMealEntries() {
+        return mealEntriesFile.exists();
+    }
+
+    @Override
+    public MealEntryJournal.Checkpoint readMealEntryCheckpoint() throws IOException {
+        return BinaryMealEntryStore.readCheckpoint(mealEntriesFile);
+    }
+
+    @Override
+    public Pair<MealEntriesList, Integer> readMealEntries() throws IOException {
+        return new Pair<>(BinaryMealEntryStore.open(mealEntriesFile), 0);
+    }
+
+    @Override
+    public void writeMealEntries(List<Meal> mealEntries, MealEntryJournal.Checkpoint checkpoint) throws IOException {
+        BinaryMealEntryStore.write(mealEntries, mealEntriesFile, checkpoint);
+        writeDailyRollups(mealEntries, checkpoint);
+    }
+
+    @Override
+    public void deleteMealEntries() {
+        mealEntriesFile.delete();
+    }
+
+    @Override
+    public File[] getMealEntryFiles() {
+        return new File[] {mealEntriesFile};
+    }
+}
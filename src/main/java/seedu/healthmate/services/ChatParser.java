@@ -1,31 +1,22 @@
 package seedu.healthmate.services;
 
+import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandMap;
 import seedu.healthmate.command.CommandPair;
-import seedu.healthmate.command.commands.MealLogCommand;
-import seedu.healthmate.command.commands.SaveMealCommand;
-import seedu.healthmate.command.commands.ListCommandsCommand;
-import seedu.healthmate.command.commands.AddMealEntryCommand;
-import seedu.healthmate.command.commands.DeleteMealCommand;
-import seedu.healthmate.command.commands.DeleteMealEntryCommand;
-import seedu.healthmate.command.commands.MealMenuCommand;
-import seedu.healthmate.command.commands.UpdateUserDataCommand;
-import seedu.healthmate.command.commands.ClearUserDataCommand;
-import seedu.healthmate.command.commands.TodayCalorieProgressCommand;
-import seedu.healthmate.command.commands.HistoricCalorieProgressCommand;
-import seedu.healthmate.command.commands.CurrentUserDataCommand;
-import seedu.healthmate.command.commands.MealRecommendationsCommand;
-import seedu.healthmate.command.commands.WeightTimelineCommand;
-import seedu.healthmate.command.commands.ByeCommand;
 
+import seedu.healthmate.core.Meal;
 import seedu.healthmate.core.MealEntriesList;
 import seedu.healthmate.core.MealList;
 import seedu.healthmate.core.User;
 import seedu.healthmate.utils.Logging;
+import seedu.healthmate.utils.Pair;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.Scanner;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.IntStream;
 
 /**
  * Encapsulates the main logic of the application by parsing user input into objects
@@ -33,11 +24,14 @@ import java.util.stream.IntStream;
  */
 public class ChatParser {
 
+    private static final String SCRIPT_COMMENT = "#";
+
     private static Logger logger = Logger.getLogger(ChatParser.class.getName());
     private MealEntriesList mealEntries;
     private MealList mealOptions;
     private final HistoryTracker historyTracker;
     private final UserHistoryTracker userHistoryTracker;
+    private final UndoHistory undoHistory = new UndoHistory();
 
     public ChatParser(){
         Logging.setupLogger(logger, ChatParser.class.getName());
@@ -48,6 +42,7 @@ public class ChatParser {
         logger.log(Level.INFO, "Initialized HistoryTracker");
 
         this.mealEntries = historyTracker.loadMealEntries(false);
+        historyTracker.compactMealEntryJournal(this.mealEntries);
         logger.log(Level.INFO, "Loaded MealEntries");
 
         this.mealOptions = historyTracker.loadMealOptions(false);
@@ -91,33 +86,85 @@ public class ChatParser {
      */
     public void parseUserInput(User user) {
         Scanner scanner = new Scanner(System.in);
-        String userInput = "";
+        boolean isExit = false;
 
-        while (!userInput.equals(ByeCommand.COMMAND)) {
+        while (!isExit) {
             logger.log(Level.INFO, "Getting next user input line");
-            userInput = scanner.nextLine().strip();
+            String userInput = scanner.nextLine().strip();
             logger.log(Level.INFO, "User input is: " + userInput);
-            if (userInput.equals(ByeCommand.COMMAND)) {
-                logger.log(Level.INFO, "User closes application");
-                UI.printFarewell();
-            } else {
-                try {
-                    logger.log(Level.INFO, "Start multicCommandParsing");
-                    this.multiCommandParsing(userInput, user);
-                } catch (ArrayIndexOutOfBoundsException a) {
-                    logger.log(Level.WARNING, "Invalid command", a);
-                    UI.printReply("Invalid command", "Retry: ");
+            isExit = this.executeUserInput(userInput, user);
+        }
+    }
+
+    /**
+     * Executes the commands of a script non-interactively until its end or a "bye" line.
+     * The meal lists are loaded once and kept in memory for all commands. Their changes are written once
+     * at the end of the script and, if requested, every given number of commands, instead of after every command.
+     * Blank lines and lines starting with "#" are skipped.
+     * @param script The scanner reading the commands, one per line.
+     * @param checkpointInterval The number of commands after which changes are written, 0 to write them only
+     *     at the end of the script.
+     */
+    public void runBatch(Scanner script, int checkpointInterval) {
+        assert checkpointInterval >= 0 : "Checkpoint interval should not be negative";
+        Optional<User> user = this.userHistoryTracker.getLatestUser();
+        if (user.isEmpty()) {
+            logger.log(Level.WARNING, "No user data found for batch run");
+            UI.printReply("Create a user profile interactively before running commands in batch mode", "Error: ");
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        int commandCount = 0;
+        this.historyTracker.deferSaves();
+        try {
+            while (script.hasNextLine()) {
+                String userInput = script.nextLine().strip();
+                if (userInput.isEmpty() || userInput.startsWith(SCRIPT_COMMENT)) {
+                    continue;
+                }
+                if (this.executeUserInput(userInput, user.get())) {
+                    break;
+                }
+                commandCount++;
+                if (checkpointInterval > 0 && commandCount % checkpointInterval == 0) {
+                    logger.log(Level.INFO, "Saving batch checkpoint after " + commandCount + " commands");
+                    this.historyTracker.flushDeferredSaves(mealOptions, mealEntries, true);
                 }
             }
+        } finally {
+            this.historyTracker.flushDeferredSaves(mealOptions, mealEntries, false);
+        }
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        UI.printReply("Executed " + commandCount + " command(s) in " + elapsedMillis + " ms", "Batch: ");
+    }
+
+    /**
+     * Executes a single line of user input, reporting malformed commands instead of failing.
+     * @param userInput The stripped, non-empty user input.
+     * @param user The user profile connected with the current application run.
+     * @return true if the command ends the application.
+     */
+    private boolean executeUserInput(String userInput, User user) {
+        try {
+            logger.log(Level.INFO, "Start multicCommandParsing");
+            return this.multiCommandParsing(userInput, user);
+        } catch (ArrayIndexOutOfBoundsException a) {
+            logger.log(Level.WARNING, "Invalid command", a);
+            UI.printReply("Invalid command", "Retry: ");
+            return false;
         }
     }
 
     /**
      * Steers the execution of features activated by the user via multi-token commands.
+     * The command is looked up in the {@link CommandMap} by its main command and executed against the current
+     * meal lists. Changes made by undoable commands are recorded in the undo history.
      * @param userInput String the user's input from the command line.
      * @param user The user profile connected with the current application run.
+     * @return true if the command ends the application.
      */
-    public void multiCommandParsing(String userInput, User user) {
+    public boolean multiCommandParsing(String userInput, User user) {
         assert userInput != null && !userInput.isEmpty() : "User input should not be null or empty";
         assert user != null : "User should not be null in multiCommandParsing";
         user = this.userHistoryTracker.checkForUserData();
@@ -127,61 +174,23 @@ public class ChatParser {
         assert commandPair != null : "CommandPair should not be null";
         logger.log(Level.INFO, "User commands are: " + commandPair);
 
-        String command = commandPair.getMainCommand();
-
-        switch (command.toLowerCase()) {
-        case MealMenuCommand.COMMAND_LOWER:
-            MealMenuCommand.executeCommand(mealOptions, logger);
-            break;
-        case SaveMealCommand.COMMAND_LOWER:
-            SaveMealCommand.executeCommand(historyTracker, mealOptions, userInput, logger);
-            break;
-        case DeleteMealCommand.COMMAND_LOWER:
-            DeleteMealCommand.executeCommand(
-                    historyTracker, mealOptions, userInput, command, logger);
-            break;
-        case DeleteMealEntryCommand.COMMAND_LOWER:
-            DeleteMealEntryCommand.executeCommand(
-                    historyTracker, mealEntries, user, userInput, command, logger);
-            break;
-        case AddMealEntryCommand.COMMAND_LOWER:
-            AddMealEntryCommand.executeCommand(
-                    historyTracker, mealOptions, mealEntries, user, userInput, command, logger);
-            break;
-        case MealLogCommand.COMMAND_LOWER:
-            MealLogCommand.executeCommand(mealEntries, logger);
-            break;
-        case ListCommandsCommand.COMMAND_LOWER:
-            ListCommandsCommand.executeCommand(userInput, command, logger);
-            break;
-        case UpdateUserDataCommand.COMMAND_LOWER:
-            UpdateUserDataCommand.executeCommand(userHistoryTracker, logger);
-            break;
-        case ClearUserDataCommand.COMMAND_LOWER:
-            ClearUserDataCommand.executeCommand(userHistoryTracker, logger);
-            break;
-        case CurrentUserDataCommand.COMMAND_LOWER:
-            CurrentUserDataCommand.executeCommand(userHistoryTracker, logger);
-            break;
-        case TodayCalorieProgressCommand.COMMAND_LOWER:
-            TodayCalorieProgressCommand.executeCommands(mealEntries, user, logger);
-            break;
-        case HistoricCalorieProgressCommand.COMMAND_LOWER:
-            HistoricCalorieProgressCommand.executeCommand(mealEntries, commandPair, user, logger);
-            break;
-        case MealRecommendationsCommand.COMMAND_LOWER:
-            MealRecommendationsCommand.executeCommand(user, logger);
-            break;
-        case WeightTimelineCommand.COMMAND_LOWER:
-            WeightTimelineCommand.executeCommand(userHistoryTracker, logger);
-            break;
-        default:
+        Optional<Command> command = CommandMap.getCommand(commandPair.getMainCommand());
+        if (command.isEmpty()) {
             logger.log(Level.WARNING, "Invalid command received");
             UI.printReply("Use a valid command", "Retry: ");
-            break;
+            return false;
+        }
+
+        boolean isUndoable = command.get().isUndoable();
+        Pair<List<Meal>, List<Meal>> stateBefore = isUndoable ? undoHistory.capture(mealOptions, mealEntries) : null;
+        CommandContext context = new CommandContext(historyTracker, userHistoryTracker, undoHistory,
+                mealOptions, mealEntries, user, logger);
+        command.get().execute(context, commandPair);
+        if (isUndoable) {
+            undoHistory.record(stateBefore, mealOptions, mealEntries);
         }
+        return command.get().isExit();
     }
-    
 
     public UserHistoryTracker getUserHistoryTracker() {
         return this.userHistoryTracker;
@@ -194,6 +203,7 @@ public class ChatParser {
     public void cleanMealLists() {
         this.mealEntries = this.historyTracker.loadEmptyMealEntries();
         this.mealOptions = this.historyTracker.loadEmptyMealOptions();
+        this.undoHistory.clear();
         historyTracker.saveMealOptions(mealOptions);
         historyTracker.saveMealEntries(mealEntries);
     }
@@ -214,23 +224,29 @@ public class ChatParser {
         String commandToken2 = (inputTokens.length > 1) ? inputTokens[1].strip() : "";
         String twoTokenCommand = commandToken1 + (commandToken2.isEmpty() ? "" : " " + commandToken2);
 
-        String[] additionalCommands = IntStream.range(2, inputTokens.length)
-                .boxed()
-                .map(i -> inputTokens[i].strip())
-                .toArray(String[]::new);
+        String[] additionalCommands = new String[Math.max(0, inputTokens.length - 2)];
+        for (int i = 0; i < additionalCommands.length; i++) {
+            additionalCommands[i] = inputTokens[i + 2].strip();
+        }
 
-        return new CommandPair(twoTokenCommand, additionalCommands);
+        return new CommandPair(twoTokenCommand, additionalCommands, userInput);
     }
     //@@author
 
 
     /**
-     * Loads the most recent mealList from the file, to ensure that data is
-     * synchronized between multiple running instances of the app
+     * Reloads the mealLists whose files changed on disk, to ensure that data is
+     * synchronized between multiple running instances of the app.
+     * Changes made before a reload cannot be undone any more.
      */
     private void updateMealLists() {
-        this.mealOptions = historyTracker.loadMealOptions(true);
-        this.mealEntries = historyTracker.loadMealEntries(true);
+        MealList loadedMealOptions = this.mealOptions;
+        MealEntriesList loadedMealEntries = this.mealEntries;
+        this.mealOptions = historyTracker.reloadMealOptionsIfChanged(this.mealOptions);
+        this.mealEntries = historyTracker.reloadMealEntriesIfChanged(this.mealEntries);
+        if (this.mealOptions != loadedMealOptions || this.mealEntries != loadedMealEntries) {
+            this.undoHistory.clear();
+        }
     }
 
     private void assertCheckParserInit() {
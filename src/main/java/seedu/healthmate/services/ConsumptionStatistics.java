@@ -34,11 +34,10 @@ public class ConsumptionStatistics {
 
         LocalDateTime today = DateTimeUtils.currentDate().atTime(23, 59);
         LocalDateTime lastDate = today.minusDays(days);
-        MealEntriesList mealsConsumed = mealEntries.getMealEntriesByDate(lastDate, today);
-        int totalCaloriesConsumed = mealsConsumed.getTotalCaloriesConsumed();
+        int totalCaloriesConsumed = mealEntries.getCaloriesConsumed(lastDate, today);
         int idealCalories = user.getTargetCalories();
         int totalIdealCalories = days * idealCalories;
-        Optional<MealEntry> maxMeal = mealsConsumed.getMaxCaloriesConsumed();
+        Optional<MealEntry> maxMeal = mealEntries.getCalorieSummary(lastDate, today).getHeaviestMeal();
 
         return new ConsumptionStatistics(idealCalories, totalIdealCalories, totalCaloriesConsumed, maxMeal);
     }
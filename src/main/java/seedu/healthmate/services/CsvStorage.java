@@ -0,0 +1,110 @@
+package seedu.healthmate.services;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import seedu.healthmate.core.DailyCalorieRollups;
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.utils.Pair;
+
+/**
+ * Storage backend keeping the meal entries snapshot in {@code meal_entries.csv}.
+ * The first line of the snapshot records the journal checkpoint. Snapshots written since meal entries carry
+ * their portions record the format version in the second line.
+ */
+public class CsvStorage extends FileStorage {
+    private static final String FORMAT_HEADER = "#format," + MealEntryJournal.FORMAT_VERSION;
+
+    private final File mealEntriesFile;
+
+    public CsvStorage(File dataDirectory) {
+        super(dataDirectory);
+        this.mealEntriesFile = new File(dataDirectory, StorageFormat.CSV.getMealEntriesFileName());
+    }
+
+    @Override
+    public boolean hasMealEntries() {
+        return mealEntriesFile.exists();
+    }
+
+    @Override
+    public MealEntryJournal.Checkpoint readMealEntryCheckpoint() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(mealEntriesFile))) {
+            return MealEntryJournal.Checkpoint.fromHeaderLine(reader.readLine());
+        }
+    }
+
+    /**
+     * Reads the snapshot. Snapshots without format version saved one row per portion, so their rows are
+     * collapsed into entries of several portions. Newer snapshots are read as they are, as separately
+     * tracked entries of the same meal at the same time are distinct entries there.
+     * @return A pair of the meal entries and the number of corrupted lines
+     * @throws IOException if the snapshot cannot be read
+     */
+    @Override
+    public Pair<MealEntriesList, Integer> readMealEntries() throws IOException {
+        List<String> headerLines = readHeaderLines();
+        Pair<List<Meal>, Integer> snapshot = ParallelMealCsvReader.read(mealEntriesFile, true, headerLines.size());
+        List<Meal> mealEntries = headerLines.contains(FORMAT_HEADER)
+                ? snapshot.t()
+                : HistoryTracker.collapsePortions(snapshot.t());
+        MealEntriesList mealEntriesList = new MealEntriesList();
+        for (Meal meal : mealEntries) {
+            mealEntriesList.addMealWithoutCLIMessage(meal);
+        }
+        return new Pair<>(mealEntriesList, snapshot.u());
+    }
+
+    /**
+     * Does not keep rollups: the CSV snapshot is read in full anyway, so computing the rollups from
+     * the entries is cheap and also picks up manual edits of the file. Hence they are not written either.
+     * @param checkpoint The journal checkpoint of the meal entries snapshot
+     * @return An empty Optional
+     */
+    @Override
+    public Optional<DailyCalorieRollups> readDailyRollups(MealEntryJournal.Checkpoint checkpoint) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void writeMealEntries(List<Meal> mealEntries, MealEntryJournal.Checkpoint checkpoint) throws IOException {
+        writeMealsToFile(mealEntries, mealEntriesFile, List.of(checkpoint.toHeaderLine(), FORMAT_HEADER));
+    }
+
+    @Override
+    public void deleteMealEntries() {
+        mealEntriesFile.delete();
+    }
+
+    @Override
+    public File[] getMealEntryFiles() {
+        return new File[] {mealEntriesFile};
+    }
+
+    /**
+     * Reads the header lines at the start of the snapshot: the checkpoint, if any, followed by the format version.
+     * Meals never parse as header lines, so snapshots of older versions lacking either are read correctly.
+     * @return The header lines in order
+     * @throws IOException if the snapshot cannot be read
+     */
+    private List<String> readHeaderLines() throws IOException {
+        List<String> headerLines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(mealEntriesFile))) {
+            String line = reader.readLine();
+            if (MealEntryJournal.Checkpoint.isHeaderLine(line)) {
+                headerLines.add(line);
+                line = reader.readLine();
+            }
+            if (FORMAT_HEADER.equals(line)) {
+                headerLines.add(line);
+            }
+        }
+        return headerLines;
+    }
+}
@@ -0,0 +1,160 @@
+package seedu.healthmate.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import seedu.healthmate.core.DailyCalorieSummary;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.User;
+import seedu.healthmate.utils.DateTimeUtils;
+import seedu.healthmate.utils.JsonLines;
+
+/**
+ * Writes meal entries, per-day calorie totals and the user profile history within a range of days as CSV
+ * or JSON lines. Every record is written to the writer as soon as it is visited, so the meal log is never
+ * collected into a list and exporting years of entries needs no more memory than exporting a single day.
+ */
+public class DataExporter {
+    private static final String[] MEAL_ENTRY_KEYS = {"name", "calories", "timestamp", "portions"};
+    private static final String[] DAILY_TOTAL_KEYS = {"date", "calories", "mealCount"};
+    private static final String[] USER_KEYS = {"timestamp", "height", "weight", "isMale", "age", "healthGoal",
+        "idealCalories"};
+    private static final String CSV_SEPARATOR = ",";
+
+    /**
+     * The file formats data can be exported to.
+     */
+    public enum Format {
+        CSV,
+        JSON_LINES;
+
+        /**
+         * Picks the format by the extension of a file name: JSON lines for {@code .json}, {@code .jsonl} and
+         * {@code .ndjson} files, CSV otherwise.
+         * @param fileName The name of the file exported to
+         * @return The format of the file
+         */
+        public static Format fromFileName(String fileName) {
+            String lowerFileName = fileName.toLowerCase();
+            boolean isJson = lowerFileName.endsWith(".json") || lowerFileName.endsWith(".jsonl")
+                    || lowerFileName.endsWith(".ndjson");
+            return isJson ? JSON_LINES : CSV;
+        }
+    }
+
+    private final Format format;
+    private final Writer out;
+    private final LocalDate firstDate;
+    private final LocalDate lastDate;
+
+    /**
+     * Constructs an exporter writing the records of a range of days.
+     * @param format The format of the records
+     * @param out The writer the records are written to, ideally buffered
+     * @param firstDate The first day of the range
+     * @param lastDate The last day of the range, not before the first day
+     */
+    public DataExporter(Format format, Writer out, LocalDate firstDate, LocalDate lastDate) {
+        assert !firstDate.isAfter(lastDate) : "The first date should not be after the last date";
+        this.format = format;
+        this.out = out;
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+    }
+
+    /**
+     * Writes the meal entries within the range of days in the layout {@code import mealEntries} reads.
+     * @param mealEntries The meal log
+     * @return The number of exported meal entries
+     * @throws IOException if writing fails
+     */
+    public int exportMealEntries(MealEntriesList mealEntries) throws IOException {
+        writeHeader(MEAL_ENTRY_KEYS);
+        int[] count = {0};
+        try {
+            mealEntries.forEachEntryBetween(DateTimeUtils.startOfDayLocalDateTime(firstDate),
+                    DateTimeUtils.endOfDayLocalDateTime(lastDate), mealEntry -> {
+                        writeRecord(MEAL_ENTRY_KEYS, new Object[]{mealEntry.getName().orElse(null),
+                            mealEntry.getCalories(), mealEntry.getTimestamp().toString(), mealEntry.getPortions()});
+                        count[0]++;
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+
+    /**
+     * Writes the total calories and number of meal entries of every day with meal entries within the range.
+     * @param mealEntries The meal log
+     * @return The number of exported days
+     * @throws IOException if writing fails
+     */
+    public int exportDailyTotals(MealEntriesList mealEntries) throws IOException {
+        writeHeader(DAILY_TOTAL_KEYS);
+        int count = 0;
+        for (Map.Entry<LocalDate, DailyCalorieSummary> day
+                : mealEntries.getDailySummaries(firstDate, lastDate).entrySet()) {
+            DailyCalorieSummary summary = day.getValue();
+            writeRecord(DAILY_TOTAL_KEYS, new Object[]{day.getKey().toString(), summary.getCalories(),
+                summary.getMealCount()});
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Writes the user profiles recorded within the range, oldest first.
+     * @param users The user profile history, oldest first
+     * @return The number of exported user profiles
+     * @throws IOException if writing fails
+     */
+    public int exportUserHistory(List<User> users) throws IOException {
+        writeHeader(USER_KEYS);
+        int count = 0;
+        for (User user : users) {
+            LocalDate recordDate = user.getLocalDateTime().toLocalDate();
+            if (recordDate.isBefore(firstDate) || recordDate.isAfter(lastDate)) {
+                continue;
+            }
+            writeRecord(USER_KEYS, new Object[]{user.getLocalDateTime().toString(), user.getHeight(),
+                user.getWeight(), user.isMale(), user.getAge(), user.getHealthGoal().toString(),
+                user.getIdealCalories()});
+            count++;
+        }
+        return count;
+    }
+
+    private void writeHeader(String[] keys) throws IOException {
+        if (format == Format.CSV) {
+            out.write(String.join(CSV_SEPARATOR, keys));
+            out.write(System.lineSeparator());
+        }
+    }
+
+    /**
+     * Writes a single record, wrapping a failure into an {@code UncheckedIOException} so that records can be
+     * written from within a visitor.
+     */
+    private void writeRecord(String[] keys, Object[] values) {
+        try {
+            if (format == Format.JSON_LINES) {
+                out.write(JsonLines.toObject(keys, values));
+            } else {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        out.write(CSV_SEPARATOR);
+                    }
+                    out.write(values[i] == null ? "" : values[i].toString());
+                }
+            }
+            out.write(System.lineSeparator());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,507 @@
+package seedu.healthmate.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import seedu.healthmate.core.DailyCalorieRollups;
+import seedu.healthmate.core.DailyCalorieSummary;
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.core.MealEntryChange;
+import seedu.healthmate.core.SegmentedMealEntriesList;
+import seedu.healthmate.utils.FenwickTree;
+import seedu.healthmate.utils.FileStamp;
+import seedu.healthmate.utils.KeyValueDatabase;
+import seedu.healthmate.utils.Pair;
+
+/**
+ * Storage backend keeping all data in the embedded database {@code healthmate.db}, see {@link KeyValueDatabase}.
+ * <p>
+ * Meal entries are keyed by a sequence number that increases with every added entry, so the key order is the
+ * log order. A second table indexes the entries by timestamp: loading only walks the index to find the months
+ * holding entries, and each month is decoded on demand when a date range query needs it. Additions and
+ * deletions are committed directly, so the meal entry journal is not needed with this backend.
+ * The per-day calorie rollups are kept in their own table, keyed by date, and updated in the same batch.
+ */
+public class DatabaseStorage implements Storage {
+    private static final String MEAL_ENTRIES_TABLE = "meal_entries";
+    private static final String MEAL_ENTRIES_BY_TIME_TABLE = "meal_entries_by_time";
+    private static final String MEAL_OPTIONS_TABLE = "meal_options";
+    private static final String USERS_TABLE = "users";
+    private static final String DAILY_CALORIES_TABLE = "daily_calories";
+    private static final String META_TABLE = "meta";
+    private static final String DAILY_CALORIES_KEY = "daily_calories";
+    private static final String CHECKPOINT_KEY = "checkpoint";
+    private static final String NEXT_MEAL_ENTRY_KEY = "next_meal_entry";
+    private static final String NEXT_MEAL_OPTION_KEY = "next_meal_option";
+    private static final String NEXT_USER_KEY = "next_user";
+    private static final DateTimeFormatter DATE_KEY_FORMATTER = DateTimeFormatter.ofPattern("uuuuMMdd");
+    private static final DateTimeFormatter TIME_KEY_FORMATTER = DateTimeFormatter.ofPattern("uuuuMMddHHmmssSSSSSSSSS");
+
+    private final File databaseFile;
+    private KeyValueDatabase database;
+    private FileStamp databaseStamp;
+    private SequenceIndex mealEntrySequences;
+
+    /**
+     * The sequence numbers of the meal entries read or written by this backend, in log order.
+     * A Fenwick tree with a slot per sequence number counts the known ones, so the sequence number at a log
+     * position is found in O(log n) however many entries were deleted before it.
+     */
+    private static class SequenceIndex {
+        private final BitSet knownSequences;
+        private FenwickTree knownCounts;
+        private int size;
+
+        private SequenceIndex(long capacity) {
+            this.knownSequences = new BitSet();
+            this.knownCounts = new FenwickTree(new long[Math.toIntExact(capacity)]);
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private long get(int position) {
+            return knownCounts.findFirstExceeding(position);
+        }
+
+        private void add(long sequence) {
+            int slot = Math.toIntExact(sequence);
+            if (knownSequences.get(slot)) {
+                return;
+            }
+            if (slot >= knownCounts.size()) {
+                long[] counts = new long[Math.max(slot + 1, 2 * knownCounts.size())];
+                knownSequences.stream().forEach(knownSlot -> counts[knownSlot] = 1);
+                knownCounts = new FenwickTree(counts);
+            }
+            knownSequences.set(slot);
+            knownCounts.add(slot, 1);
+            size++;
+        }
+
+        private void remove(long sequence) {
+            int slot = Math.toIntExact(sequence);
+            if (knownSequences.get(slot)) {
+                knownSequences.clear(slot);
+                knownCounts.add(slot, -1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Creates a database backend within the given directory. The database is opened on first access.
+     * @param dataDirectory The directory holding the database file
+     */
+    public DatabaseStorage(File dataDirectory) {
+        this.databaseFile = new File(dataDirectory, StorageFormat.DATABASE.getMealEntriesFileName());
+        this.mealEntrySequences = new SequenceIndex(0);
+    }
+
+    @Override
+    public boolean hasMealEntries() {
+        return databaseFile.exists() && getTableOrEmpty(META_TABLE).containsKey(CHECKPOINT_KEY);
+    }
+
+    @Override
+    public MealEntryJournal.Checkpoint readMealEntryCheckpoint() throws IOException {
+        return MealEntryJournal.Checkpoint.fromHeaderLine(getDatabase().getTable(META_TABLE).get(CHECKPOINT_KEY));
+    }
+
+    /**
+     * Opens the meal entries without decoding any of them yet.
+     * Entries are decoded one month at a time when a query first needs them.
+     * @return A pair of the lazily decoded meal entries and the number of corrupted records skipped on opening
+     * @throws IOException if the database cannot be read
+     */
+    @Override
+    public Pair<MealEntriesList, Integer> readMealEntries() throws IOException {
+        KeyValueDatabase loadedDatabase = getDatabase();
+        NavigableMap<String, String> timeIndex = loadedDatabase.getTable(MEAL_ENTRIES_BY_TIME_TABLE);
+        NavigableMap<String, String> mealEntries = loadedDatabase.getTable(MEAL_ENTRIES_TABLE);
+        long entriesBeforeLoad = getSequence(loadedDatabase, NEXT_MEAL_ENTRY_KEY);
+        Map<Meal, Long> sequences = new IdentityHashMap<>();
+        SequenceIndex decodedSequences = new SequenceIndex(entriesBeforeLoad);
+        this.mealEntrySequences = decodedSequences;
+
+        List<SegmentedMealEntriesList.Segment> segments = new ArrayList<>();
+        String timeKey = timeIndex.isEmpty() ? null : timeIndex.firstKey();
+        while (timeKey != null) {
+            LocalDate start = SegmentPeriod.MONTH.startOf(LocalDate.parse(timeKey.substring(0, 8), DATE_KEY_FORMATTER));
+            LocalDate end = SegmentPeriod.MONTH.endOf(start);
+            NavigableMap<String, String> monthIndex = timeIndex.subMap(
+                    start.format(DATE_KEY_FORMATTER), true, end.format(DATE_KEY_FORMATTER), false);
+            segments.add(new SegmentedMealEntriesList.Segment(start, end,
+                    () -> readMealEntries(monthIndex, mealEntries, entriesBeforeLoad, sequences, decodedSequences)));
+            timeKey = timeIndex.ceilingKey(end.format(DATE_KEY_FORMATTER));
+        }
+        Comparator<Meal> logOrder = Comparator.comparingLong(meal -> sequences.getOrDefault(meal, Long.MAX_VALUE));
+        return new Pair<>(new SegmentedMealEntriesList(segments, logOrder), loadedDatabase.getCorruptedRecordCount());
+    }
+
+    @Override
+    public void writeMealEntries(List<Meal> mealEntries, MealEntryJournal.Checkpoint checkpoint) throws IOException {
+        KeyValueDatabase.Batch batch = new KeyValueDatabase.Batch()
+                .clear(MEAL_ENTRIES_TABLE)
+                .clear(MEAL_ENTRIES_BY_TIME_TABLE);
+        SequenceIndex sequences = new SequenceIndex(mealEntries.size());
+        long sequence = 0;
+        for (Meal meal : mealEntries) {
+            putMealEntry(batch, meal, sequence);
+            sequences.add(sequence);
+            sequence++;
+        }
+        putDailyRollups(batch, DailyCalorieRollups.of(mealEntries));
+        batch.put(META_TABLE, NEXT_MEAL_ENTRY_KEY, String.valueOf(sequence))
+                .put(META_TABLE, CHECKPOINT_KEY, checkpoint.toHeaderLine());
+        commit(batch);
+        this.mealEntrySequences = sequences;
+    }
+
+    /**
+     * Reads the per-day calorie rollups table. As the table is committed together with the meal entries,
+     * it always matches them and the checkpoint does not need to be compared.
+     * @param checkpoint The journal checkpoint of the meal entries snapshot
+     * @return The rollups, or an empty Optional if they were never written or a row is corrupted
+     * @throws IOException if the database cannot be read
+     */
+    @Override
+    public Optional<DailyCalorieRollups> readDailyRollups(MealEntryJournal.Checkpoint checkpoint)
+            throws IOException {
+        KeyValueDatabase loadedDatabase = getDatabase();
+        if (!loadedDatabase.getTable(META_TABLE).containsKey(DAILY_CALORIES_KEY)) {
+            return Optional.empty();
+        }
+        DailyCalorieRollups dailyRollups = new DailyCalorieRollups();
+        for (Map.Entry<String, String> row : loadedDatabase.getTable(DAILY_CALORIES_TABLE).entrySet()) {
+            Optional<DailyCalorieSummary> summary = HistoryTracker.parseDailySummary(row.getValue());
+            if (summary.isEmpty()) {
+                return Optional.empty();
+            }
+            try {
+                dailyRollups.put(LocalDate.parse(row.getKey()), summary.get());
+            } catch (DateTimeParseException e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(dailyRollups);
+    }
+
+    /**
+     * Commits the additions and deletions as a single batch.
+     * Deleted entries are located through their log position among the sequence numbers of the entries read
+     * or written by this backend, and checked against the persisted entry.
+     * Only the rollups of the days touched by the changes are rewritten.
+     * @param changes The changes in the order they were applied to the meal entries read from this backend
+     * @param mealEntries The meal entries after the changes, providing the updated rollups
+     * @return false if a deleted entry was not read from this backend, in which case nothing is written
+     * @throws IOException if the batch cannot be committed
+     */
+    @Override
+    public boolean applyMealEntryChanges(List<MealEntryChange> changes, MealEntriesList mealEntries)
+            throws IOException {
+        KeyValueDatabase currentDatabase = getDatabase();
+        long nextSequence = getSequence(currentDatabase, NEXT_MEAL_ENTRY_KEY);
+        NavigableMap<String, String> persistedEntries = currentDatabase.getTable(MEAL_ENTRIES_TABLE);
+        List<Long> addedSequences = new ArrayList<>();
+        List<Long> deletedSequences = new ArrayList<>();
+        Set<LocalDate> touchedDates = new TreeSet<>();
+        KeyValueDatabase.Batch batch = new KeyValueDatabase.Batch();
+        boolean isCommitted = false;
+        try {
+            for (MealEntryChange change : changes) {
+                Meal meal = change.getMealEntry();
+                touchedDates.add(((MealEntry) meal).getTimestamp().toLocalDate());
+                if (change.getType() == MealEntryChange.Type.ADD) {
+                    putMealEntry(batch, meal, nextSequence);
+                    mealEntrySequences.add(nextSequence);
+                    addedSequences.add(nextSequence);
+                    nextSequence++;
+                    continue;
+                }
+                int position = change.getMealNumber() - 1;
+                if (position < 0 || position >= mealEntrySequences.size()) {
+                    return false;
+                }
+                long sequence = mealEntrySequences.get(position);
+                String persistedEntry = persistedEntries.get(toSequenceKey(sequence));
+                if (persistedEntry != null && !persistedEntry.equals(meal.toSaveString())) {
+                    return false;
+                }
+                batch.delete(MEAL_ENTRIES_TABLE, toSequenceKey(sequence))
+                        .delete(MEAL_ENTRIES_BY_TIME_TABLE, toTimeKey(meal, sequence));
+                mealEntrySequences.remove(sequence);
+                deletedSequences.add(sequence);
+            }
+            commitMealEntryChanges(currentDatabase, batch, touchedDates, mealEntries, nextSequence);
+            isCommitted = true;
+            return true;
+        } finally {
+            if (!isCommitted) {
+                addedSequences.forEach(mealEntrySequences::remove);
+                deletedSequences.forEach(mealEntrySequences::add);
+            }
+        }
+    }
+
+    /**
+     * Completes the batch of meal entry changes with the rollups of the touched days and commits it.
+     */
+    private void commitMealEntryChanges(KeyValueDatabase currentDatabase, KeyValueDatabase.Batch batch,
+                                        Set<LocalDate> touchedDates, MealEntriesList mealEntries,
+                                        long nextSequence) throws IOException {
+        DailyCalorieRollups dailyRollups = mealEntries.getDailyRollups();
+        if (currentDatabase.getTable(META_TABLE).containsKey(DAILY_CALORIES_KEY)) {
+            for (LocalDate date : touchedDates) {
+                DailyCalorieSummary summary = dailyRollups.get(date);
+                if (summary.isEmpty()) {
+                    batch.delete(DAILY_CALORIES_TABLE, date.toString());
+                } else {
+                    batch.put(DAILY_CALORIES_TABLE, date.toString(), summary.toSaveString());
+                }
+            }
+        } else {
+            putDailyRollups(batch, dailyRollups);
+        }
+        batch.put(META_TABLE, NEXT_MEAL_ENTRY_KEY, String.valueOf(nextSequence));
+        if (!currentDatabase.getTable(META_TABLE).containsKey(CHECKPOINT_KEY)) {
+            batch.put(META_TABLE, CHECKPOINT_KEY, MealEntryJournal.Checkpoint.NONE.toHeaderLine());
+        }
+        commit(batch);
+    }
+
+    @Override
+    public void deleteMealEntries() {
+        if (!databaseFile.exists()) {
+            return;
+        }
+        try {
+            commit(new KeyValueDatabase.Batch()
+                    .clear(MEAL_ENTRIES_TABLE)
+                    .clear(MEAL_ENTRIES_BY_TIME_TABLE)
+                    .clear(DAILY_CALORIES_TABLE)
+                    .delete(META_TABLE, DAILY_CALORIES_KEY)
+                    .delete(META_TABLE, CHECKPOINT_KEY)
+                    .delete(META_TABLE, NEXT_MEAL_ENTRY_KEY));
+        } catch (IOException e) {
+            UI.printString("Error saving to file: " + databaseFile.getName() + ". " + e.getMessage());
+        }
+    }
+
+    @Override
+    public File[] getMealEntryFiles() {
+        return new File[] {databaseFile};
+    }
+
+    @Override
+    public boolean hasMealOptions() {
+        return databaseFile.exists() && getTableOrEmpty(META_TABLE).containsKey(NEXT_MEAL_OPTION_KEY);
+    }
+
+    @Override
+    public Pair<List<Meal>, Integer> readMealOptions() throws IOException {
+        List<Meal> mealOptions = new ArrayList<>();
+        int corruptedMeals = 0;
+        for (String saveString : getDatabase().getTable(MEAL_OPTIONS_TABLE).values()) {
+            corruptedMeals += parseMeal(mealOptions, saveString, false);
+        }
+        return new Pair<>(mealOptions, corruptedMeals);
+    }
+
+    /**
+     * Commits only the meal options that were added, changed or deleted, matched by their normalized name.
+     * Changed options keep their key and therefore their position in the menu.
+     * @param mealOptions The complete meal options in menu order
+     * @throws IOException if the batch cannot be committed
+     */
+    @Override
+    public void writeMealOptions(List<Meal> mealOptions) throws IOException {
+        KeyValueDatabase currentDatabase = getDatabase();
+        Map<String, Pair<String, String>> persistedOptions = new LinkedHashMap<>();
+        for (Map.Entry<String, String> option : currentDatabase.getTable(MEAL_OPTIONS_TABLE).entrySet()) {
+            String name = option.getValue().split(",", 2)[0];
+            persistedOptions.put(MealOptionStore.toKey(Optional.of(name)),
+                    new Pair<>(option.getKey(), option.getValue()));
+        }
+        long nextSequence = getSequence(currentDatabase, NEXT_MEAL_OPTION_KEY);
+        KeyValueDatabase.Batch batch = new KeyValueDatabase.Batch();
+        for (Meal meal : mealOptions) {
+            Pair<String, String> persistedOption = persistedOptions.remove(MealOptionStore.toKey(meal.getName()));
+            String saveString = meal.toSaveString();
+            if (persistedOption == null) {
+                batch.put(MEAL_OPTIONS_TABLE, toSequenceKey(nextSequence++), saveString);
+            } else if (!persistedOption.u().equals(saveString)) {
+                batch.put(MEAL_OPTIONS_TABLE, persistedOption.t(), saveString);
+            }
+        }
+        for (Pair<String, String> removedOption : persistedOptions.values()) {
+            batch.delete(MEAL_OPTIONS_TABLE, removedOption.t());
+        }
+        if (batch.isEmpty() && hasMealOptions()) {
+            return;
+        }
+        batch.put(META_TABLE, NEXT_MEAL_OPTION_KEY, String.valueOf(nextSequence));
+        commit(batch);
+    }
+
+    @Override
+    public void deleteMealOptions() {
+        if (!databaseFile.exists()) {
+            return;
+        }
+        try {
+            commit(new KeyValueDatabase.Batch()
+                    .clear(MEAL_OPTIONS_TABLE)
+                    .delete(META_TABLE, NEXT_MEAL_OPTION_KEY));
+        } catch (IOException e) {
+            UI.printString("Error saving to file: " + databaseFile.getName() + ". " + e.getMessage());
+        }
+    }
+
+    @Override
+    public File[] getMealOptionFiles() {
+        return new File[] {databaseFile};
+    }
+
+    @Override
+    public List<String> readUserRecords() throws IOException {
+        return new ArrayList<>(getDatabase().getTable(USERS_TABLE).values());
+    }
+
+    @Override
+    public Optional<String> readLatestUserRecord() throws IOException {
+        return Optional.ofNullable(getDatabase().getTable(USERS_TABLE).lastEntry()).map(Map.Entry::getValue);
+    }
+
+    @Override
+    public void appendUserRecord(String userRecord) throws IOException {
+        long sequence = getSequence(getDatabase(), NEXT_USER_KEY);
+        commit(new KeyValueDatabase.Batch()
+                .put(USERS_TABLE, toSequenceKey(sequence), userRecord)
+                .put(META_TABLE, NEXT_USER_KEY, String.valueOf(sequence + 1)));
+    }
+
+    @Override
+    public void clearUserRecords() throws IOException {
+        commit(new KeyValueDatabase.Batch().clear(USERS_TABLE));
+    }
+
+    @Override
+    public File getUserDataFile() {
+        return databaseFile;
+    }
+
+    /**
+     * Returns the open database, applying the batches another instance of the app appended to the file.
+     * The database is only opened anew if the file was replaced or a table was rewritten by the other instance.
+     * @return The up-to-date database
+     * @throws IOException if the database cannot be read
+     */
+    private KeyValueDatabase getDatabase() throws IOException {
+        FileStamp currentStamp = FileStamp.of(databaseFile);
+        if (database == null || !currentStamp.equals(databaseStamp) && !database.refresh()) {
+            database = KeyValueDatabase.open(databaseFile);
+        }
+        databaseStamp = currentStamp;
+        return database;
+    }
+
+    private NavigableMap<String, String> getTableOrEmpty(String table) {
+        try {
+            return getDatabase().getTable(table);
+        } catch (IOException e) {
+            return new TreeMap<>();
+        }
+    }
+
+    private void commit(KeyValueDatabase.Batch batch) throws IOException {
+        getDatabase().commit(batch);
+        databaseStamp = FileStamp.of(databaseFile);
+    }
+
+    private static long getSequence(KeyValueDatabase database, String key) {
+        try {
+            return Long.parseLong(database.getTable(META_TABLE).getOrDefault(key, "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Decodes the meal entries of one month in log order. Entries added after the list was loaded are skipped,
+     * as the list already holds them.
+     */
+    private static List<Meal> readMealEntries(NavigableMap<String, String> monthIndex,
+                                              NavigableMap<String, String> mealEntries,
+                                              long entriesBeforeLoad, Map<Meal, Long> sequences,
+                                              SequenceIndex decodedSequences) {
+        List<Pair<Long, Meal>> decodedEntries = new ArrayList<>();
+        for (String sequenceKey : monthIndex.values()) {
+            long sequence = Long.parseLong(sequenceKey);
+            String saveString = mealEntries.get(sequenceKey);
+            List<Meal> parsedMeals = new ArrayList<>();
+            if (sequence >= entriesBeforeLoad || saveString == null || parseMeal(parsedMeals, saveString, true) > 0) {
+                continue;
+            }
+            decodedEntries.add(new Pair<>(sequence, parsedMeals.get(0)));
+        }
+        decodedEntries.sort(Comparator.comparingLong(Pair::t));
+        List<Meal> meals = new ArrayList<>();
+        for (Pair<Long, Meal> decodedEntry : decodedEntries) {
+            sequences.put(decodedEntry.u(), decodedEntry.t());
+            decodedSequences.add(decodedEntry.t());
+            meals.add(decodedEntry.u());
+        }
+        return meals;
+    }
+
+    private static int parseMeal(List<Meal> meals, String saveString, boolean isEntry) {
+        try {
+            return HistoryTracker.parseAndAddMeal(meals, saveString.split(","), isEntry).u();
+        } catch (RuntimeException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * Replaces the whole per-day calorie rollups table and marks it as written.
+     */
+    private static void putDailyRollups(KeyValueDatabase.Batch batch, DailyCalorieRollups dailyRollups) {
+        batch.clear(DAILY_CALORIES_TABLE);
+        for (Map.Entry<LocalDate, DailyCalorieSummary> summary : dailyRollups.getSummaries().entrySet()) {
+            batch.put(DAILY_CALORIES_TABLE, summary.getKey().toString(), summary.getValue().toSaveString());
+        }
+        batch.put(META_TABLE, DAILY_CALORIES_KEY, "true");
+    }
+
+    private static void putMealEntry(KeyValueDatabase.Batch batch, Meal meal, long sequence) {
+        batch.put(MEAL_ENTRIES_TABLE, toSequenceKey(sequence), meal.toSaveString())
+                .put(MEAL_ENTRIES_BY_TIME_TABLE, toTimeKey(meal, sequence), toSequenceKey(sequence));
+    }
+
+    private static String toSequenceKey(long sequence) {
+        return String.format("%019d", sequence);
+    }
+
+    private static String toTimeKey(Meal meal, long sequence) {
+        return ((MealEntry) meal).getTimestamp().format(TIME_KEY_FORMATTER) + "#" + toSequenceKey(sequence);
+    }
+}
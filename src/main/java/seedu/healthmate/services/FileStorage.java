@@ -0,0 +1,251 @@
+package seedu.healthmate.services;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import seedu.healthmate.core.DailyCalorieRollups;
+import seedu.healthmate.core.DailyCalorieSummary;
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.utils.AtomicFileWriter;
+import seedu.healthmate.utils.Pair;
+
+/**
+ * Base class of the storage backends keeping their data in plain files within the data directory.
+ * Meal options are kept in {@code meal_options.csv} through a {@link MealOptionStore} and user profiles
+ * in {@code user_data.csv}; subclasses only differ in how they store the meal entries snapshot.
+ * Subclasses whose snapshot is not read in full write the per-day calorie rollups to
+ * {@code daily_calories.csv} with every snapshot.
+ */
+public abstract class FileStorage implements Storage {
+    private static final String MEAL_OPTIONS_FILE = "meal_options.csv";
+    private static final String MEAL_OPTIONS_LOG_FILE = "meal_options.log";
+    private static final String USER_DATA_FILE = "user_data.csv";
+    private static final String DAILY_ROLLUPS_FILE = "daily_calories.csv";
+    private static final int TAIL_BLOCK_BYTES = 512;
+
+    protected final File dataDirectory;
+    private final MealOptionStore mealOptionStore;
+
+    /**
+     * Creates a file based storage backend within the given directory.
+     * @param dataDirectory The directory holding the data files
+     */
+    protected FileStorage(File dataDirectory) {
+        this.dataDirectory = dataDirectory;
+        this.mealOptionStore = new MealOptionStore(new File(dataDirectory, MEAL_OPTIONS_FILE),
+                new File(dataDirectory, MEAL_OPTIONS_LOG_FILE));
+    }
+
+    /**
+     * Reads the per-day calorie rollups file if it was written together with the given snapshot.
+     * @param checkpoint The journal checkpoint of the meal entries snapshot
+     * @return The rollups, or an empty Optional if the file is missing, stale or corrupted
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    public Optional<DailyCalorieRollups> readDailyRollups(MealEntryJournal.Checkpoint checkpoint)
+            throws IOException {
+        File rollupsFile = new File(dataDirectory, DAILY_ROLLUPS_FILE);
+        if (!rollupsFile.exists()) {
+            return Optional.empty();
+        }
+        DailyCalorieRollups dailyRollups = new DailyCalorieRollups();
+        try (BufferedReader reader = new BufferedReader(new FileReader(rollupsFile))) {
+            if (!checkpoint.toHeaderLine().equals(reader.readLine())) {
+                return Optional.empty();
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",", 2);
+                Optional<DailyCalorieSummary> summary = parts.length == 2
+                        ? HistoryTracker.parseDailySummary(parts[1])
+                        : Optional.empty();
+                if (summary.isEmpty()) {
+                    return Optional.empty();
+                }
+                dailyRollups.put(LocalDate.parse(parts[0]), summary.get());
+            }
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+        return Optional.of(dailyRollups);
+    }
+
+    /**
+     * Atomically writes the per-day calorie rollups of the meal entries, tagged with the snapshot checkpoint.
+     * Meant to be called right after the snapshot was written.
+     * @param mealEntries The complete meal log in order
+     * @param checkpoint The journal checkpoint of the meal entries snapshot
+     * @throws IOException if the file cannot be written
+     */
+    protected void writeDailyRollups(List<Meal> mealEntries, MealEntryJournal.Checkpoint checkpoint)
+            throws IOException {
+        DailyCalorieRollups dailyRollups = DailyCalorieRollups.of(mealEntries);
+        AtomicFileWriter.write(new File(dataDirectory, DAILY_ROLLUPS_FILE), out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out));
+            writer.write(checkpoint.toHeaderLine());
+            writer.newLine();
+            for (Map.Entry<LocalDate, DailyCalorieSummary> summary : dailyRollups.getSummaries().entrySet()) {
+                writer.write(summary.getKey() + "," + summary.getValue().toSaveString());
+                writer.newLine();
+            }
+            writer.flush();
+        });
+    }
+
+    @Override
+    public boolean hasMealOptions() {
+        return mealOptionStore.exists();
+    }
+
+    /**
+     * Reads the meal options snapshot and replays the meal option log on top.
+     * @return A pair of the meal options and the number of corrupted lines
+     * @throws IOException if the meal options cannot be read
+     */
+    @Override
+    public Pair<List<Meal>, Integer> readMealOptions() throws IOException {
+        File snapshotFile = new File(dataDirectory, MEAL_OPTIONS_FILE);
+        Pair<List<Meal>, Integer> snapshot = snapshotFile.exists()
+                ? ParallelMealCsvReader.read(snapshotFile, false, 0)
+                : new Pair<>(new ArrayList<>(), 0);
+        int totalCorruptedMeals = snapshot.u() + mealOptionStore.load(snapshot.t());
+        return new Pair<>(mealOptionStore.getMealOptions(), totalCorruptedMeals);
+    }
+
+    @Override
+    public void writeMealOptions(List<Meal> mealOptions) throws IOException {
+        mealOptionStore.save(mealOptions);
+    }
+
+    @Override
+    public void deleteMealOptions() {
+        for (File mealOptionFile : getMealOptionFiles()) {
+            mealOptionFile.delete();
+        }
+    }
+
+    @Override
+    public File[] getMealOptionFiles() {
+        return new File[] {new File(dataDirectory, MEAL_OPTIONS_FILE), new File(dataDirectory, MEAL_OPTIONS_LOG_FILE)};
+    }
+
+    @Override
+    public List<String> readUserRecords() throws IOException {
+        List<String> userRecords = new ArrayList<>();
+        File userDataFile = getUserDataFile();
+        if (!userDataFile.exists()) {
+            return userRecords;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(userDataFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                userRecords.add(line);
+            }
+        }
+        return userRecords;
+    }
+
+    /**
+     * Reads the user data file backwards from its end until the last complete line was read,
+     * so the cost does not grow with the length of the history.
+     * @return The last non-empty line of the user data file, or an empty Optional if there is none
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    public Optional<String> readLatestUserRecord() throws IOException {
+        File userDataFile = getUserDataFile();
+        if (!userDataFile.exists()) {
+            return Optional.empty();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(userDataFile, "r")) {
+            long blockEnd = file.length();
+            byte[] tail = new byte[0];
+            while (blockEnd > 0) {
+                int blockSize = (int) Math.min(TAIL_BLOCK_BYTES, blockEnd);
+                byte[] extendedTail = new byte[blockSize + tail.length];
+                file.seek(blockEnd - blockSize);
+                file.readFully(extendedTail, 0, blockSize);
+                System.arraycopy(tail, 0, extendedTail, blockSize, tail.length);
+                tail = extendedTail;
+                blockEnd -= blockSize;
+                Optional<String> lastLine = findLastLine(new String(tail), blockEnd == 0);
+                if (lastLine.isPresent()) {
+                    return lastLine;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void appendUserRecord(String userRecord) throws IOException {
+        try (FileWriter writer = new FileWriter(getUserDataFile(), true)) {
+            writer.write(userRecord + System.lineSeparator());
+        }
+    }
+
+    @Override
+    public void clearUserRecords() throws IOException {
+        try (FileWriter writer = new FileWriter(getUserDataFile(), false)) {
+            writer.write("");
+        }
+    }
+
+    @Override
+    public File getUserDataFile() {
+        return new File(dataDirectory, USER_DATA_FILE);
+    }
+
+    /**
+     * Finds the last non-empty line of the tail of a file.
+     * @param tail The end of the file
+     * @param isWholeFile Whether the tail starts at the beginning of the file
+     * @return The last line, or an empty Optional if the tail does not contain a complete non-empty line
+     */
+    private static Optional<String> findLastLine(String tail, boolean isWholeFile) {
+        int end = tail.length();
+        while (end > 0 && (tail.charAt(end - 1) == '\n' || tail.charAt(end - 1) == '\r')) {
+            end--;
+        }
+        int start = tail.lastIndexOf('\n', end - 1) + 1;
+        if (end == 0 || (start == 0 && !isWholeFile)) {
+            return Optional.empty();
+        }
+        return Optional.of(tail.substring(start, end));
+    }
+
+    /**
+     * Atomically replaces a CSV file with the given meals, so that a crash never leaves a half-written file.
+     * @param meals The list of meals to save
+     * @param file The file to save to
+     * @param headerLines Metadata lines starting with '#' written before the meals
+     * @throws IOException if the file cannot be written
+     */
+    static void writeMealsToFile(List<Meal> meals, File file, List<String> headerLines) throws IOException {
+        AtomicFileWriter.write(file, out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out));
+            for (String headerLine : headerLines) {
+                writer.write(headerLine);
+                writer.newLine();
+            }
+            for (Meal meal : meals) {
+                writer.write(meal.toSaveString());
+                writer.newLine();
+            }
+            writer.flush();
+        });
+    }
+}
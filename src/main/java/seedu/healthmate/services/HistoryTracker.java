@@ -1,36 +1,76 @@
 package seedu.healthmate.services;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Optional;
 
+import seedu.healthmate.core.DailyCalorieRollups;
+import seedu.healthmate.core.DailyCalorieSummary;
 import seedu.healthmate.core.Meal;
 import seedu.healthmate.core.MealEntriesList;
 import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.core.MealEntryChange;
 import seedu.healthmate.core.MealList;
+import seedu.healthmate.core.MealNameTable;
+import seedu.healthmate.utils.FileStamp;
 import seedu.healthmate.utils.Pair;
 
 /**
  * Handles saving and loading of meal entries and meal options to/from persistent storage.
- * Uses CSV files to store the data in a data directory.
+ * The data is kept in a data directory by the {@link Storage} backend of the configured {@link StorageFormat}.
+ * Data saved by another backend is migrated to the configured one when it is first loaded.
  */
 public class HistoryTracker {
     protected static final String DATA_DIRECTORY = "data";
-    private static final String MEAL_ENTRIES_FILE = "meal_entries.csv";
-    private static final String MEAL_OPTIONS_FILE = "meal_options.csv";
+    private static final String MEAL_ENTRIES_JOURNAL_FILE = "meal_entries.journal";
+    private static final int JOURNAL_COMPACTION_THRESHOLD = 200;
+
+    private final StorageFormat storageFormat;
+    private final SegmentPeriod segmentPeriod;
+    private final EnumMap<StorageFormat, Storage> storages;
+    private final MealEntryJournal mealEntryJournal;
+    private FileStamp mealEntriesStamp;
+    private FileStamp mealOptionsStamp;
+    private boolean isDeferringSaves;
+    private boolean hasUnsavedMealOptions;
+    private boolean hasUnsavedMealEntries;
+    private boolean hasUnsavedMealEntryChanges;
 
     /**
-     * Creates a new HistoryTracker and ensures the data directory exists.
+     * Creates a new HistoryTracker using the storage format selected via system property
+     * and ensures the data directory exists.
      */
     public HistoryTracker() {
+        this(StorageFormat.fromSystemProperty());
+    }
+
+    /**
+     * Creates a new HistoryTracker storing meal entries in the given format
+     * and ensures the data directory exists.
+     * @param storageFormat The format of the meal entries snapshot
+     */
+    public HistoryTracker(StorageFormat storageFormat) {
+        this(storageFormat, SegmentPeriod.fromSystemProperty());
+    }
+
+    /**
+     * Creates a new HistoryTracker storing meal entries in the given format, partitioned by the given period
+     * if the format is segmented, and ensures the data directory exists.
+     * @param storageFormat The format of the meal entries snapshot
+     * @param segmentPeriod The time span covered by each meal entry segment file
+     */
+    public HistoryTracker(StorageFormat storageFormat, SegmentPeriod segmentPeriod) {
         createDirectoryIfNotExists(DATA_DIRECTORY);
+        this.storageFormat = storageFormat;
+        this.segmentPeriod = segmentPeriod;
+        this.storages = new EnumMap<>(StorageFormat.class);
+        this.mealEntryJournal = new MealEntryJournal(
+                new File(DATA_DIRECTORY + File.separator + MEAL_ENTRIES_JOURNAL_FILE));
     }
 
     /**
@@ -46,55 +86,202 @@ public class HistoryTracker {
     }
 
     /**
-     * Saves the list of meal entries to a CSV file.
+     * Saves the full list of meal entries to the snapshot file and starts a new meal entry journal epoch,
+     * as all journaled changes are contained in the rewritten file.
+     * The snapshot is replaced atomically and the journal is only reset once the snapshot is durable.
      * @param mealEntries The list of meal entries to save
      */
     public void saveMealEntries(MealEntriesList mealEntries) {
-        saveMealToFile(mealEntries.getMealEntries(), MEAL_ENTRIES_FILE);
+        if (isDeferringSaves) {
+            hasUnsavedMealEntries = true;
+            return;
+        }
+        boolean isUpToDate = stampMealEntryFiles().equals(mealEntriesStamp);
+        mealEntries.drainPendingChanges();
+        boolean isSnapshotSaved = writeMealEntrySnapshot(mealEntries.getMealEntries(),
+                mealEntryJournal.getCheckpoint());
+        if (isSnapshotSaved) {
+            try {
+                mealEntryJournal.reset();
+            } catch (IOException e) {
+                UI.printString("Error resetting journal: " + MEAL_ENTRIES_JOURNAL_FILE + ". " + e.getMessage());
+            }
+        }
+        mealEntriesStamp = isUpToDate ? stampMealEntryFiles() : null;
+    }
+
+    /**
+     * Compacts the meal entry journal replayed while loading into the snapshot, if it holds any records.
+     * Meant to be called once at startup, so that the command path only ever appends to the journal.
+     * @param mealEntries The meal entries as loaded, including the replayed journal
+     */
+    public void compactMealEntryJournal(MealEntriesList mealEntries) {
+        if (mealEntryJournal.getRecordCount() > 0) {
+            saveMealEntries(mealEntries);
+        }
+    }
+
+    /**
+     * Saves the additions and deletions made to the meal entries since the last save.
+     * Backends that persist changes directly receive them as long as the journal is empty, otherwise the changes
+     * are appended to the journal, which is compacted into the meal entries snapshot once it holds too many records.
+     * @param mealEntries The list of meal entries whose pending changes are saved
+     */
+    public void saveMealEntryChanges(MealEntriesList mealEntries) {
+        if (isDeferringSaves) {
+            hasUnsavedMealEntryChanges = true;
+            return;
+        }
+        boolean isUpToDate = stampMealEntryFiles().equals(mealEntriesStamp);
+        List<MealEntryChange> changes = mealEntries.drainPendingChanges();
+        if (mealEntryJournal.getRecordCount() == 0 && applyMealEntryChanges(changes, mealEntries)) {
+            mealEntriesStamp = isUpToDate ? stampMealEntryFiles() : null;
+            return;
+        }
+        try {
+            mealEntryJournal.append(changes);
+        } catch (IOException e) {
+            UI.printString("Error saving to file: " + MEAL_ENTRIES_JOURNAL_FILE + ". " + e.getMessage());
+            saveMealEntries(mealEntries);
+            return;
+        }
+        mealEntriesStamp = isUpToDate ? stampMealEntryFiles() : null;
+        if (mealEntryJournal.getRecordCount() >= JOURNAL_COMPACTION_THRESHOLD) {
+            saveMealEntries(mealEntries);
+        }
     }
 
     /**
-     * Saves new or modified meal options to a CSV file.
-     * Only saves meals that don't already exist in the file.
+     * Saves the meal options through the storage backend.
+     * Only options that were added, changed or deleted since the last load or save are written.
      * @param mealOptions The list of meal options to save
      */
     public void saveMealOptions(MealList mealOptions) {
-        //only saves meals which are new/details change
-        List<Meal> mealList = mealOptions.getMealList();
-        List<Meal> existingMeals = loadMealFromFile(MEAL_OPTIONS_FILE, false, true);
-        List<Meal> newMeals = new ArrayList<>();
-        
-        for (Meal meal : mealList) {
-            if (!existingMeals.contains(meal)) {
-                newMeals.add(meal);
-            }
+        if (isDeferringSaves) {
+            hasUnsavedMealOptions = true;
+            return;
         }
-        
-        saveMealToFile(newMeals, MEAL_OPTIONS_FILE);
+        boolean isUpToDate = stampMealOptionsFile().equals(mealOptionsStamp);
+        Storage storage = getStorage();
+        try {
+            storage.writeMealOptions(mealOptions.getMealList());
+        } catch (IOException e) {
+            UI.printString("Error saving to file: " + storage.getMealOptionFiles()[0].getName() + ". "
+                    + e.getMessage());
+        }
+        mealOptionsStamp = isUpToDate ? stampMealOptionsFile() : null;
     }
 
+    /**
+     * Defers all saves of meal options and meal entries until {@link #flushDeferredSaves} is called.
+     * Saving only records which data changed, so that many commands can be executed in memory
+     * and persisted with a single write, e.g. when running a script.
+     */
+    public void deferSaves() {
+        isDeferringSaves = true;
+    }
 
     /**
-     * Loads meal entries from the CSV file.
+     * Writes the meal options and meal entries changed since saves were deferred or last flushed.
+     * The meal entries are saved in full if any command required it, otherwise their pending additions
+     * and deletions are saved at once. Saves stay deferred afterwards unless requested otherwise.
+     * @param mealOptions The meal options to save
+     * @param mealEntries The meal entries to save
+     * @param keepDeferring Whether saves after the flush are deferred again
+     */
+    public void flushDeferredSaves(MealList mealOptions, MealEntriesList mealEntries, boolean keepDeferring) {
+        isDeferringSaves = false;
+        if (hasUnsavedMealOptions) {
+            saveMealOptions(mealOptions);
+        }
+        if (hasUnsavedMealEntries) {
+            saveMealEntries(mealEntries);
+        } else if (hasUnsavedMealEntryChanges) {
+            saveMealEntryChanges(mealEntries);
+        }
+        hasUnsavedMealOptions = false;
+        hasUnsavedMealEntries = false;
+        hasUnsavedMealEntryChanges = false;
+        isDeferringSaves = keepDeferring;
+    }
+
+    /**
+     * Returns the given meal entries if neither the meal entries file nor its journal changed on disk
+     * since they were last loaded or saved by this tracker, and reloads them from disk otherwise.
+     * This keeps multiple running instances of the app synchronized without re-parsing unchanged files.
+     * While saves are deferred, the meal entries in memory hold unsaved changes and are never reloaded.
+     * @param mealEntries The meal entries currently held in memory
+     * @return The up-to-date meal entries
+     */
+    public MealEntriesList reloadMealEntriesIfChanged(MealEntriesList mealEntries) {
+        if (mealEntries != null && (isDeferringSaves || stampMealEntryFiles().equals(mealEntriesStamp))) {
+            return mealEntries;
+        }
+        return loadMealEntries(true);
+    }
+
+    /**
+     * Returns the given meal options if the meal options file did not change on disk
+     * since they were last loaded or saved by this tracker, and reloads them from disk otherwise.
+     * While saves are deferred, the meal options in memory are never reloaded.
+     * @param mealOptions The meal options currently held in memory
+     * @return The up-to-date meal options
+     */
+    public MealList reloadMealOptionsIfChanged(MealList mealOptions) {
+        if (mealOptions != null && (isDeferringSaves || stampMealOptionsFile().equals(mealOptionsStamp))) {
+            return mealOptions;
+        }
+        return loadMealOptions(true);
+    }
+
+
+    /**
+     * Loads meal entries from the snapshot and replays the meal entry journal on top.
      * @return A MealEntriesList containing all saved meal entries
      */
     public MealEntriesList loadMealEntries(boolean loadSilent) {
-        List<Meal> meals = loadMealFromFile(MEAL_ENTRIES_FILE, true, loadSilent);
-        MealEntriesList mealEntriesList = new MealEntriesList();
-        for (Meal meal : meals) {
-            mealEntriesList.addMealWithoutCLIMessage(meal);
+        mealEntriesStamp = stampMealEntryFiles();
+        StorageFormat snapshotFormat = getMealEntrySnapshotFormat();
+        boolean isSaved = hasMealEntrySnapshot(snapshotFormat) || mealEntryJournal.exists();
+        MealEntryJournal.Checkpoint checkpoint = readSnapshotCheckpoint(snapshotFormat);
+        Optional<DailyCalorieRollups> dailyRollups = readDailyRollups(snapshotFormat, checkpoint);
+        Pair<MealEntriesList, Integer> loadResult = readMealEntrySnapshot(snapshotFormat, checkpoint);
+        MealEntriesList mealEntriesList = loadResult.t();
+        if (loadResult.u() == 0) {
+            dailyRollups.ifPresent(mealEntriesList::setDailyRollups);
         }
+        int totalCorruptedMeals = loadResult.u();
+        try {
+            totalCorruptedMeals += mealEntryJournal.replay(mealEntriesList, checkpoint);
+        } catch (IOException e) {
+            UI.printString("Error loading from file: " + MEAL_ENTRIES_JOURNAL_FILE + ". " + e.getMessage());
+        }
+        printLoadResult(true, isSaved, totalCorruptedMeals, loadSilent);
         return mealEntriesList;
     }
 
     /**
-     * Loads meal options from the CSV file.
+     * Loads meal options from the storage backend, migrating them if only another backend holds meal options.
      * @return A MealList containing all saved meal options
      */
     public MealList loadMealOptions(boolean loadSilent) {
-        List<Meal> meals = loadMealFromFile(MEAL_OPTIONS_FILE, false, loadSilent);
+        mealOptionsStamp = stampMealOptionsFile();
+        Storage source = getMealOptionSource();
+        boolean isSaved = source.hasMealOptions();
+        Pair<List<Meal>, Integer> loadResult;
+        try {
+            loadResult = source.readMealOptions();
+        } catch (IOException e) {
+            UI.printString("Error loading from file: " + source.getMealOptionFiles()[0].getName() + ". "
+                    + e.getMessage());
+            loadResult = new Pair<>(new ArrayList<>(), 0);
+        }
+        if (source != getStorage() && loadResult.u() == 0) {
+            migrateMealOptions(source, loadResult.t());
+        }
+        printLoadResult(false, isSaved, loadResult.u(), loadSilent);
         MealList mealList = new MealList();
-        for (Meal meal : meals) {
+        for (Meal meal : loadResult.t()) {
             mealList.addMealWithoutCLIMessage(meal);
         }
         return mealList;
@@ -117,87 +304,326 @@ public class HistoryTracker {
     }
 
     /**
-     * Saves a list of meals to a specified CSV file.
-     * @param meals The list of meals to save
-     * @param fileName The name of the file to save to
+     * Returns the storage backend of the configured storage format.
+     * @return The storage backend all data is saved to
+     */
+    protected Storage getStorage() {
+        return getStorage(storageFormat);
+    }
+
+    /**
+     * Returns the storage backend of the given format, which is created on first use.
+     * @param format The storage format
+     * @return The storage backend of the format
+     */
+    protected Storage getStorage(StorageFormat format) {
+        return storages.computeIfAbsent(format,
+                storage -> format.createStorage(new File(DATA_DIRECTORY), segmentPeriod));
+    }
+
+    /**
+     * Reads the user profile records, migrating them if only a backend with another user data file holds any.
+     * @return The user profile records, oldest first
+     * @throws IOException if the records cannot be read
+     */
+    protected List<String> readUserRecords() throws IOException {
+        List<String> userRecords = getStorage().readUserRecords();
+        if (!userRecords.isEmpty()) {
+            return userRecords;
+        }
+        for (StorageFormat otherFormat : StorageFormat.values()) {
+            Storage source = getStorage(otherFormat);
+            if (source.getUserDataFile().equals(getStorage().getUserDataFile())) {
+                continue;
+            }
+            List<String> sourceRecords = source.readUserRecords();
+            if (!sourceRecords.isEmpty()) {
+                for (String userRecord : sourceRecords) {
+                    getStorage().appendUserRecord(userRecord);
+                }
+                source.clearUserRecords();
+                return sourceRecords;
+            }
+        }
+        return userRecords;
+    }
+
+    private FileStamp stampMealEntryFiles() {
+        List<File> files = new ArrayList<>();
+        for (StorageFormat format : StorageFormat.values()) {
+            files.addAll(Arrays.asList(getStorage(format).getMealEntryFiles()));
+        }
+        files.add(new File(DATA_DIRECTORY + File.separator + MEAL_ENTRIES_JOURNAL_FILE));
+        return FileStamp.of(files.toArray(new File[0]));
+    }
+
+    private FileStamp stampMealOptionsFile() {
+        List<File> files = new ArrayList<>();
+        for (StorageFormat format : StorageFormat.values()) {
+            files.addAll(Arrays.asList(getStorage(format).getMealOptionFiles()));
+        }
+        return FileStamp.of(files.toArray(new File[0]));
+    }
+
+    /**
+     * Persists the changes directly through the storage backend, if it supports that.
+     * @param changes The changes to persist
+     * @param mealEntries The meal entries after the changes
+     * @return true if the backend persisted the changes, false if they have to be journaled
+     */
+    private boolean applyMealEntryChanges(List<MealEntryChange> changes, MealEntriesList mealEntries) {
+        try {
+            return getStorage().applyMealEntryChanges(changes, mealEntries);
+        } catch (IOException e) {
+            UI.printString("Error saving to file: " + getStorage().getMealEntryFiles()[0].getName() + ". "
+                    + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Determines which snapshot to read: the one in the configured storage format or,
+     * if only a snapshot in another format exists, that one so it can be migrated.
+     * @return The format of the snapshot to read
      */
-    private void saveMealToFile(List<Meal> meals, String fileName) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(DATA_DIRECTORY + File.separator + fileName))) {
-            for (Meal meal : meals) {
-                writer.write(meal.toSaveString());
-                writer.newLine();
+    private StorageFormat getMealEntrySnapshotFormat() {
+        if (hasMealEntrySnapshot(storageFormat)) {
+            return storageFormat;
+        }
+        for (StorageFormat otherFormat : StorageFormat.values()) {
+            if (hasMealEntrySnapshot(otherFormat)) {
+                return otherFormat;
             }
+        }
+        return storageFormat;
+    }
+
+    private boolean hasMealEntrySnapshot(StorageFormat format) {
+        return getStorage(format).hasMealEntries();
+    }
+
+    /**
+     * Reads the journal checkpoint recorded in the meal entries snapshot of the given format.
+     * @param format The format of the snapshot
+     * @return The checkpoint, or {@code Checkpoint.NONE} if the snapshot is missing or has none
+     */
+    private MealEntryJournal.Checkpoint readSnapshotCheckpoint(StorageFormat format) {
+        if (!hasMealEntrySnapshot(format)) {
+            return MealEntryJournal.Checkpoint.NONE;
+        }
+        try {
+            return getStorage(format).readMealEntryCheckpoint();
+        } catch (IOException e) {
+            return MealEntryJournal.Checkpoint.NONE;
+        }
+    }
+
+    /**
+     * Reads the per-day calorie rollups saved with the meal entries snapshot of the given format.
+     * @param format The format of the snapshot
+     * @param checkpoint The checkpoint recorded in the snapshot
+     * @return The rollups, or an empty Optional if none match the snapshot
+     */
+    private Optional<DailyCalorieRollups> readDailyRollups(StorageFormat format,
+                                                           MealEntryJournal.Checkpoint checkpoint) {
+        if (!hasMealEntrySnapshot(format)) {
+            return Optional.empty();
+        }
+        try {
+            return getStorage(format).readDailyRollups(checkpoint);
         } catch (IOException e) {
-            UI.printString("Error saving to file: " + fileName + ". " + e.getMessage());
+            return Optional.empty();
         }
     }
 
     /**
-     * Loads meals from a specified CSV file.
-     * @param fileName The name of the file to load from
-     * @param isEntry Whether the meals being loaded are meal entries (true) or meal options (false)
-     * @return A list of meals loaded from the file
+     * Reads the meal entries snapshot of the given format and migrates it if it is not in the configured format.
+     * Binary snapshots are memory-mapped and decoded lazily, segmented snapshots read each segment on demand.
+     * @param format The format of the snapshot to read
+     * @param checkpoint The checkpoint recorded in the snapshot, kept when migrating
+     * @return A pair of the meal entries read and the number of corrupted lines
      */
-    private List<Meal> loadMealFromFile(String fileName, boolean isEntry, boolean loadSilent) {
-        List<Meal> meals = new ArrayList<>();
-        int totalCorruptedMeals = 0;
-        File file = new File(DATA_DIRECTORY + File.separator + fileName);
-        
-        if (!file.exists()) {
-            if (!loadSilent) {
-                String mealTypeString = isEntry ? "Meal Entries" : "Meal Options";
-                UI.printString("No locally saved " + mealTypeString + " found.");
+    private Pair<MealEntriesList, Integer> readMealEntrySnapshot(StorageFormat format,
+                                                                 MealEntryJournal.Checkpoint checkpoint) {
+        Pair<MealEntriesList, Integer> snapshot = readMealEntrySnapshot(format);
+        if (format != storageFormat && snapshot.u() == 0) {
+            writeMealEntrySnapshot(snapshot.t().getMealEntries(), checkpoint);
+        }
+        return snapshot;
+    }
+
+    private Pair<MealEntriesList, Integer> readMealEntrySnapshot(StorageFormat format) {
+        Storage snapshotStorage = getStorage(format);
+        if (!snapshotStorage.hasMealEntries()) {
+            return new Pair<>(new MealEntriesList(), 0);
+        }
+        try {
+            return snapshotStorage.readMealEntries();
+        } catch (IOException e) {
+            UI.printString("Error loading from file: " + snapshotStorage.getMealEntryFiles()[0].getName() + ". "
+                    + e.getMessage());
+            return new Pair<>(new MealEntriesList(), 0);
+        }
+    }
+
+    /**
+     * Atomically writes the meal entries snapshot through the backend of the configured storage format.
+     * Snapshots in other formats are removed afterwards, so that exactly one snapshot is authoritative.
+     * @param mealEntries The meal entries to write
+     * @param checkpoint The journal checkpoint the meal entries correspond to
+     * @return true if the snapshot was written successfully
+     */
+    private boolean writeMealEntrySnapshot(List<Meal> mealEntries, MealEntryJournal.Checkpoint checkpoint) {
+        try {
+            getStorage().writeMealEntries(mealEntries, checkpoint);
+        } catch (IOException e) {
+            UI.printString("Error saving to file: " + getStorage().getMealEntryFiles()[0].getName() + ". "
+                    + e.getMessage());
+            return false;
+        }
+        for (StorageFormat otherFormat : StorageFormat.values()) {
+            if (otherFormat != storageFormat && hasMealEntrySnapshot(otherFormat)) {
+                getStorage(otherFormat).deleteMealEntries();
             }
-            return meals;
-        }
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                Pair<List<Meal>, Integer> parseResult = parseAndAddMeal(meals, parts, isEntry);
-                meals = parseResult.t();
-                totalCorruptedMeals += parseResult.u();
+        }
+        return true;
+    }
+
+    /**
+     * Determines which backend to read the meal options from: the configured one or,
+     * if only a backend keeping meal options in other files holds any, that one so they can be migrated.
+     * @return The backend holding the meal options
+     */
+    private Storage getMealOptionSource() {
+        Storage storage = getStorage();
+        if (storage.hasMealOptions()) {
+            return storage;
+        }
+        for (StorageFormat otherFormat : StorageFormat.values()) {
+            Storage otherStorage = getStorage(otherFormat);
+            boolean isSharingFiles = Arrays.equals(otherStorage.getMealOptionFiles(), storage.getMealOptionFiles());
+            if (!isSharingFiles && otherStorage.hasMealOptions()) {
+                return otherStorage;
             }
+        }
+        return storage;
+    }
+
+    private void migrateMealOptions(Storage source, List<Meal> mealOptions) {
+        try {
+            getStorage().writeMealOptions(mealOptions);
+            source.deleteMealOptions();
         } catch (IOException e) {
-            UI.printString("Error loading from file: " + fileName + ". " + e.getMessage());
+            UI.printString("Error saving to file: " + getStorage().getMealOptionFiles()[0].getName() + ". "
+                    + e.getMessage());
         }
-        if (totalCorruptedMeals > 0 && !loadSilent) {
-            String mealTypeString = isEntry ? "Meal Entries" : "Meal Options";
+    }
+
+    /**
+     * Prints whether loading meals succeeded, found no saved data or detected corrupted lines.
+     * @param isEntry Whether the loaded meals are meal entries (true) or meal options (false)
+     * @param isSaved Whether any saved data was found
+     * @param totalCorruptedMeals The number of corrupted lines detected while loading
+     * @param loadSilent Whether nothing should be printed
+     */
+    private void printLoadResult(boolean isEntry, boolean isSaved, int totalCorruptedMeals, boolean loadSilent) {
+        if (loadSilent) {
+            return;
+        }
+        String mealTypeString = isEntry ? "Meal Entries" : "Meal Options";
+        if (!isSaved) {
+            UI.printString("No locally saved " + mealTypeString + " found.");
+        } else if (totalCorruptedMeals > 0) {
             UI.printString("We found " + totalCorruptedMeals + " manually corrupted line(s) in: " + mealTypeString);
             UI.printString("If you want to keep your data close the app now and manually undo your modifications.");
             UI.printString("Otherwise, if you proceed using the app a new clean data file will overwrite this one.");
             UI.printString("To not loose your data in the future, please do not modify your files.");
-        } else if (totalCorruptedMeals == 0 && !loadSilent) {
-            String mealTypeString = isEntry ? "Meal Entries" : "Meal Options";
+        } else {
             UI.printString(mealTypeString + " Loaded Successfully!");
         }
-        return meals;
+    }
+
+    /**
+     * Parses a per-day calorie summary from its save string.
+     * @param saveString The total calories, meal count and heaviest meal entry in CSV format
+     * @return The parsed summary, or an empty Optional if the save string is corrupted
+     */
+    static Optional<DailyCalorieSummary> parseDailySummary(String saveString) {
+        String[] parts = saveString.split(",");
+        try {
+            List<Meal> heaviestMeal = parseAndAddMeal(new ArrayList<>(), Arrays.copyOfRange(parts, 2, parts.length),
+                    true).t();
+            if (parts.length < 5 || heaviestMeal.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(new DailyCalorieSummary(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                    Optional.of((MealEntry) heaviestMeal.get(0))));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Collapses consecutive meal entries of the same meal consumed at the same time into a single entry
+     * holding all their portions. Meal entries of several portions used to be saved as one row per portion.
+     * @param mealEntries The meal entries in log order
+     * @return The collapsed meal entries in log order
+     */
+    static ArrayList<Meal> collapsePortions(List<Meal> mealEntries) {
+        ArrayList<Meal> collapsedEntries = new ArrayList<>(mealEntries.size());
+        for (Meal meal : mealEntries) {
+            int lastIndex = collapsedEntries.size() - 1;
+            MealEntry mealEntry = (MealEntry) meal;
+            MealEntry lastEntry = lastIndex < 0 ? null : (MealEntry) collapsedEntries.get(lastIndex);
+            if (lastEntry != null && lastEntry.isSameMealAs(mealEntry)) {
+                collapsedEntries.set(lastIndex, lastEntry.withPortions(lastEntry.getPortions()
+                        + mealEntry.getPortions()));
+            } else {
+                collapsedEntries.add(mealEntry);
+            }
+        }
+        return collapsedEntries;
     }
 
     /**
      * Parses meal data from CSV format and adds it to the meals list.
+     * Meal entries carry the number of portions as an optional fourth field.
      * @param meals The list to add the parsed meal to
      * @param parts The array of strings containing the meal data
      * @param isEntry Whether the meal being parsed is a meal entry (true) or meal option (false)
      * @return The updated list of meals
      */
-    private Pair<List<Meal>, Integer> parseAndAddMeal(List<Meal> meals, String[] parts, boolean isEntry) {
-        boolean isCorrectMealEntry = isEntry && (parts.length == 3);
+    static Pair<List<Meal>, Integer> parseAndAddMeal(List<Meal> meals, String[] parts, boolean isEntry) {
+        boolean isCorrectMealEntry = isEntry && (parts.length == 3 || parts.length == 4);
         boolean isCorrectMeal = !isEntry && (parts.length == 2);
         int corruptedMealsDetected = 0;
         if (isCorrectMealEntry) {
             String name = parts[0].isEmpty() ? null : parts[0];
             int calories = Integer.parseInt(parts[1]);
             LocalDateTime timestamp = LocalDateTime.parse(parts[2].strip());
-            meals.add(new MealEntry(Optional.ofNullable(name), calories, timestamp));
+            int portions = parts.length == 4 ? Integer.parseInt(parts[3].strip()) : 1;
+            if (portions > 0) {
+                meals.add(new MealEntry(internName(name), calories, timestamp, portions));
+            } else {
+                corruptedMealsDetected++;
+            }
         } else if (isCorrectMeal) {
             String name = parts[0].isEmpty() ? null : parts[0];
             int calories = Integer.parseInt(parts[1]);
-            meals.add(new Meal(Optional.ofNullable(name), calories));
+            meals.add(new Meal(internName(name), calories));
         } else {
             corruptedMealsDetected++;
         }
         return new Pair<List<Meal>, Integer>(meals, corruptedMealsDetected);
     }
+
+    /**
+     * Interns a parsed meal name into the shared {@link MealNameTable}, so that a name repeated over many rows
+     * is held only once.
+     * @param name The parsed name, or null for unnamed meals
+     * @return The shared instance of the name
+     */
+    private static Optional<String> internName(String name) {
+        return MealNameTable.getShared().internName(Optional.ofNullable(name));
+    }
 }
@@ -0,0 +1,267 @@
+package seedu.healthmate.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.core.MealList;
+import seedu.healthmate.exceptions.BadCalorieException;
+import seedu.healthmate.exceptions.BadPortionException;
+import seedu.healthmate.exceptions.BadTimestampException;
+import seedu.healthmate.exceptions.EmptyCalorieException;
+import seedu.healthmate.exceptions.EmptyTimestampException;
+import seedu.healthmate.utils.JsonLines;
+import seedu.healthmate.utils.ParsedParameters;
+
+/**
+ * Imports meal entries from CSV or JSON lines files, reading the file line by line.
+ * CSV rows hold {@code name,calories[,timestamp[,portions]]}, the layout of the meal entries save file, and
+ * JSON lines hold objects with the keys {@code name}, {@code calories}, {@code timestamp} and {@code portions}.
+ * Every record is validated with the rules of {@code add mealEntry}: calories and portions are parsed like
+ * their /c and /p parameters, dates may not lie in the future, descriptions are limited in length and
+ * calories can be taken from the meal menu. Valid records are appended in batches, invalid ones are counted
+ * and skipped.
+ */
+public class MealEntryImporter {
+    public static final int BATCH_SIZE = 1024;
+    private static final int MAX_REPORTED_REJECTIONS = 5;
+    private static final String CSV_SEPARATOR = ",";
+    private static final String JSON_OBJECT_START = "{";
+    private static final String COMMENT_PREFIX = "#";
+    private static final String CALORIES_HEADER = "calories";
+    private static final int DATE_LENGTH = "yyyy-MM-dd".length();
+    private static final char TIME_SEPARATOR = 'T';
+
+    /**
+     * The outcome of an import.
+     */
+    public static class ImportResult {
+        private final int importedCount;
+        private final int rejectedCount;
+        private final List<String> rejections;
+        private final long elapsedNanos;
+
+        private ImportResult(int importedCount, int rejectedCount, List<String> rejections, long elapsedNanos) {
+            this.importedCount = importedCount;
+            this.rejectedCount = rejectedCount;
+            this.rejections = rejections;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getImportedCount() {
+            return this.importedCount;
+        }
+
+        public int getRejectedCount() {
+            return this.rejectedCount;
+        }
+
+        /**
+         * Returns the reasons of the first rejected records, prefixed with their line numbers.
+         * @return At most five reasons, in file order
+         */
+        public List<String> getRejections() {
+            return this.rejections;
+        }
+
+        public long getElapsedMillis() {
+            return this.elapsedNanos / 1_000_000;
+        }
+
+        /**
+         * Returns the number of records read per second, including rejected ones.
+         * @return The throughput of the import
+         */
+        public long getRecordsPerSecond() {
+            return (importedCount + rejectedCount) * 1_000_000_000L / Math.max(elapsedNanos, 1);
+        }
+    }
+
+    private final MealList mealOptions;
+
+    /**
+     * Constructs an importer that looks up the calories of records without calories in the meal menu.
+     * @param mealOptions The meal menu
+     */
+    public MealEntryImporter(MealList mealOptions) {
+        this.mealOptions = mealOptions;
+    }
+
+    /**
+     * Appends the valid records of a file to the meal entries without printing them. The entries are not
+     * recorded as pending changes, so the meal entries need to be saved in full afterwards.
+     * If the file cannot be read to its end, the entries appended so far are removed again.
+     * @param file The CSV or JSON lines file to import
+     * @param mealEntries The meal entries to append to
+     * @return The number of imported and rejected records
+     * @throws IOException if the file cannot be read
+     */
+    public ImportResult importFile(Path file, MealEntriesList mealEntries) throws IOException {
+        long startTime = System.nanoTime();
+        List<MealEntry> batch = new ArrayList<>(BATCH_SIZE);
+        List<String> rejections = new ArrayList<>();
+        int importedCount = 0;
+        int rejectedCount = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String record = line.strip();
+                if (record.isEmpty() || record.startsWith(COMMENT_PREFIX) || isCsvHeader(record)) {
+                    continue;
+                }
+                try {
+                    batch.add(parseRecord(record));
+                } catch (IllegalArgumentException e) {
+                    rejectedCount++;
+                    if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                        rejections.add("Line " + lineNumber + ": " + e.getMessage());
+                    }
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    importedCount += appendBatch(batch, mealEntries);
+                }
+            }
+            importedCount += appendBatch(batch, mealEntries);
+        } catch (IOException e) {
+            for (int i = 0; i < importedCount; i++) {
+                mealEntries.removeMealWithoutCLIMessage(mealEntries.size());
+            }
+            throw e;
+        }
+        return new ImportResult(importedCount, rejectedCount, rejections, System.nanoTime() - startTime);
+    }
+
+    private static int appendBatch(List<MealEntry> batch, MealEntriesList mealEntries) {
+        int batchSize = batch.size();
+        mealEntries.addMealsWithoutCLIMessage(batch);
+        batch.clear();
+        return batchSize;
+    }
+
+    private static boolean isCsvHeader(String record) {
+        String[] fields = record.split(CSV_SEPARATOR);
+        return !record.startsWith(JSON_OBJECT_START) && fields.length > 1
+                && fields[1].strip().equalsIgnoreCase(CALORIES_HEADER);
+    }
+
+    /**
+     * Parses a CSV row or JSON line into a meal entry.
+     * @throws IllegalArgumentException with the reason if the record is malformed or invalid
+     */
+    private MealEntry parseRecord(String record) {
+        if (record.startsWith(JSON_OBJECT_START)) {
+            Map<String, String> values = JsonLines.parseObject(record);
+            return toMealEntry(values.get("name"), values.get("calories"), values.get("timestamp"),
+                    values.get("portions"));
+        }
+        String[] fields = record.split(CSV_SEPARATOR, -1);
+        if (fields.length < 2 || fields.length > 4) {
+            throw new IllegalArgumentException("Expected name,calories[,timestamp[,portions]]");
+        }
+        return toMealEntry(fields[0], fields[1], fields.length > 2 ? fields[2] : null,
+                fields.length > 3 ? fields[3] : null);
+    }
+
+    /**
+     * Validates the fields of a record like the parameters of {@code add mealEntry}.
+     * Missing fields are null or empty. Timestamps are dates, optionally followed by an ISO time of day.
+     */
+    private MealEntry toMealEntry(String name, String calories, String timestamp, String portions) {
+        Optional<String> description = Optional.ofNullable(name).map(value -> value.strip().toLowerCase())
+                .filter(value -> !value.isEmpty());
+        if (description.isPresent() && description.get().chars().anyMatch(c -> c == ',' || Character.isISOControl(c))) {
+            throw new IllegalArgumentException("No commas or line breaks allowed in names");
+        }
+        if (description.orElse("").length() > Meal.MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("Keep description to less than " + Meal.MAX_DESCRIPTION_LENGTH
+                    + " characters");
+        }
+
+        String dateField = isPresent(timestamp) ? timestamp.strip() : "";
+        String timeField = dateField.length() > DATE_LENGTH ? dateField.substring(DATE_LENGTH) : "";
+        StringBuilder parameterString = new StringBuilder();
+        appendParameter(parameterString, "/c", calories);
+        appendParameter(parameterString, "/p", portions);
+        appendParameter(parameterString, "/t", dateField.substring(0, Math.min(dateField.length(), DATE_LENGTH)));
+        ParsedParameters parameters = ParsedParameters.parse(parameterString.toString());
+
+        try {
+            int portionCount = parameters.getPortions();
+            int calorieCount = getCalories(parameters, description);
+            LocalDateTime consumedAt = getTimestamp(parameters, timeField);
+            return new MealEntry(description, calorieCount, consumedAt, portionCount);
+        } catch (BadPortionException e) {
+            throw new IllegalArgumentException("Portions need to be a positive integer");
+        } catch (BadCalorieException e) {
+            throw new IllegalArgumentException("Calories need to be an integer between 0 and 2147483647");
+        } catch (BadTimestampException e) {
+            throw new IllegalArgumentException("Timestamps need to be past dates formatted as YYYY-MM-DD");
+        }
+    }
+
+    private int getCalories(ParsedParameters parameters, Optional<String> description) throws BadCalorieException {
+        try {
+            return parameters.getCalories();
+        } catch (EmptyCalorieException e) {
+            return mealOptions.getCaloriesByMealName(description.orElse(""))
+                    .orElseThrow(() -> new IllegalArgumentException("Meals without calories need to be saved "
+                            + "to the meal menu first"));
+        }
+    }
+
+    private static LocalDateTime getTimestamp(ParsedParameters parameters, String timeField)
+            throws BadTimestampException {
+        LocalDate date;
+        try {
+            date = parameters.getTimestamp();
+        } catch (EmptyTimestampException e) {
+            return LocalDateTime.now();
+        }
+        if (MealEntry.isFutureDate(date)) {
+            throw new BadTimestampException();
+        }
+        if (timeField.isEmpty()) {
+            return date.atStartOfDay();
+        }
+        if (timeField.charAt(0) != TIME_SEPARATOR) {
+            throw new BadTimestampException();
+        }
+        try {
+            return date.atTime(LocalTime.parse(timeField.substring(1)));
+        } catch (DateTimeParseException e) {
+            throw new BadTimestampException();
+        }
+    }
+
+    /**
+     * Appends a field as a parameter of the given signaller. Fields holding whitespace or a signaller are
+     * made malformed, as they would otherwise be read as further parameters.
+     */
+    private static void appendParameter(StringBuilder parameterString, String signaller, String field) {
+        if (!isPresent(field)) {
+            return;
+        }
+        String value = field.strip();
+        boolean isPlain = value.chars().noneMatch(c -> c == '/' || Character.isWhitespace(c));
+        parameterString.append(signaller).append(isPlain ? value : "x").append(' ');
+    }
+
+    private static boolean isPresent(String field) {
+        return field != null && !field.isBlank();
+    }
+}
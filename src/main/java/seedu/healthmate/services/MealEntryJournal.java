@@ -0,0 +1,298 @@
+package seedu.healthmate.services;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntryChange;
+import seedu.healthmate.utils.AtomicFileWriter;
+
+/**
+ * Append-only journal of meal entry additions and deletions, used as a write-ahead log.
+ * Each mutation of the meal log costs a single appended and flushed line. The journal is replayed on top of
+ * the meal entries snapshot when loading and is reset whenever the snapshot is rewritten (compaction).
+ * <p>
+ * Every journal starts with an epoch header and every snapshot records a {@link Checkpoint}: the journal
+ * epoch and the number of its records already contained in the snapshot. If the app crashes after a
+ * snapshot was replaced but before the journal was reset, replaying skips the records already compacted.
+ * <p>
+ * The epoch header also records the journal format version. Journals without a version were written when
+ * every portion of a meal was a meal entry of its own, so their delete records count portions, not entries.
+ */
+public class MealEntryJournal {
+    public static final String ADD_RECORD = "add";
+    public static final String DELETE_RECORD = "delete";
+    public static final String EPOCH_HEADER = "#epoch";
+    public static final int FORMAT_VERSION = 2;
+    private static final int LEGACY_FORMAT_VERSION = 1;
+
+    private final File journalFile;
+    private int recordCount;
+    private int epoch;
+    private boolean isLegacyFormat;
+
+    /**
+     * Identifies how many records of which journal epoch are contained in a snapshot.
+     */
+    public static class Checkpoint {
+        public static final String CHECKPOINT_HEADER = "#checkpoint";
+        public static final Checkpoint NONE = new Checkpoint(0, 0);
+
+        private final int epoch;
+        private final int recordCount;
+
+        public Checkpoint(int epoch, int recordCount) {
+            this.epoch = epoch;
+            this.recordCount = recordCount;
+        }
+
+        /**
+         * Parses a checkpoint from its CSV header line.
+         * @param line The first line of a CSV snapshot
+         * @return The parsed checkpoint, or {@code NONE} if the line is not a checkpoint header
+         */
+        public static Checkpoint fromHeaderLine(String line) {
+            String[] parts = line == null ? new String[0] : line.split(",");
+            if (parts.length != 3 || !parts[0].equals(CHECKPOINT_HEADER)) {
+                return NONE;
+            }
+            try {
+                return new Checkpoint(Integer.parseInt(parts[1].strip()), Integer.parseInt(parts[2].strip()));
+            } catch (NumberFormatException e) {
+                return NONE;
+            }
+        }
+
+        /**
+         * Checks if a line is a checkpoint header rather than, e.g., a meal whose name starts with '#'.
+         * @param line A line of a CSV snapshot
+         * @return true if the line parses as a checkpoint header
+         */
+        public static boolean isHeaderLine(String line) {
+            return fromHeaderLine(line) != NONE;
+        }
+
+        public int getEpoch() {
+            return this.epoch;
+        }
+
+        public int getRecordCount() {
+            return this.recordCount;
+        }
+
+        public String toHeaderLine() {
+            return CHECKPOINT_HEADER + "," + this.epoch + "," + this.recordCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Checkpoint of epoch " + this.epoch + " after " + this.recordCount + " record(s)";
+        }
+    }
+
+    /**
+     * Creates a journal backed by the given file. The file is only created on the first append.
+     * @param journalFile The file the journal records are appended to
+     */
+    public MealEntryJournal(File journalFile) {
+        this.journalFile = journalFile;
+        this.recordCount = 0;
+        this.epoch = 0;
+        this.isLegacyFormat = false;
+    }
+
+    public boolean exists() {
+        return this.journalFile.exists();
+    }
+
+    /**
+     * Returns the number of records in the journal as of the last replay, append or clear.
+     * @return Number of journal records not yet compacted into the snapshot
+     */
+    public int getRecordCount() {
+        return this.recordCount;
+    }
+
+    /**
+     * Returns the checkpoint a snapshot has to record if it contains all records of this journal.
+     * @return The current epoch and record count of the journal
+     */
+    public Checkpoint getCheckpoint() {
+        return new Checkpoint(this.epoch, this.recordCount);
+    }
+
+    /**
+     * Appends the given changes to the end of the journal and flushes them to disk.
+     * An empty journal of the legacy format is restarted in the current format first.
+     * @param changes The changes to persist, in the order they were applied
+     * @throws IOException if the journal file cannot be written or still holds records of the legacy format
+     */
+    public void append(List<MealEntryChange> changes) throws IOException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (this.isLegacyFormat && this.recordCount > 0) {
+            throw new IOException("Journal of the legacy format has to be compacted first");
+        } else if (this.isLegacyFormat) {
+            reset();
+        }
+        boolean isNewJournal = !this.journalFile.exists();
+        try (FileOutputStream fileOut = new FileOutputStream(this.journalFile, true)) {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(fileOut, StandardCharsets.UTF_8));
+            if (isNewJournal) {
+                writer.write(toEpochHeader(this.epoch));
+                writer.newLine();
+            }
+            for (MealEntryChange change : changes) {
+                writer.write(toRecord(change));
+                writer.newLine();
+            }
+            writer.flush();
+            fileOut.getFD().sync();
+        }
+        this.recordCount += changes.size();
+    }
+
+    /**
+     * Applies all journal records, in order, to a list of meal entries loaded from the snapshot.
+     * Records already contained in the snapshot according to its checkpoint are skipped.
+     * @param mealEntries The meal entries loaded from the snapshot, modified in place
+     * @param snapshotCheckpoint The checkpoint recorded in the snapshot
+     * @return The number of corrupted journal records
+     * @throws IOException if the journal file cannot be read
+     */
+    public int replay(MealEntriesList mealEntries, Checkpoint snapshotCheckpoint) throws IOException {
+        int corruptedRecords = 0;
+        this.recordCount = 0;
+        this.isLegacyFormat = false;
+        if (!this.journalFile.exists()) {
+            this.epoch = snapshotCheckpoint.getEpoch() + 1;
+            return corruptedRecords;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(this.journalFile, StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            this.epoch = parseEpoch(line);
+            this.isLegacyFormat = parseVersion(line) == LEGACY_FORMAT_VERSION;
+            if (line != null && line.startsWith(EPOCH_HEADER)) {
+                line = reader.readLine();
+            }
+            int skippedRecords = this.epoch == snapshotCheckpoint.getEpoch()
+                    ? snapshotCheckpoint.getRecordCount()
+                    : 0;
+            for (; line != null; line = reader.readLine()) {
+                this.recordCount++;
+                if (this.recordCount > skippedRecords) {
+                    corruptedRecords += applyRecord(mealEntries, line.split(","), this.isLegacyFormat) ? 0 : 1;
+                }
+            }
+        }
+        return corruptedRecords;
+    }
+
+    /**
+     * Starts a new, empty journal epoch after all records have been compacted into the snapshot.
+     * @throws IOException if the journal file cannot be replaced
+     */
+    public void reset() throws IOException {
+        int nextEpoch = this.epoch + 1;
+        byte[] header = (toEpochHeader(nextEpoch) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        AtomicFileWriter.write(this.journalFile, out -> out.write(header));
+        this.epoch = nextEpoch;
+        this.recordCount = 0;
+        this.isLegacyFormat = false;
+    }
+
+    /**
+     * Parses the epoch from the first line of a journal. Journals without header belong to epoch 0.
+     * @param firstLine The first line of the journal, or null if it is empty
+     * @return The epoch of the journal
+     */
+    private static int parseEpoch(String firstLine) {
+        if (firstLine == null || !firstLine.startsWith(EPOCH_HEADER)) {
+            return 0;
+        }
+        String[] parts = firstLine.split(",");
+        try {
+            return Integer.parseInt(parts[1].strip());
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Parses the format version from the first line of a journal.
+     * Journals without header or without a version in it are of the legacy format.
+     * @param firstLine The first line of the journal, or null if it is empty
+     * @return The format version of the journal
+     */
+    private static int parseVersion(String firstLine) {
+        String[] parts = firstLine == null || !firstLine.startsWith(EPOCH_HEADER)
+                ? new String[0]
+                : firstLine.split(",");
+        try {
+            return parts.length < 3 ? LEGACY_FORMAT_VERSION : Integer.parseInt(parts[2].strip());
+        } catch (NumberFormatException e) {
+            return LEGACY_FORMAT_VERSION;
+        }
+    }
+
+    private static String toEpochHeader(int epoch) {
+        return EPOCH_HEADER + "," + epoch + "," + FORMAT_VERSION;
+    }
+
+    private static String toRecord(MealEntryChange change) {
+        switch (change.getType()) {
+        case ADD:
+            return ADD_RECORD + "," + change.getMealEntry().toSaveString();
+        case DELETE:
+            return DELETE_RECORD + "," + change.getMealNumber();
+        default:
+            throw new IllegalArgumentException("Unknown meal entry change: " + change);
+        }
+    }
+
+    /**
+     * Applies a single journal record to the list of meal entries.
+     * @param mealEntries The meal entries to modify
+     * @param parts The comma separated fields of the journal record
+     * @param isCountingPortions Whether delete records identify a single portion rather than a meal entry
+     * @return true if the record was well formed and applied, false if it is corrupted
+     */
+    private static boolean applyRecord(MealEntriesList mealEntries, String[] parts, boolean isCountingPortions) {
+        try {
+            if (parts[0].equals(ADD_RECORD)) {
+                String[] mealParts = Arrays.copyOfRange(parts, 1, parts.length);
+                List<Meal> parsedMeals = new ArrayList<>();
+                if (HistoryTracker.parseAndAddMeal(parsedMeals, mealParts, true).u() > 0) {
+                    return false;
+                }
+                mealEntries.addMealWithoutCLIMessage(parsedMeals.get(0));
+                return true;
+            } else if (parts[0].equals(DELETE_RECORD) && parts.length == 2) {
+                int mealNumber = Integer.parseInt(parts[1].strip());
+                if (isCountingPortions && mealNumber >= 1) {
+                    mealEntries.removePortionWithoutCLIMessage(mealNumber);
+                    return true;
+                }
+                if (mealNumber < 1 || mealNumber > mealEntries.size()) {
+                    return false;
+                }
+                mealEntries.removeMealWithoutCLIMessage(mealNumber);
+                return true;
+            }
+        } catch (RuntimeException e) {
+            return false;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,197 @@
+package seedu.healthmate.services;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import seedu.healthmate.core.Meal;
+
+/**
+ * Keyed store for meal options, persisted as a CSV snapshot plus an append-only change log.
+ * Meal options are keyed by their normalized (stripped, lower case) name. The store keeps a hash index of
+ * the persisted options, so saving only diffs the in-memory options against the index and appends the
+ * added, changed and deleted records to the log instead of rewriting the whole file.
+ * <p>
+ * Log records are {@code put,<name>,<calories>} and {@code remove,<name>}. Both are idempotent, so the log
+ * can safely be replayed on top of a snapshot that already contains some of its records. The log is
+ * compacted into the snapshot once it grows large.
+ */
+public class MealOptionStore {
+    public static final String PUT_RECORD = "put";
+    public static final String REMOVE_RECORD = "remove";
+    private static final int LOG_COMPACTION_THRESHOLD = 200;
+
+    private final File snapshotFile;
+    private final File logFile;
+    private final LinkedHashMap<String, Meal> persistedOptions;
+    private int logRecordCount;
+
+    /**
+     * Creates a store backed by the given files. The log file is only created on the first save.
+     * @param snapshotFile The CSV file holding the compacted meal options
+     * @param logFile The file the changed records are appended to
+     */
+    public MealOptionStore(File snapshotFile, File logFile) {
+        this.snapshotFile = snapshotFile;
+        this.logFile = logFile;
+        this.persistedOptions = new LinkedHashMap<>();
+        this.logRecordCount = 0;
+    }
+
+    /**
+     * Normalizes a meal name into the key it is stored under.
+     * @param name The name of the meal
+     * @return The stripped, lower case name, or an empty string for unnamed meals
+     */
+    public static String toKey(Optional<String> name) {
+        return name.orElse("").strip().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean exists() {
+        return this.snapshotFile.exists() || this.logFile.exists();
+    }
+
+    /**
+     * Rebuilds the index from the meals read from the snapshot and replays the log on top.
+     * Meals sharing a key are deduplicated, the last one wins but keeps the position of the first.
+     * @param snapshotMeals The meal options read from the snapshot file
+     * @return The number of corrupted log records
+     * @throws IOException if the log file cannot be read
+     */
+    public int load(List<Meal> snapshotMeals) throws IOException {
+        this.persistedOptions.clear();
+        this.logRecordCount = 0;
+        for (Meal meal : snapshotMeals) {
+            this.persistedOptions.put(toKey(meal.getName()), meal);
+        }
+        int corruptedRecords = 0;
+        if (!this.logFile.exists()) {
+            return corruptedRecords;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(this.logFile, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                this.logRecordCount++;
+                corruptedRecords += applyRecord(line.split(",")) ? 0 : 1;
+            }
+        }
+        return corruptedRecords;
+    }
+
+    /**
+     * Returns the persisted meal options in insertion order.
+     * @return A copy of the meal options held by the index
+     */
+    public List<Meal> getMealOptions() {
+        return new ArrayList<>(this.persistedOptions.values());
+    }
+
+    /**
+     * Persists the given meal options by appending only the records that differ from the index.
+     * Falls back to rewriting the snapshot if nothing was saved yet, the log grew too large, the diff is larger
+     * than the options themselves or appending fails.
+     * @param mealOptions The meal options currently held in memory
+     * @throws IOException if neither the log nor the snapshot can be written
+     */
+    public void save(List<Meal> mealOptions) throws IOException {
+        LinkedHashMap<String, Meal> currentOptions = new LinkedHashMap<>();
+        for (Meal meal : mealOptions) {
+            currentOptions.put(toKey(meal.getName()), meal);
+        }
+
+        List<String> records = new ArrayList<>();
+        for (String key : this.persistedOptions.keySet()) {
+            if (!currentOptions.containsKey(key)) {
+                records.add(REMOVE_RECORD + "," + key);
+            }
+        }
+        for (Map.Entry<String, Meal> option : currentOptions.entrySet()) {
+            Meal persistedMeal = this.persistedOptions.get(option.getKey());
+            String saveString = option.getValue().toSaveString();
+            if (persistedMeal == null || !persistedMeal.toSaveString().equals(saveString)) {
+                records.add(PUT_RECORD + "," + saveString);
+            }
+        }
+        if (records.isEmpty() && this.exists()) {
+            return;
+        }
+
+        boolean shouldCompact = this.logRecordCount + records.size() >= LOG_COMPACTION_THRESHOLD
+                || records.size() > currentOptions.size() || !this.exists();
+        if (!shouldCompact) {
+            try {
+                append(records);
+            } catch (IOException e) {
+                shouldCompact = true;
+            }
+        }
+        if (shouldCompact) {
+            compact(new ArrayList<>(currentOptions.values()));
+        }
+        this.persistedOptions.clear();
+        this.persistedOptions.putAll(currentOptions);
+    }
+
+    /**
+     * Atomically rewrites the snapshot with the given meal options and removes the log.
+     * @param mealOptions The complete meal options to persist
+     * @throws IOException if the snapshot cannot be written
+     */
+    private void compact(List<Meal> mealOptions) throws IOException {
+        FileStorage.writeMealsToFile(mealOptions, this.snapshotFile, List.of());
+        this.logFile.delete();
+        this.logRecordCount = 0;
+    }
+
+    private void append(List<String> records) throws IOException {
+        try (FileOutputStream fileOut = new FileOutputStream(this.logFile, true)) {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(fileOut, StandardCharsets.UTF_8));
+            for (String record : records) {
+                writer.write(record);
+                writer.newLine();
+            }
+            writer.flush();
+            fileOut.getFD().sync();
+        }
+        this.logRecordCount += records.size();
+    }
+
+    /**
+     * Applies a single log record to the index.
+     * An updated meal keeps its position, a new meal is appended at the end.
+     * @param parts The comma separated fields of the log record
+     * @return true if the record was well formed and applied, false if it is corrupted
+     */
+    private boolean applyRecord(String[] parts) {
+        try {
+            if (parts[0].equals(PUT_RECORD)) {
+                List<Meal> parsedMeals = new ArrayList<>();
+                String[] mealParts = Arrays.copyOfRange(parts, 1, parts.length);
+                if (HistoryTracker.parseAndAddMeal(parsedMeals, mealParts, false).u() > 0) {
+                    return false;
+                }
+                Meal meal = parsedMeals.get(0);
+                this.persistedOptions.put(toKey(meal.getName()), meal);
+                return true;
+            } else if (parts[0].equals(REMOVE_RECORD) && parts.length == 2) {
+                this.persistedOptions.remove(toKey(Optional.of(parts[1])));
+                return true;
+            }
+        } catch (RuntimeException e) {
+            return false;
+        }
+        return false;
+    }
+}
@@ -9,6 +9,7 @@ import seedu.healthmate.core.MealList;
 import seedu.healthmate.exceptions.BadCalorieException;
 import seedu.healthmate.exceptions.EmptyCalorieException;
 import seedu.healthmate.utils.DuplicateEntryChecker;
+import seedu.healthmate.utils.ParsedParameters;
 
 /**
  * Service class responsible for saving and managing meal data.
@@ -34,12 +35,13 @@ public class MealSaver {
      */
     public Optional<Meal> extractMealFromUserInput(String userInput) {
         try {
-            if (userInput.contains(",")) {
+            ParsedParameters parameters = ParsedParameters.parse(userInput);
+            if (parameters.containsComma()) {
                 UI.printReply("No Commas Allowed", "Retry: ");
                 return Optional.empty();
             }
             String command = "save meal";
-            Meal meal = Meal.extractMealFromString(userInput, command);
+            Meal meal = Meal.extractMeal(parameters, command);
             if (meal.descriptionIsEmpty()) {
                 UI.printReply("Meal options require a name", "Retry: ");
                 return Optional.empty();
@@ -62,7 +64,7 @@ public class MealSaver {
      * @param mealList The list to save the meal to
      */
     public void saveMeal(Meal meal, MealList mealList) {
-        if (DuplicateEntryChecker.isDuplicate(meal.getName(), mealList.getMealList())) {
+        if (DuplicateEntryChecker.isDuplicate(meal.getName(), mealList)) {
             List<String> messages = List.of("Duplicate meal found: " + meal.getName().orElse(""),
                     "Updated existing meal with new meal specifics!");
             UI.printMultiLineReply(messages);
@@ -0,0 +1,148 @@
+package seedu.healthmate.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.utils.Pair;
+
+/**
+ * Reads meal CSV files by splitting them into line-aligned chunks that are parsed in parallel
+ * on the common fork-join pool. The parsed chunks are merged in file order, so the result is identical
+ * to reading the file line by line, including the number of corrupted lines.
+ * Small files end up in a single chunk and are parsed on the calling thread.
+ */
+public class ParallelMealCsvReader {
+    private static final int MIN_CHUNK_BYTES = 1 << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final byte LINE_FEED = '\n';
+    private static final char CARRIAGE_RETURN = '\r';
+
+    /**
+     * Parses a range of chunks, splitting it in halves until a single chunk remains.
+     */
+    private static class ParseTask extends RecursiveTask<Pair<List<Meal>, Integer>> {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] content;
+        private final int[] chunkStarts;
+        private final int fromChunk;
+        private final int toChunk;
+        private final boolean isEntry;
+        private final int headerLineCount;
+
+        private ParseTask(byte[] content, int[] chunkStarts, int fromChunk, int toChunk, boolean isEntry,
+                          int headerLineCount) {
+            this.content = content;
+            this.chunkStarts = chunkStarts;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.isEntry = isEntry;
+            this.headerLineCount = headerLineCount;
+        }
+
+        @Override
+        protected Pair<List<Meal>, Integer> compute() {
+            if (toChunk - fromChunk == 1) {
+                return parseChunk(content, chunkStarts[fromChunk], chunkStarts[toChunk], isEntry,
+                        fromChunk == 0 ? headerLineCount : 0);
+            }
+            int middleChunk = (fromChunk + toChunk) >>> 1;
+            ParseTask secondHalf = new ParseTask(content, chunkStarts, middleChunk, toChunk, isEntry, headerLineCount);
+            secondHalf.fork();
+            Pair<List<Meal>, Integer> firstResult =
+                    new ParseTask(content, chunkStarts, fromChunk, middleChunk, isEntry, headerLineCount).compute();
+            Pair<List<Meal>, Integer> secondResult = secondHalf.join();
+            List<Meal> meals = firstResult.t();
+            meals.addAll(secondResult.t());
+            return new Pair<>(meals, firstResult.u() + secondResult.u());
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private ParallelMealCsvReader() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Reads and parses all meals of a CSV file following its header lines.
+     * The header lines are skipped in the first chunk, which is large enough to hold them.
+     * @param file The file to read
+     * @param isEntry Whether the file holds meal entries (true) or meal options (false)
+     * @param headerLineCount The number of metadata lines at the start of the file
+     * @return A pair of the meals in file order and the number of corrupted lines
+     * @throws IOException if the file cannot be read
+     */
+    public static Pair<List<Meal>, Integer> read(File file, boolean isEntry, int headerLineCount)
+            throws IOException {
+        byte[] content = Files.readAllBytes(file.toPath());
+        if (content.length == 0) {
+            return new Pair<>(new ArrayList<>(), 0);
+        }
+        int[] chunkStarts = splitIntoChunks(content, ForkJoinPool.getCommonPoolParallelism());
+        ParseTask task = new ParseTask(content, chunkStarts, 0, chunkStarts.length - 1, isEntry, headerLineCount);
+        return chunkStarts.length == 2 ? task.compute() : ForkJoinPool.commonPool().invoke(task);
+    }
+
+    /**
+     * Splits the content into chunks of roughly equal size that each end after a line feed.
+     * @param content The bytes of the file
+     * @param parallelism The number of threads available for parsing
+     * @return The start offsets of all chunks followed by the length of the content
+     */
+    static int[] splitIntoChunks(byte[] content, int parallelism) {
+        int chunkBytes = Math.max(MIN_CHUNK_BYTES, content.length / Math.max(1, parallelism * CHUNKS_PER_THREAD));
+        List<Integer> chunkStarts = new ArrayList<>();
+        int chunkStart = 0;
+        while (chunkStart < content.length) {
+            chunkStarts.add(chunkStart);
+            int chunkEnd = (int) Math.min((long) chunkStart + chunkBytes, content.length);
+            while (chunkEnd < content.length && content[chunkEnd - 1] != LINE_FEED) {
+                chunkEnd++;
+            }
+            chunkStart = chunkEnd;
+        }
+        chunkStarts.add(content.length);
+        return chunkStarts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Parses all lines of a chunk like {@code BufferedReader.readLine} would split them.
+     * @param content The bytes of the file
+     * @param from The offset of the first byte of the chunk
+     * @param to The offset after the last byte of the chunk
+     * @param isEntry Whether the chunk holds meal entries (true) or meal options (false)
+     * @param skippedLines The number of lines at the start of the chunk that are header lines
+     * @return A pair of the meals of the chunk and the number of corrupted lines
+     */
+    private static Pair<List<Meal>, Integer> parseChunk(byte[] content, int from, int to, boolean isEntry,
+                                                        int skippedLines) {
+        String chunk = new String(content, from, to - from, Charset.defaultCharset());
+        List<Meal> meals = new ArrayList<>();
+        int totalCorruptedMeals = 0;
+        int lineStart = 0;
+        int lineNumber = 0;
+        while (lineStart < chunk.length()) {
+            int lineEnd = chunk.indexOf(LINE_FEED, lineStart);
+            int nextLineStart = lineEnd == -1 ? chunk.length() : lineEnd + 1;
+            if (lineEnd == -1) {
+                lineEnd = chunk.length();
+            }
+            if (lineEnd > lineStart && chunk.charAt(lineEnd - 1) == CARRIAGE_RETURN) {
+                lineEnd--;
+            }
+            String line = chunk.substring(lineStart, lineEnd);
+            if (lineNumber++ >= skippedLines) {
+                totalCorruptedMeals += HistoryTracker.parseAndAddMeal(meals, line.split(","), isEntry).u();
+            }
+            lineStart = nextLineStart;
+        }
+        return new Pair<>(meals, totalCorruptedMeals);
+    }
+}
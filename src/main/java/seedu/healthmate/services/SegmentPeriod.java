@@ -0,0 +1,82 @@
+package seedu.healthmate.services;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * The time span covered by a single meal entry segment file when meal entries are stored
+ * in {@link StorageFormat#SEGMENTED} format.
+ * The period is selected with the {@code healthmate.segment.period} system property
+ * (e.g. {@code -Dhealthmate.segment.period=day}) and defaults to one month.
+ */
+public enum SegmentPeriod {
+    DAY,
+    MONTH,
+    YEAR;
+
+    public static final String SYSTEM_PROPERTY = "healthmate.segment.period";
+
+    /**
+     * Returns the first day of the period containing the given date.
+     * @param date Any date within the period
+     * @return The inclusive start of the period
+     */
+    public LocalDate startOf(LocalDate date) {
+        switch (this) {
+        case DAY:
+            return date;
+        case MONTH:
+            return date.withDayOfMonth(1);
+        default:
+            return date.withDayOfYear(1);
+        }
+    }
+
+    /**
+     * Returns the first day after the period starting at the given date.
+     * @param start The start of the period
+     * @return The exclusive end of the period
+     */
+    public LocalDate endOf(LocalDate start) {
+        switch (this) {
+        case DAY:
+            return start.plusDays(1);
+        case MONTH:
+            return start.plusMonths(1);
+        default:
+            return start.plusYears(1);
+        }
+    }
+
+    /**
+     * Formats the period starting at the given date for use in a segment file name,
+     * e.g. {@code 2024-10-30}, {@code 2024-10} or {@code 2024}.
+     * @param start The start of the period
+     * @return The name of the period
+     */
+    public String toName(LocalDate start) {
+        switch (this) {
+        case DAY:
+            return start.toString();
+        case MONTH:
+            return YearMonth.from(start).toString();
+        default:
+            return String.valueOf(start.getYear());
+        }
+    }
+
+    /**
+     * Returns the segment period selected by the {@code healthmate.segment.period} system property.
+     * Unknown values fall back to one month.
+     * @return The selected segment period
+     */
+    public static SegmentPeriod fromSystemProperty() {
+        String period = System.getProperty(SYSTEM_PROPERTY, MONTH.name());
+        for (SegmentPeriod segmentPeriod : values()) {
+            if (segmentPeriod.name().equalsIgnoreCase(period.strip())) {
+                return segmentPeriod;
+            }
+        }
+        return MONTH;
+    }
+}
@@ -0,0 +1,313 @@
+package seedu.healthmate.services;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.core.SegmentedMealEntriesList;
+import seedu.healthmate.utils.AtomicFileWriter;
+
+/**
+ * Stores meal entries as time-partitioned CSV segment files, one per {@link SegmentPeriod}.
+ * <p>
+ * Each segment line is prefixed with a sequence number giving the position of the entry in the meal log,
+ * so the log order survives partitioning by date. A manifest lists the segment files along with the
+ * journal checkpoint and is replaced atomically after new segment files were written, which makes a save
+ * crash-safe across multiple files. Segment files are never modified in place: a changed segment is
+ * written to a new file of the next generation and only segments whose content changed are rewritten.
+ */
+public class SegmentedMealEntryStore {
+    public static final String MANIFEST_FILE = "manifest.csv";
+    private static final String GENERATION_HEADER = "#generation";
+    private static final String SEGMENT_FILE_EXTENSION = ".csv";
+    private static final long NO_SEQUENCE = Long.MAX_VALUE;
+
+    private final File directory;
+    private final SegmentPeriod period;
+    private HashMap<String, ArrayDeque<Long>> sequenceNumbers;
+    private IdentityHashMap<Meal, Long> loadedSequenceNumbers;
+    private Map<String, Integer> segmentHashes;
+
+    /**
+     * The decoded manifest: the journal checkpoint, the generation of the last save and the segment files.
+     */
+    private static class Manifest {
+        private final MealEntryJournal.Checkpoint checkpoint;
+        private final int generation;
+        private final TreeMap<LocalDate, SegmentFile> segmentFiles;
+
+        private Manifest(MealEntryJournal.Checkpoint checkpoint, int generation,
+                         TreeMap<LocalDate, SegmentFile> segmentFiles) {
+            this.checkpoint = checkpoint;
+            this.generation = generation;
+            this.segmentFiles = segmentFiles;
+        }
+    }
+
+    /**
+     * A segment file covering the dates from its start (inclusive) to its end (exclusive).
+     */
+    private static class SegmentFile {
+        private final LocalDate start;
+        private final LocalDate end;
+        private final String fileName;
+
+        private SegmentFile(LocalDate start, LocalDate end, String fileName) {
+            this.start = start;
+            this.end = end;
+            this.fileName = fileName;
+        }
+
+        private String toManifestLine() {
+            return start + "," + end + "," + fileName;
+        }
+    }
+
+    /**
+     * Creates a store keeping its segment files in the given directory.
+     * @param directory The directory holding the manifest and segment files
+     * @param period The time span covered by each newly written segment
+     */
+    public SegmentedMealEntryStore(File directory, SegmentPeriod period) {
+        this.directory = directory;
+        this.period = period;
+        this.sequenceNumbers = new HashMap<>();
+        this.loadedSequenceNumbers = new IdentityHashMap<>();
+        this.segmentHashes = new HashMap<>();
+    }
+
+    public File getManifestFile() {
+        return new File(directory, MANIFEST_FILE);
+    }
+
+    public boolean exists() {
+        return getManifestFile().exists();
+    }
+
+    /**
+     * Reads the journal checkpoint recorded in the manifest.
+     * @return The checkpoint of the last save
+     * @throws IOException if the manifest cannot be read
+     */
+    public MealEntryJournal.Checkpoint readCheckpoint() throws IOException {
+        return readManifest().checkpoint;
+    }
+
+    /**
+     * Opens the stored meal entries without reading any segment file yet.
+     * Segments are read when a query first needs them.
+     * @return A list backed by the segment files
+     * @throws IOException if the manifest cannot be read
+     */
+    public SegmentedMealEntriesList load() throws IOException {
+        Manifest manifest = readManifest();
+        this.sequenceNumbers = new HashMap<>();
+        this.loadedSequenceNumbers = new IdentityHashMap<>();
+        this.segmentHashes = new HashMap<>();
+        List<SegmentedMealEntriesList.Segment> segments = new ArrayList<>();
+        for (SegmentFile segmentFile : manifest.segmentFiles.values()) {
+            segments.add(new SegmentedMealEntriesList.Segment(segmentFile.start, segmentFile.end,
+                    () -> readSegment(segmentFile.fileName)));
+        }
+        return new SegmentedMealEntriesList(segments, Comparator.comparingLong(this::getSequenceNumber));
+    }
+
+    /**
+     * Saves the meal entries, rewriting only the segments whose content changed since they were last
+     * read or written, and atomically replaces the manifest.
+     * @param mealEntries The complete meal log in order
+     * @param checkpoint The journal checkpoint the meal entries correspond to
+     * @throws IOException if a segment file or the manifest cannot be written
+     */
+    public void write(List<Meal> mealEntries, MealEntryJournal.Checkpoint checkpoint) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create directory " + directory.getName());
+        }
+        Manifest manifest = readManifest();
+        HashMap<String, ArrayDeque<Long>> knownSequenceNumbers = new HashMap<>();
+        HashMap<String, ArrayDeque<Long>> newSequenceNumbers = new HashMap<>();
+        TreeMap<LocalDate, List<String>> segmentLines = new TreeMap<>();
+        long previousSequenceNumber = -1;
+        for (Meal meal : mealEntries) {
+            String saveString = meal.toSaveString();
+            ArrayDeque<Long> candidates = knownSequenceNumbers.computeIfAbsent(saveString,
+                    key -> new ArrayDeque<>(sequenceNumbers.getOrDefault(key, new ArrayDeque<>())));
+            // Entries are only ever appended, so known sequence numbers keep increasing along the log
+            Long knownSequenceNumber = candidates.poll();
+            while (knownSequenceNumber != null && knownSequenceNumber <= previousSequenceNumber) {
+                knownSequenceNumber = candidates.poll();
+            }
+            long sequenceNumber = knownSequenceNumber != null ? knownSequenceNumber : previousSequenceNumber + 1;
+            previousSequenceNumber = sequenceNumber;
+            newSequenceNumbers.computeIfAbsent(saveString, key -> new ArrayDeque<>()).add(sequenceNumber);
+            LocalDate start = period.startOf(((MealEntry) meal).getTimestamp().toLocalDate());
+            segmentLines.computeIfAbsent(start, s -> new ArrayList<>()).add(sequenceNumber + "," + saveString);
+        }
+
+        int generation = manifest.generation + 1;
+        TreeMap<LocalDate, SegmentFile> segmentFiles = new TreeMap<>();
+        Map<String, Integer> newSegmentHashes = new HashMap<>();
+        for (Map.Entry<LocalDate, List<String>> segment : segmentLines.entrySet()) {
+            LocalDate start = segment.getKey();
+            LocalDate end = period.endOf(start);
+            int hash = segment.getValue().hashCode();
+            SegmentFile existingFile = manifest.segmentFiles.get(start);
+            boolean isUnchanged = existingFile != null && existingFile.end.equals(end)
+                    && Integer.valueOf(hash).equals(segmentHashes.get(existingFile.fileName));
+            SegmentFile segmentFile = isUnchanged
+                    ? existingFile
+                    : new SegmentFile(start, end, period.toName(start) + "." + generation + SEGMENT_FILE_EXTENSION);
+            if (!isUnchanged) {
+                writeLines(new File(directory, segmentFile.fileName), segment.getValue());
+            }
+            segmentFiles.put(start, segmentFile);
+            newSegmentHashes.put(segmentFile.fileName, hash);
+        }
+
+        List<String> manifestLines = new ArrayList<>();
+        manifestLines.add(checkpoint.toHeaderLine());
+        manifestLines.add(GENERATION_HEADER + "," + generation);
+        for (SegmentFile segmentFile : segmentFiles.values()) {
+            manifestLines.add(segmentFile.toManifestLine());
+        }
+        writeLines(getManifestFile(), manifestLines);
+        deleteUnreferencedSegmentFiles(newSegmentHashes.keySet());
+        this.sequenceNumbers = newSequenceNumbers;
+        this.segmentHashes = newSegmentHashes;
+    }
+
+    /**
+     * Deletes the manifest and all segment files, e.g. after migrating to another storage format.
+     */
+    public void delete() {
+        deleteUnreferencedSegmentFiles(Set.of());
+        getManifestFile().delete();
+        directory.delete();
+    }
+
+    private long getSequenceNumber(Meal meal) {
+        return loadedSequenceNumbers.getOrDefault(meal, NO_SEQUENCE);
+    }
+
+    /**
+     * Reads a segment file and remembers the sequence number and content hash of its entries.
+     * Corrupted lines are skipped and reported.
+     * @param fileName The name of the segment file
+     * @return The entries of the segment in file order
+     */
+    private List<Meal> readSegment(String fileName) {
+        List<Meal> meals = new ArrayList<>();
+        List<String> lines = new ArrayList<>();
+        int totalCorruptedMeals = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new FileReader(new File(directory, fileName), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                totalCorruptedMeals += parseSegmentLine(line, meals) ? 0 : 1;
+            }
+        } catch (IOException e) {
+            UI.printString("Error loading from file: " + fileName + ". " + e.getMessage());
+            return meals;
+        }
+        segmentHashes.put(fileName, lines.hashCode());
+        if (totalCorruptedMeals > 0) {
+            UI.printString("We found " + totalCorruptedMeals + " manually corrupted line(s) in: " + fileName);
+        }
+        return meals;
+    }
+
+    private boolean parseSegmentLine(String line, List<Meal> meals) {
+        try {
+            String[] parts = line.split(",");
+            long sequenceNumber = Long.parseLong(parts[0]);
+            String[] mealParts = Arrays.copyOfRange(parts, 1, parts.length);
+            if (HistoryTracker.parseAndAddMeal(meals, mealParts, true).u() > 0) {
+                return false;
+            }
+            Meal meal = meals.get(meals.size() - 1);
+            loadedSequenceNumbers.put(meal, sequenceNumber);
+            sequenceNumbers.computeIfAbsent(meal.toSaveString(), key -> new ArrayDeque<>()).add(sequenceNumber);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the manifest. A missing manifest describes an empty store.
+     * @return The decoded manifest
+     * @throws IOException if the manifest cannot be read or is corrupted
+     */
+    private Manifest readManifest() throws IOException {
+        TreeMap<LocalDate, SegmentFile> segmentFiles = new TreeMap<>();
+        if (!exists()) {
+            return new Manifest(MealEntryJournal.Checkpoint.NONE, 0, segmentFiles);
+        }
+        MealEntryJournal.Checkpoint checkpoint = MealEntryJournal.Checkpoint.NONE;
+        int generation = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(getManifestFile(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (line.startsWith(MealEntryJournal.Checkpoint.CHECKPOINT_HEADER)) {
+                    checkpoint = MealEntryJournal.Checkpoint.fromHeaderLine(line);
+                } else if (line.startsWith(GENERATION_HEADER) && parts.length == 2) {
+                    generation = Integer.parseInt(parts[1].strip());
+                } else if (parts.length == 3) {
+                    LocalDate start = LocalDate.parse(parts[0]);
+                    segmentFiles.put(start, new SegmentFile(start, LocalDate.parse(parts[1]), parts[2]));
+                } else {
+                    throw new IOException("Corrupted manifest line: " + line);
+                }
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IOException("Corrupted manifest: " + e.getMessage());
+        }
+        return new Manifest(checkpoint, generation, segmentFiles);
+    }
+
+    private void deleteUnreferencedSegmentFiles(Set<String> referencedFileNames) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Set<String> keptFileNames = new HashSet<>(referencedFileNames);
+        keptFileNames.add(MANIFEST_FILE);
+        for (File file : files) {
+            if (!keptFileNames.contains(file.getName())) {
+                file.delete();
+            }
+        }
+    }
+
+    private static void writeLines(File file, List<String> lines) throws IOException {
+        AtomicFileWriter.write(file, out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+            writer.flush();
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package seedu.healthmate.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.utils.Pair;
+
+/**
+ * Storage backend keeping the meal entries in time-partitioned segment files within the
+ * {@code meal_entries} directory, see {@link SegmentedMealEntryStore}.
+ */
+public class SegmentedStorage extends FileStorage {
+    private final SegmentedMealEntryStore segmentedMealEntryStore;
+
+    /**
+     * Creates a segmented storage backend within the given directory.
+     * @param dataDirectory The directory holding the data files
+     * @param segmentPeriod The time span covered by each segment file
+     */
+    public SegmentedStorage(File dataDirectory, SegmentPeriod segmentPeriod) {
+        super(dataDirectory);
+        this.segmentedMealEntryStore = new SegmentedMealEntryStore(
+                new File(dataDirectory, StorageFormat.SEGMENTED.getMealEntriesFileName()), segmentPeriod);
+    }
+
+    @Override
+    public boolean hasMealEntries() {
+        return segmentedMealEntryStore.exists();
+    }
+
+    @Override
+    public MealEntryJournal.Checkpoint readMealEntryCheckpoint() throws IOException {
+        return segmentedMealEntryStore.readCheckpoint();
+    }
+
+    @Override
+    public Pair<MealEntriesList, Integer> readMealEntries() throws IOException {
+        return new Pair<>(segmentedMealEntryStore.load(), 0);
+    }
+
+    @Override
+    public void writeMealEntries(List<Meal> mealEntries, MealEntryJournal.Checkpoint checkpoint) throws IOException {
+        segmentedMealEntryStore.write(mealEntries, checkpoint);
+        writeDailyRollups(mealEntries, checkpoint);
+    }
+
+    @Override
+    public void deleteMealEntries() {
+        segmentedMealEntryStore.delete();
+    }
+
+    @Override
+    public File[] getMealEntryFiles() {
+        return new File[] {segmentedMealEntryStore.getManifestFile()};
+    }
+}
@@ -0,0 +1,151 @@
+package seedu.healthmate.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import seedu.healthmate.core.DailyCalorieRollups;
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntryChange;
+import seedu.healthmate.utils.Pair;
+
+/**
+ * Persistence backend for meal entries, meal options and user profiles.
+ * {@link HistoryTracker} and {@link UserHistoryTracker} only access their data through this interface;
+ * the implementation is selected by the {@link StorageFormat}.
+ * <p>
+ * Meal entries are saved as snapshots that record the {@link MealEntryJournal.Checkpoint} they correspond
+ * to. Backends that can persist single additions and deletions cheaply apply them directly, all other
+ * backends rely on the meal entry journal in between snapshots.
+ */
+public interface Storage {
+
+    /**
+     * Returns whether a meal entries snapshot exists in this backend.
+     * @return true if meal entries were saved before
+     */
+    boolean hasMealEntries();
+
+    /**
+     * Reads the journal checkpoint recorded with the meal entries snapshot.
+     * @return The checkpoint, or {@code Checkpoint.NONE} if the snapshot has none
+     * @throws IOException if the snapshot cannot be read
+     */
+    MealEntryJournal.Checkpoint readMealEntryCheckpoint() throws IOException;
+
+    /**
+     * Reads the meal entries snapshot in log order.
+     * @return A pair of the meal entries and the number of corrupted records
+     * @throws IOException if the snapshot cannot be read
+     */
+    Pair<MealEntriesList, Integer> readMealEntries() throws IOException;
+
+    /**
+     * Replaces the meal entries snapshot and the per-day calorie rollups saved with it.
+     * @param mealEntries The complete meal log in order
+     * @param checkpoint The journal checkpoint the meal entries correspond to
+     * @throws IOException if the snapshot cannot be written
+     */
+    void writeMealEntries(List<Meal> mealEntries, MealEntryJournal.Checkpoint checkpoint) throws IOException;
+
+    /**
+     * Persists the given additions and deletions directly, if this backend supports it.
+     * @param changes The changes in the order they were applied to the meal entries read from this backend
+     * @param mealEntries The meal entries after the changes
+     * @return true if the changes were persisted, false if the caller has to journal them instead
+     * @throws IOException if the changes cannot be written
+     */
+    default boolean applyMealEntryChanges(List<MealEntryChange> changes, MealEntriesList mealEntries)
+            throws IOException {
+        return false;
+    }
+
+    /**
+     * Reads the per-day calorie rollups saved with the meal entries snapshot, so that lazily read meal entries
+     * do not have to be read in full to compute them.
+     * @param checkpoint The journal checkpoint of the meal entries snapshot
+     * @return The rollups, or an empty Optional if none were saved for this snapshot
+     * @throws IOException if the rollups cannot be read
+     */
+    default Optional<DailyCalorieRollups> readDailyRollups(MealEntryJournal.Checkpoint checkpoint)
+            throws IOException {
+        return Optional.empty();
+    }
+
+    /**
+     * Deletes the meal entries snapshot, e.g. after migrating it to another backend.
+     */
+    void deleteMealEntries();
+
+    /**
+     * Returns the files whose modification signals a change of the meal entries.
+     * @return The files backing the meal entries
+     */
+    File[] getMealEntryFiles();
+
+    /**
+     * Returns whether meal options were saved in this backend.
+     * @return true if meal options were saved before
+     */
+    boolean hasMealOptions();
+
+    /**
+     * Reads the meal options in menu order.
+     * @return A pair of the meal options and the number of corrupted records
+     * @throws IOException if the meal options cannot be read
+     */
+    Pair<List<Meal>, Integer> readMealOptions() throws IOException;
+
+    /**
+     * Persists the meal options, writing only what changed since they were last read or written.
+     * @param mealOptions The complete meal options in menu order
+     * @throws IOException if the meal options cannot be written
+     */
+    void writeMealOptions(List<Meal> mealOptions) throws IOException;
+
+    /**
+     * Deletes the meal options, e.g. after migrating them to another backend.
+     */
+    void deleteMealOptions();
+
+    /**
+     * Returns the files whose modification signals a change of the meal options.
+     * @return The files backing the meal options
+     */
+    File[] getMealOptionFiles();
+
+    /**
+     * Reads all saved user profile records, oldest first.
+     * @return The user profile records in their CSV representation
+     * @throws IOException if the records cannot be read
+     */
+    List<String> readUserRecords() throws IOException;
+
+    /**
+     * Reads only the most recent user profile record, without reading the rest of the history.
+     * @return The latest user profile record, or an empty Optional if none was saved
+     * @throws IOException if the record cannot be read
+     */
+    Optional<String> readLatestUserRecord() throws IOException;
+
+    /**
+     * Appends a user profile record.
+     * @param userRecord The user profile in its CSV representation
+     * @throws IOException if the record cannot be written
+     */
+    void appendUserRecord(String userRecord) throws IOException;
+
+    /**
+     * Deletes all user profile records.
+     * @throws IOException if the records cannot be deleted
+     */
+    void clearUserRecords() throws IOException;
+
+    /**
+     * Returns the file whose modification signals a change of the user profiles.
+     * @return The file backing the user profiles
+     */
+    File getUserDataFile();
+}
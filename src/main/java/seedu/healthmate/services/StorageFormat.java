@@ -0,0 +1,64 @@
+package seedu.healthmate.services;
+
+import java.io.File;
+
+/**
+ * The on-disk format used for the meal entries snapshot.
+ * The format is selected with the {@code healthmate.storage} system property
+ * (e.g. {@code -Dhealthmate.storage=binary}) and defaults to CSV.
+ * The segmented format keeps one CSV file per {@link SegmentPeriod} in the {@code meal_entries} directory.
+ * The database format keeps meal entries, meal options and user profiles in the embedded database
+ * {@code healthmate.db}, all other formats keep meal options and user profiles in CSV files.
+ */
+public enum StorageFormat {
+    CSV("meal_entries.csv"),
+    BINARY("meal_entries.bin"),
+    SEGMENTED("meal_entries"),
+    DATABASE("healthmate.db");
+
+    public static final String SYSTEM_PROPERTY = "healthmate.storage";
+
+    private final String mealEntriesFileName;
+
+    StorageFormat(String mealEntriesFileName) {
+        this.mealEntriesFileName = mealEntriesFileName;
+    }
+
+    public String getMealEntriesFileName() {
+        return this.mealEntriesFileName;
+    }
+
+    /**
+     * Creates the storage backend of this format.
+     * @param dataDirectory The directory holding the data files
+     * @param segmentPeriod The time span covered by each segment file, only used by the segmented format
+     * @return The storage backend
+     */
+    public Storage createStorage(File dataDirectory, SegmentPeriod segmentPeriod) {
+        switch (this) {
+        case BINARY:
+            return new BinaryStorage(dataDirectory);
+        case SEGMENTED:
+            return new SegmentedStorage(dataDirectory, segmentPeriod);
+        case DATABASE:
+            return new DatabaseStorage(dataDirectory);
+        default:
+            return new CsvStorage(dataDirectory);
+        }
+    }
+
+    /**
+     * Returns the storage format selected by the {@code healthmate.storage} system property.
+     * Unknown values fall back to CSV.
+     * @return The selected storage format
+     */
+    public static StorageFormat fromSystemProperty() {
+        String format = System.getProperty(SYSTEM_PROPERTY, CSV.name());
+        for (StorageFormat storageFormat : values()) {
+            if (storageFormat.name().equalsIgnoreCase(format.strip())) {
+                return storageFormat;
+            }
+        }
+        return CSV;
+    }
+}
@@ -0,0 +1,121 @@
+package seedu.healthmate.services;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealList;
+import seedu.healthmate.utils.Pair;
+
+/**
+ * Bounded history of the meal options and meal entries, used to undo and redo the changes made by commands.
+ * A state is the pair of versions returned by {@code getMealList()} for both lists. As both lists are backed
+ * by persistent structures, a state shares all unchanged meals with its neighbours, so recording a change
+ * costs O(log n) memory instead of a copy of the lists.
+ */
+public class UndoHistory {
+    public static final int DEFAULT_CAPACITY = 50;
+
+    private final int capacity;
+    private final ArrayDeque<Pair<List<Meal>, List<Meal>>> undoStates;
+    private final ArrayDeque<Pair<List<Meal>, List<Meal>>> redoStates;
+
+    public UndoHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty history keeping at most the given number of changes.
+     * @param capacity The maximum number of changes that can be undone
+     */
+    public UndoHistory(int capacity) {
+        assert capacity > 0 : "Undo history capacity should be positive";
+        this.capacity = capacity;
+        this.undoStates = new ArrayDeque<>();
+        this.redoStates = new ArrayDeque<>();
+    }
+
+    /**
+     * Captures the current state of both lists without copying them.
+     * @param mealOptions The meal options
+     * @param mealEntries The meal entries
+     * @return The state, to be passed to {@link #record} once the command finished
+     */
+    public Pair<List<Meal>, List<Meal>> capture(MealList mealOptions, MealEntriesList mealEntries) {
+        return new Pair<>(mealOptions.getMealList(), mealEntries.getMealEntries());
+    }
+
+    /**
+     * Records the state before a command as an undoable change, if the command changed either list.
+     * Recording a change discards the changes that were undone before, and the oldest change once the
+     * history is full.
+     * @param stateBefore The state captured before the command
+     * @param mealOptions The meal options after the command
+     * @param mealEntries The meal entries after the command
+     */
+    public void record(Pair<List<Meal>, List<Meal>> stateBefore, MealList mealOptions, MealEntriesList mealEntries) {
+        if (isCurrent(stateBefore, mealOptions, mealEntries)) {
+            return;
+        }
+        push(undoStates, stateBefore);
+        redoStates.clear();
+    }
+
+    /**
+     * Restores both lists to the state before the last recorded change.
+     * @param mealOptions The meal options to restore
+     * @param mealEntries The meal entries to restore
+     * @return true if a change was undone, false if there was none
+     */
+    public boolean undo(MealList mealOptions, MealEntriesList mealEntries) {
+        return moveState(undoStates, redoStates, mealOptions, mealEntries);
+    }
+
+    /**
+     * Restores both lists to the state before the last undo.
+     * @param mealOptions The meal options to restore
+     * @param mealEntries The meal entries to restore
+     * @return true if a change was redone, false if there was none
+     */
+    public boolean redo(MealList mealOptions, MealEntriesList mealEntries) {
+        return moveState(redoStates, undoStates, mealOptions, mealEntries);
+    }
+
+    /**
+     * Forgets all changes, e.g. after the lists were replaced by a reload.
+     */
+    public void clear() {
+        undoStates.clear();
+        redoStates.clear();
+    }
+
+    private boolean moveState(ArrayDeque<Pair<List<Meal>, List<Meal>>> from,
+                              ArrayDeque<Pair<List<Meal>, List<Meal>>> to,
+                              MealList mealOptions, MealEntriesList mealEntries) {
+        if (from.isEmpty()) {
+            return false;
+        }
+        push(to, capture(mealOptions, mealEntries));
+        Pair<List<Meal>, List<Meal>> state = from.pop();
+        if (mealOptions.getMealList() != state.t()) {
+            mealOptions.restoreMealList(state.t());
+        }
+        if (mealEntries.getMealEntries() != state.u()) {
+            mealEntries.restoreMealList(state.u());
+        }
+        return true;
+    }
+
+    private void push(ArrayDeque<Pair<List<Meal>, List<Meal>>> states, Pair<List<Meal>, List<Meal>> state) {
+        states.push(state);
+        if (states.size() > capacity) {
+            states.removeLast();
+        }
+    }
+
+    private static boolean isCurrent(Pair<List<Meal>, List<Meal>> state,
+                                     MealList mealOptions, MealEntriesList mealEntries) {
+        return mealOptions.getMealList() == state.t() && mealEntries.getMealEntries() == state.u();
+    }
+}
@@ -1,18 +1,14 @@
 package seedu.healthmate.services;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.Scanner;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 
 import seedu.healthmate.core.User;
 import seedu.healthmate.core.UserEntryList;
+import seedu.healthmate.utils.FileStamp;
 
 /**
  * Manages the saving and loading of UserEntry lists, which store user information over time.
@@ -22,7 +18,9 @@ public class UserHistoryTracker extends HistoryTracker {
 
     public static final int USER_ENTRY_PRINTING_COUNT = 5;
     public static final int USER_DATA_SAVE_FILE_FIELDS = 8;
-    private static final String USER_DATA_FILE = "user_data.csv";
+
+    private Optional<User> latestUser = Optional.empty();
+    private FileStamp latestUserStamp;
 
     public UserHistoryTracker() {
         super();
@@ -38,9 +36,30 @@ public class UserHistoryTracker extends HistoryTracker {
         return getLatestUser().orElseGet(() -> User.askForUserData());
     }
 
+    /**
+     * Returns the most recent user profile. The profile is cached and only read again if the user data
+     * changed on disk since the last lookup. Only the latest record is parsed, the full history is loaded
+     * if there is no latest record or it is corrupted, so that missing or corrupted profiles are handled
+     * like in {@link #loadUserEntries()}.
+     * @return The latest saved user profile, or an empty Optional if none exists
+     */
     public Optional<User> getLatestUser() {
-        Optional<UserEntryList> optionalUserEntryList = this.loadUserEntries();
-        return optionalUserEntryList.map(userEntryList -> userEntryList.getLastEntry());
+        FileStamp currentStamp = FileStamp.of(getStorage().getUserDataFile());
+        if (currentStamp.equals(latestUserStamp)) {
+            return latestUser;
+        }
+        latestUser = readLatestUser().or(() -> loadUserEntries().map(userEntryList -> userEntryList.getLastEntry()));
+        latestUserStamp = currentStamp;
+        return latestUser;
+    }
+
+    private Optional<User> readLatestUser() {
+        try {
+            return getStorage().readLatestUserRecord().map(line -> getUserEntryFromFileLine(line));
+        } catch (IOException | IllegalArgumentException | ArrayIndexOutOfBoundsException
+                 | DateTimeParseException e) {
+            return Optional.empty();
+        }
     }
 
     public Optional<UserEntryList> loadUserEntries() {
@@ -48,10 +67,7 @@ public class UserHistoryTracker extends HistoryTracker {
         UserEntryList userEntryList = new UserEntryList();
 
         try {
-            File userDataFile = createFileIfNotExists();
-            Scanner s = new Scanner(userDataFile);
-            while (s.hasNextLine()) {
-                String line = s.nextLine();
+            for (String line : readUserRecords()) {
                 User user = getUserEntryFromFileLine(line);
                 userEntryList.addUserEntry(user);
             }
@@ -79,22 +95,19 @@ public class UserHistoryTracker extends HistoryTracker {
             List<String> messages = List.of("It seems some datetime records in you user profile are corrupted.",
                     "A new profile needs to be created.");
             UI.printMultiLineReply(messages);
-        } catch (NoSuchElementException e) {
-            // silent catch if existing user file contains no content
         }
         return userEntryList.isEmpty() ? Optional.empty() : Optional.of(userEntryList);
     }
 
     /**
-     * Saves the provided User entry to a file. If the file does not exist,
-     * it will be created first, and then the user data will be appended to the save file.
+     * Saves the provided User entry through the storage backend,
+     * appending the user data to the saved user profiles.
      *
      * @param userEntry The User object containing data to be saved.
      */
     public void saveUserToFile(User userEntry) {
         try {
-            createFileIfNotExists();
-            addUserEntry(userEntry);
+            getStorage().appendUserRecord(userEntry.toString());
         } catch (IOException e) {
             UI.printReply("Saving to the user file was unsuccessful", "Error: ");
         }
@@ -103,33 +116,27 @@ public class UserHistoryTracker extends HistoryTracker {
 
     //@@author ryan-txn
     /**
-     * Prints all user entries from the data file to the console.
-     * Displays an error message if the file is not found.
+     * Prints the most recent user entries to the console.
+     * Displays a message if no user entries were saved.
      */
     public void printAllUserEntries() {
-        File userDataFile = new File(super.DATA_DIRECTORY + File.separator + USER_DATA_FILE);
+        System.out.println("Last few records...");
+        Optional<UserEntryList> userListOpt = loadUserEntries();
 
-        try (Scanner scanner = new Scanner(userDataFile)) {
-            System.out.println("Last few records...");
-            Optional<UserEntryList> userListOpt = loadUserEntries();
-
-            if (userListOpt.isEmpty()) {
-                System.out.println("No user entries found.");
-                return;
-            }
+        if (userListOpt.isEmpty()) {
+            System.out.println("No user entries found.");
+            return;
+        }
 
-            UserEntryList userList = userListOpt.get();
-            int start = userList.getUserEntryList().size() - 1; // Calculate starting index for last 5 entries
-            int end = Math.max(start - (USER_ENTRY_PRINTING_COUNT - 1), 0);
+        UserEntryList userList = userListOpt.get();
+        int start = userList.getUserEntryList().size() - 1; // Calculate starting index for last 5 entries
+        int end = Math.max(start - (USER_ENTRY_PRINTING_COUNT - 1), 0);
 
-            for (int i = start; i >= end; i--) {
-                User user = userList.getUserEntryList().get(i);
-                System.out.println();
-                user.printUIString();
-                System.out.println();
-            }
-        } catch (FileNotFoundException e) {
-            System.out.println("Error: User data file not found. " + e.getMessage());
+        for (int i = start; i >= end; i--) {
+            User user = userList.getUserEntryList().get(i);
+            System.out.println();
+            user.printUIString();
+            System.out.println();
         }
     }
 
@@ -202,48 +209,28 @@ public class UserHistoryTracker extends HistoryTracker {
     }
 
     /**
-     * Appends the given User entry to the data file. Creates a new line with
+     * Appends the given User entry to the saved user profiles as a record with
      * the user's information in CSV format. If an error occurs, an error message is displayed.
      *
      * @param userEntry The User object to add to the data file.
      */
     public void addUserEntry(User userEntry) {
-        File userDataFile = new File(DATA_DIRECTORY + File.separator + USER_DATA_FILE);
-
         try {
-            FileWriter fw = new FileWriter(userDataFile, true);
-            fw.write(userEntry.toString() + System.lineSeparator());
-            fw.close();
+            getStorage().appendUserRecord(userEntry.toString());
         } catch (IOException e) {
             System.out.println("Error adding userEntry to data file: " + e.getMessage());
         }
     }
     //@@author
 
-    //@@author kennethSty
-    /**
-     * Creates the user data file if it does not already exist.
-     * If the file is created successfully, a confirmation message is displayed.
-     */
-    private File createFileIfNotExists() throws IOException{
-        File userDataFile = new File(DATA_DIRECTORY + File.separator + USER_DATA_FILE);
-        if (!userDataFile.exists()) {
-            userDataFile.createNewFile();
-        }
-        return userDataFile;
-    }
-    //@@author
-
     //@@author ryan-txn
     /**
-     * Clears the save file by overwriting it with an empty string.
+     * Clears the saved user profiles.
      * If an error occurs during file access, an error message is printed to the console.
      */
     public void clearSaveFile() {
         try {
-            FileWriter fw = new FileWriter(DATA_DIRECTORY + File.separator + USER_DATA_FILE, false);
-            fw.write("");  // Overwrite with an empty string
-            fw.close();
+            getStorage().clearUserRecords();
         } catch (IOException e) {
             System.out.println("Error clearing save file: " + e.getMessage());
         }
@@ -0,0 +1,69 @@
+package seedu.healthmate.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utility class for replacing files crash-safely.
+ * Content is written to a temporary file next to the target, flushed to disk and then atomically renamed
+ * over the target, so that a crash leaves either the complete old or the complete new file behind.
+ */
+public final class AtomicFileWriter {
+
+    /**
+     * Writes the complete content of a file to the given stream.
+     */
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    // Private constructor to prevent instantiation
+    private AtomicFileWriter() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Atomically replaces the target file with the content produced by the given writer.
+     * @param target The file to replace or create
+     * @param contentWriter Produces the new content of the file
+     * @throws IOException if the content cannot be written, flushed or moved into place
+     */
+    public static void write(File target, ContentWriter contentWriter) throws IOException {
+        File temporaryFile = new File(target.getPath() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(temporaryFile)) {
+            OutputStream out = new BufferedOutputStream(fileOut);
+            contentWriter.writeTo(out);
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        Path temporaryPath = temporaryFile.toPath();
+        try {
+            Files.move(temporaryPath, target.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(target.getAbsoluteFile().getParentFile());
+    }
+
+    /**
+     * Flushes the directory entry of a renamed file to disk where the platform supports it.
+     * @param directory The directory containing the renamed file
+     */
+    private static void syncDirectory(File directory) {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not all platforms allow opening directories; the rename itself is still atomic
+        }
+    }
+}
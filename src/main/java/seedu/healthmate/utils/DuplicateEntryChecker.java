@@ -5,24 +5,20 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.HashSet;
 
-import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealList;
 
 public class DuplicateEntryChecker {
     
     /**
      * Checks if the given entry is a duplicate in the list of meal options.
+     * The lookup goes through the name index of the list instead of scanning it.
      *
      * @param optional The entry to check for duplication.
      * @param mealList The list of meal options to check against.
      * @return true if the entry is a duplicate, false otherwise.
      */
-    public static boolean isDuplicate(Optional<String> optional, List<Meal> mealList) {
-        for (Meal option : mealList) {
-            if (option.getName().equals(optional)) {
-                return true;
-            }
-        }
-        return false;
+    public static boolean isDuplicate(Optional<String> optional, MealList mealList) {
+        return mealList.containsMealName(optional);
     }
 
     
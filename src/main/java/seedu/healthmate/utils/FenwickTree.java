@@ -0,0 +1,88 @@
+package seedu.healthmate.utils;
+
+/**
+ * A Fenwick tree (binary indexed tree) over a fixed number of slots.
+ * Point updates and prefix sums both take O(log n), so the sum over any range of slots can be
+ * answered without visiting the slots in between.
+ */
+public class FenwickTree {
+
+    private final long[] tree;
+
+    /**
+     * Builds a tree holding the given values in O(n).
+     * @param values The initial value of each slot
+     */
+    public FenwickTree(long[] values) {
+        this.tree = new long[values.length + 1];
+        for (int i = 1; i <= values.length; i++) {
+            tree[i] += values[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= values.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    public int size() {
+        return tree.length - 1;
+    }
+
+    /**
+     * Adds a value to a single slot.
+     * @param index The index of the slot, starting at 0
+     * @param delta The value to add
+     */
+    public void add(int index, long delta) {
+        assert index >= 0 && index < size() : "Index out of bounds";
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Sums the slots from the first slot up to the given slot.
+     * @param index The inclusive index of the last slot, -1 for an empty sum
+     * @return The sum of the slots {@code 0..index}
+     */
+    public long prefixSum(int index) {
+        long sum = 0;
+        for (int i = Math.min(index + 1, size()); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Sums a range of slots.
+     * @param fromIndex The inclusive index of the first slot
+     * @param toIndex The inclusive index of the last slot
+     * @return The sum of the slots {@code fromIndex..toIndex}, 0 if the range is empty
+     */
+    public long rangeSum(int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            return 0;
+        }
+        return prefixSum(toIndex) - prefixSum(fromIndex - 1);
+    }
+
+    /**
+     * Finds the first slot at which the prefix sum exceeds the given sum in O(log n).
+     * All slots must hold non-negative values, e.g. the sizes of consecutive blocks, in which case the
+     * result is the block holding the element at position {@code sum}.
+     * @param sum The sum to exceed
+     * @return The index of the slot, or {@code size()} if the total does not exceed the sum
+     */
+    public int findFirstExceeding(long sum) {
+        int index = 0;
+        long remaining = sum;
+        for (int step = Integer.highestOneBit(size()); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next < tree.length && tree[next] <= remaining) {
+                index = next;
+                remaining -= tree[next];
+            }
+        }
+        return index;
+    }
+}
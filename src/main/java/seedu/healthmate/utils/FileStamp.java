@@ -0,0 +1,71 @@
+package seedu.healthmate.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Captures the existence, size, modification time and file identity of one or more files.
+ * Two stamps of the same files are equal if and only if none of the files visibly changed on disk
+ * in between, which allows parsed file contents to be cached until another process modifies them.
+ */
+public class FileStamp {
+
+    private final long[] sizesAndTimes;
+    private final Object[] fileKeys;
+
+    private FileStamp(long[] sizesAndTimes, Object[] fileKeys) {
+        this.sizesAndTimes = sizesAndTimes;
+        this.fileKeys = fileKeys;
+    }
+
+    /**
+     * Takes a stamp of the current on-disk state of the given files.
+     * Missing files are recorded as missing, so their later creation is detected as a change.
+     * @param files The files to stamp
+     * @return A new {@code FileStamp} describing the given files
+     */
+    public static FileStamp of(File... files) {
+        long[] sizesAndTimes = new long[files.length * 2];
+        Object[] fileKeys = new Object[files.length];
+        for (int i = 0; i < files.length; i++) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(files[i].toPath(), BasicFileAttributes.class);
+                sizesAndTimes[2 * i] = attributes.size();
+                sizesAndTimes[2 * i + 1] = attributes.lastModifiedTime().toMillis() * 1_000_000L
+                        + attributes.lastModifiedTime().toInstant().getNano() % 1_000_000;
+                fileKeys[i] = attributes.fileKey();
+            } catch (IOException e) {
+                sizesAndTimes[2 * i] = -1;
+                sizesAndTimes[2 * i + 1] = -1;
+            }
+        }
+        return new FileStamp(sizesAndTimes, fileKeys);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof FileStamp)) {
+            return false;
+        }
+        FileStamp otherStamp = (FileStamp) other;
+        return Arrays.equals(this.sizesAndTimes, otherStamp.sizesAndTimes)
+                && Arrays.equals(this.fileKeys, otherStamp.fileKeys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Arrays.hashCode(this.sizesAndTimes), Arrays.hashCode(this.fileKeys));
+    }
+
+    @Override
+    public String toString() {
+        return "FileStamp of " + Arrays.toString(this.sizesAndTimes);
+    }
+}
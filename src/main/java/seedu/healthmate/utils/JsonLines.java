@@ -0,0 +1,177 @@
+package seedu.healthmate.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes records of JSON lines files, where every line holds one flat JSON object.
+ * Only objects of string, number, boolean and null values are supported, which covers all records exchanged
+ * by the app. Values are returned as their text: strings unescaped, {@code null} as null and all other values
+ * as written.
+ */
+public class JsonLines {
+    private static final String NULL_VALUE = "null";
+
+    /**
+     * Parses a line holding a single flat JSON object.
+     * @param line The line to parse
+     * @return The values of the object by their keys, in the order they were written
+     * @throws IllegalArgumentException if the line is not a flat JSON object
+     */
+    public static Map<String, String> parseObject(String line) {
+        Map<String, String> values = new LinkedHashMap<>();
+        int[] position = {skipWhitespace(line, 0)};
+        expect(line, position, '{');
+        if (peek(line, position) == '}') {
+            position[0]++;
+        } else {
+            do {
+                String key = parseString(line, position);
+                expect(line, position, ':');
+                values.put(key, parseValue(line, position));
+            } while (consumeSeparator(line, position));
+            expect(line, position, '}');
+        }
+        if (skipWhitespace(line, position[0]) != line.length()) {
+            throw new IllegalArgumentException("Unexpected content after the JSON object");
+        }
+        return values;
+    }
+
+    /**
+     * Formats a single flat JSON object. Numbers and booleans are written as they are, null as
+     * {@code null} and all other values as strings.
+     * @param keys The keys of the object
+     * @param values The values of the keys, in the same order
+     * @return The object on a single line
+     */
+    public static String toObject(String[] keys, Object[] values) {
+        assert keys.length == values.length : "Every key needs a value";
+        StringBuilder object = new StringBuilder("{");
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                object.append(", ");
+            }
+            appendString(object, keys[i]);
+            object.append(": ");
+            Object value = values[i];
+            if (value == null || value instanceof Number || value instanceof Boolean) {
+                object.append(value);
+            } else {
+                appendString(object, value.toString());
+            }
+        }
+        return object.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder object, String value) {
+        object.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == '"' || character == '\\') {
+                object.append('\\').append(character);
+            } else if (character < ' ') {
+                object.append(String.format("\\u%04x", (int) character));
+            } else {
+                object.append(character);
+            }
+        }
+        object.append('"');
+    }
+
+    private static String parseValue(String line, int[] position) {
+        if (peek(line, position) == '"') {
+            return parseString(line, position);
+        }
+        int start = position[0];
+        int end = start;
+        while (end < line.length() && ",}".indexOf(line.charAt(end)) == -1
+                && !Character.isWhitespace(line.charAt(end))) {
+            end++;
+        }
+        if (end == start) {
+            throw new IllegalArgumentException("Missing JSON value at " + start);
+        }
+        position[0] = end;
+        String value = line.substring(start, end);
+        return value.equals(NULL_VALUE) ? null : value;
+    }
+
+    private static String parseString(String line, int[] position) {
+        expect(line, position, '"');
+        StringBuilder value = new StringBuilder();
+        int i = position[0];
+        while (i < line.length() && line.charAt(i) != '"') {
+            char character = line.charAt(i++);
+            if (character != '\\') {
+                value.append(character);
+                continue;
+            }
+            if (i >= line.length()) {
+                break;
+            }
+            char escaped = line.charAt(i++);
+            switch (escaped) {
+            case 'b':
+                value.append('\b');
+                break;
+            case 'f':
+                value.append('\f');
+                break;
+            case 'n':
+                value.append('\n');
+                break;
+            case 'r':
+                value.append('\r');
+                break;
+            case 't':
+                value.append('\t');
+                break;
+            case 'u':
+                if (i + 4 > line.length()) {
+                    throw new IllegalArgumentException("Incomplete unicode escape at " + i);
+                }
+                value.append((char) Integer.parseInt(line.substring(i, i + 4), 16));
+                i += 4;
+                break;
+            default:
+                value.append(escaped);
+            }
+        }
+        if (i >= line.length()) {
+            throw new IllegalArgumentException("Unterminated JSON string");
+        }
+        position[0] = i + 1;
+        return value.toString();
+    }
+
+    private static boolean consumeSeparator(String line, int[] position) {
+        if (peek(line, position) == ',') {
+            position[0]++;
+            return true;
+        }
+        return false;
+    }
+
+    private static void expect(String line, int[] position, char expected) {
+        if (peek(line, position) != expected) {
+            throw new IllegalArgumentException("Expected '" + expected + "' at " + position[0]);
+        }
+        position[0]++;
+    }
+
+    /**
+     * Skips whitespace and returns the next character, or 0 at the end of the line.
+     */
+    private static char peek(String line, int[] position) {
+        position[0] = skipWhitespace(line, position[0]);
+        return position[0] < line.length() ? line.charAt(position[0]) : 0;
+    }
+
+    private static int skipWhitespace(String line, int index) {
+        while (index < line.length() && Character.isWhitespace(line.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+}
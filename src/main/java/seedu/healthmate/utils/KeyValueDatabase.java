@@ -0,0 +1,296 @@
+package seedu.healthmate.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Embedded, single-file key-value database with sorted tables.
+ * <p>
+ * Every table is an ordered map held in memory, so point lookups, inserts and deletes take O(log n)
+ * and range queries are answered by sub-map views. The file is an append-only log of committed batches:
+ * {@code put,<table>,<key>,<value>}, {@code delete,<table>,<key>} and {@code clear,<table>} records
+ * followed by a {@code commit} line. A batch is only applied on opening if its commit line made it to disk,
+ * so a crash during a write never leaves a half-applied batch. The log is rewritten atomically with only
+ * the live entries once it holds considerably more records than entries.
+ * <p>
+ * This is not a paged B-tree: opening replays the whole log, and all tables stay in memory, so memory use
+ * and opening time grow with the size of the data. That suits the data of a single user, but not datasets
+ * that outgrow the heap. Batches appended by another process are picked up by {@link #refresh()} without
+ * replaying the log again; only a compaction or a rewritten table requires opening the file anew.
+ * <p>
+ * Table names and keys must not contain commas, values may.
+ */
+public class KeyValueDatabase {
+    private static final String PUT_RECORD = "put";
+    private static final String DELETE_RECORD = "delete";
+    private static final String CLEAR_RECORD = "clear";
+    private static final String COMMIT_RECORD = "commit";
+    private static final int MIN_RECORDS_BEFORE_COMPACTION = 1000;
+
+    private final File file;
+    private final Map<String, TreeMap<String, String>> tables;
+    private int recordCount;
+    private int corruptedRecordCount;
+    private long committedLength;
+    private Object fileKey;
+
+    /**
+     * A group of changes that is written and applied atomically by {@link #commit(Batch)}.
+     */
+    public static class Batch {
+        private final List<String[]> records = new ArrayList<>();
+
+        public Batch put(String table, String key, String value) {
+            records.add(new String[] {PUT_RECORD, table, key, value});
+            return this;
+        }
+
+        public Batch delete(String table, String key) {
+            records.add(new String[] {DELETE_RECORD, table, key});
+            return this;
+        }
+
+        public Batch clear(String table) {
+            records.add(new String[] {CLEAR_RECORD, table});
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return records.isEmpty();
+        }
+    }
+
+    private KeyValueDatabase(File file) {
+        this.file = file;
+        this.tables = new HashMap<>();
+        this.recordCount = 0;
+        this.corruptedRecordCount = 0;
+    }
+
+    /**
+     * Opens the database stored in the given file by replaying its committed batches.
+     * A missing file describes an empty database and is only created by the first commit.
+     * @param file The database file
+     * @return The opened database
+     * @throws IOException if the file cannot be read
+     */
+    public static KeyValueDatabase open(File file) throws IOException {
+        KeyValueDatabase database = new KeyValueDatabase(file);
+        if (!file.exists()) {
+            return database;
+        }
+        database.fileKey = readFileKey(file);
+        database.replayFrom(0, false);
+        return database;
+    }
+
+    /**
+     * Applies the batches another process appended to the file since it was last read or written.
+     * Only the appended part of the file is read.
+     * @return false if the file was replaced, e.g. compacted by another process, or deleted, or if a table
+     *         was cleared, in which case nothing is applied and the database has to be opened again
+     * @throws IOException if the file cannot be read
+     */
+    public boolean refresh() throws IOException {
+        if (fileKey == null || !file.exists() || !Objects.equals(fileKey, readFileKey(file))
+                || file.length() < committedLength) {
+            return false;
+        }
+        return replayFrom(committedLength, true);
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Returns the number of malformed records skipped while opening the database.
+     * @return The number of corrupted records
+     */
+    public int getCorruptedRecordCount() {
+        return this.corruptedRecordCount;
+    }
+
+    /**
+     * Returns a read-only, sorted view of a table. Tables that were never written are empty.
+     * @param table The name of the table
+     * @return The entries of the table ordered by key
+     */
+    public NavigableMap<String, String> getTable(String table) {
+        return Collections.unmodifiableNavigableMap(tables.getOrDefault(table, new TreeMap<>()));
+    }
+
+    /**
+     * Durably appends a batch to the database file and applies it to the tables.
+     * @param batch The changes to commit
+     * @throws IOException if the batch cannot be written, in which case the tables are left unchanged
+     */
+    public void commit(Batch batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try (FileOutputStream fileOut = new FileOutputStream(this.file, true)) {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(fileOut, StandardCharsets.UTF_8));
+            for (String[] record : batch.records) {
+                writer.write(String.join(",", record));
+                writer.newLine();
+            }
+            writer.write(COMMIT_RECORD);
+            writer.newLine();
+            writer.flush();
+            fileOut.getFD().sync();
+            this.committedLength = fileOut.getChannel().position();
+        }
+        if (this.fileKey == null) {
+            this.fileKey = readFileKey(this.file);
+        }
+        batch.records.forEach(this::applyRecord);
+        this.recordCount += batch.records.size() + 1;
+        if (this.recordCount >= MIN_RECORDS_BEFORE_COMPACTION && this.recordCount > 2 * countEntries()) {
+            compact();
+        }
+    }
+
+    /**
+     * Atomically rewrites the database file with a single batch holding only the live entries.
+     * @throws IOException if the file cannot be rewritten
+     */
+    public void compact() throws IOException {
+        AtomicFileWriter.write(this.file, out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (Map.Entry<String, TreeMap<String, String>> table : tables.entrySet()) {
+                for (Map.Entry<String, String> entry : table.getValue().entrySet()) {
+                    writer.write(String.join(",", PUT_RECORD, table.getKey(), entry.getKey(), entry.getValue()));
+                    writer.newLine();
+                }
+            }
+            writer.write(COMMIT_RECORD);
+            writer.newLine();
+            writer.flush();
+        });
+        this.recordCount = countEntries() + 1;
+        this.committedLength = this.file.length();
+        this.fileKey = readFileKey(this.file);
+    }
+
+    /**
+     * Replays the batches from the given offset of the file on, which must be the start of a line.
+     * Records of a batch whose commit line is missing are not applied and are read again by the next replay.
+     * @param offset The offset to read from
+     * @param isRefresh Whether the tables are already loaded. The batches are then only applied if none of
+     *                  them clears a table, as a cleared table is rewritten with keys that may be reused.
+     * @return false if the batches were not applied
+     */
+    private boolean replayFrom(long offset, boolean isRefresh) throws IOException {
+        List<String[]> committedRecords = new ArrayList<>();
+        List<String[]> uncommittedRecords = new ArrayList<>();
+        int readRecords = 0;
+        int corruptedRecords = 0;
+        int corruptedUncommittedRecords = 0;
+        long readLength = offset;
+        try (FileInputStream fileIn = new FileInputStream(this.file)) {
+            fileIn.getChannel().position(offset);
+            InputStream in = new BufferedInputStream(fileIn);
+            ByteArrayOutputStream lineBytes = new ByteArrayOutputStream();
+            long position = offset;
+            for (int nextByte = in.read(); nextByte != -1; nextByte = in.read()) {
+                position++;
+                if (nextByte != '\n') {
+                    lineBytes.write(nextByte);
+                    continue;
+                }
+                String line = lineBytes.toString(StandardCharsets.UTF_8);
+                lineBytes.reset();
+                if (line.endsWith("\r")) {
+                    line = line.substring(0, line.length() - 1);
+                }
+                if (line.equals(COMMIT_RECORD)) {
+                    if (isRefresh) {
+                        committedRecords.addAll(uncommittedRecords);
+                    } else {
+                        uncommittedRecords.forEach(this::applyRecord);
+                    }
+                    readRecords += uncommittedRecords.size() + corruptedUncommittedRecords + 1;
+                    corruptedRecords += corruptedUncommittedRecords;
+                    uncommittedRecords.clear();
+                    corruptedUncommittedRecords = 0;
+                    readLength = position;
+                    continue;
+                }
+                String[] record = line.split(",", 4);
+                if (isWellFormed(record)) {
+                    uncommittedRecords.add(record);
+                } else {
+                    corruptedUncommittedRecords++;
+                }
+            }
+        }
+        if (committedRecords.stream().anyMatch(record -> record[0].equals(CLEAR_RECORD))) {
+            return false;
+        }
+        committedRecords.forEach(this::applyRecord);
+        this.recordCount += readRecords;
+        this.corruptedRecordCount += corruptedRecords;
+        this.committedLength = readLength;
+        return true;
+    }
+
+    private static Object readFileKey(File file) throws IOException {
+        try {
+            return Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private int countEntries() {
+        return tables.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private static boolean isWellFormed(String[] parts) {
+        switch (parts[0]) {
+        case PUT_RECORD:
+            return parts.length == 4;
+        case DELETE_RECORD:
+            return parts.length == 3;
+        case CLEAR_RECORD:
+            return parts.length == 2;
+        default:
+            return false;
+        }
+    }
+
+    private void applyRecord(String[] record) {
+        TreeMap<String, String> table = tables.computeIfAbsent(record[1], name -> new TreeMap<>());
+        switch (record[0]) {
+        case PUT_RECORD:
+            table.put(record[2], record[3]);
+            break;
+        case DELETE_RECORD:
+            table.remove(record[2]);
+            break;
+        default:
+            table.clear();
+            break;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package seedu.healthmate.utils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+import seedu.healthmate.exceptions.BadCalorieException;
+import seedu.healthmate.exceptions.BadPortionException;
+import seedu.healthmate.exceptions.BadTimestampException;
+import seedu.healthmate.exceptions.EmptyCalorieException;
+import seedu.healthmate.exceptions.EmptyTimestampException;
+
+/**
+ * The parameters of a user input, extracted in a single scan over the input.
+ * The scan records whether the input contains a comma, where the first signaller starts and the first
+ * well-formed value of each {@link Parameter}, so that a command can check and read all of them without
+ * scanning the input again. Values are matched exactly like the patterns {@code /c(\d+)(\s|$)},
+ * {@code /p(\d+)(\s|$)} and {@code /t\d{4}-\d{2}-\d{2}}: the first occurrence of a signaller that is followed
+ * by a well-formed value counts, and a signaller that occurs without one makes the value malformed.
+ */
+public class ParsedParameters {
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int TIMESTAMP_LENGTH = "yyyy-MM-dd".length();
+    private static final int MISSING_VALUE = -1;
+    private static final int MALFORMED_VALUE = -2;
+    private static final int NO_MATCH = -3;
+
+    private final String input;
+    private final boolean hasComma;
+    private final int firstSignallerIndex;
+    private final int calories;
+    private final int portions;
+    private final boolean hasTimestampSignaller;
+    private final int timestampIndex;
+
+    private ParsedParameters(String input, boolean hasComma, int firstSignallerIndex, int calories,
+                             int portions, boolean hasTimestampSignaller, int timestampIndex) {
+        this.input = input;
+        this.hasComma = hasComma;
+        this.firstSignallerIndex = firstSignallerIndex;
+        this.calories = calories;
+        this.portions = portions;
+        this.hasTimestampSignaller = hasTimestampSignaller;
+        this.timestampIndex = timestampIndex;
+    }
+
+    /**
+     * Scans the input once and extracts all parameters.
+     * @param input The user input
+     * @return The parameters of the input
+     */
+    public static ParsedParameters parse(String input) {
+        boolean hasComma = false;
+        int firstSignallerIndex = -1;
+        int calories = MISSING_VALUE;
+        int portions = MISSING_VALUE;
+        boolean hasTimestampSignaller = false;
+        int timestampIndex = -1;
+        int length = input.length();
+        for (int i = 0; i < length; i++) {
+            char character = input.charAt(i);
+            if (character == ',') {
+                hasComma = true;
+            }
+            if (character != '/') {
+                continue;
+            }
+            if (firstSignallerIndex == -1) {
+                firstSignallerIndex = i;
+            }
+            char signaller = i + 1 < length ? input.charAt(i + 1) : 0;
+            if (signaller == 'c' && !isMatched(calories)) {
+                calories = matchValue(input, i + 2);
+            } else if (signaller == 'p' && !isMatched(portions)) {
+                portions = matchValue(input, i + 2);
+            } else if (signaller == 't' && timestampIndex == -1) {
+                hasTimestampSignaller = true;
+                timestampIndex = matchesTimestamp(input, i + 2) ? i + 2 : -1;
+            }
+        }
+        return new ParsedParameters(input, hasComma, firstSignallerIndex, toValue(calories), toValue(portions),
+                hasTimestampSignaller, timestampIndex);
+    }
+
+    public boolean containsComma() {
+        return this.hasComma;
+    }
+
+    /**
+     * Returns the raw value of a numeric parameter, as {@link Parameter#parseParameter} reports it.
+     * @param param The parameter
+     * @return The value, -2 if the parameter is malformed or too large, and 1 for missing portions
+     *         or -1 for any other missing parameter
+     */
+    public int getValue(Parameter param) {
+        int value = param == Parameter.CALORIE_SIGNALLER ? this.calories : this.portions;
+        if (value == MISSING_VALUE && param == Parameter.PORTIONS_SIGNALLER) {
+            return 1;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of portions, 1 if none were specified.
+     * @return The number of portions
+     * @throws BadPortionException if the portions are malformed or not positive
+     */
+    public int getPortions() throws BadPortionException {
+        int portions = getValue(Parameter.PORTIONS_SIGNALLER);
+        if (portions <= 0) {
+            throw new BadPortionException();
+        }
+        return portions;
+    }
+
+    /**
+     * Returns the number of calories.
+     * @return The number of calories
+     * @throws EmptyCalorieException if no calories were specified
+     * @throws BadCalorieException if the calories are malformed
+     */
+    public int getCalories() throws BadCalorieException, EmptyCalorieException {
+        if (this.calories == MISSING_VALUE) {
+            throw new EmptyCalorieException();
+        } else if (this.calories == MALFORMED_VALUE) {
+            throw new BadCalorieException();
+        }
+        return this.calories;
+    }
+
+    /**
+     * Returns the date given in {@code yyyy-MM-dd} format.
+     * @return The date
+     * @throws EmptyTimestampException if no timestamp was specified
+     * @throws BadTimestampException if the timestamp is malformed or not a valid date
+     */
+    public LocalDate getTimestamp() throws EmptyTimestampException, BadTimestampException {
+        if (!this.hasTimestampSignaller) {
+            throw new EmptyTimestampException();
+        }
+        if (this.timestampIndex == -1) {
+            throw new BadTimestampException();
+        }
+        try {
+            return LocalDate.parse(this.input.substring(this.timestampIndex, this.timestampIndex + TIMESTAMP_LENGTH),
+                    TIMESTAMP_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new BadTimestampException();
+        }
+    }
+
+    /**
+     * Returns the lower-cased text between the command and the first signaller.
+     * @param command The command the input starts with
+     * @return The description, or an empty Optional if there is none
+     * @throws StringIndexOutOfBoundsException if a signaller precedes the end of the command
+     */
+    public Optional<String> getDescription(String command) {
+        int descriptionIndex = this.input.indexOf(command) + command.length();
+        int endIndex = this.firstSignallerIndex == -1 ? this.input.length() : this.firstSignallerIndex;
+        String description = this.input.substring(descriptionIndex, endIndex).trim().toLowerCase();
+        return description.strip().length() > 0 ? Optional.of(description) : Optional.empty();
+    }
+
+    private static boolean isMatched(int value) {
+        return value != MISSING_VALUE && value != NO_MATCH;
+    }
+
+    private static int toValue(int value) {
+        return value == NO_MATCH ? MALFORMED_VALUE : value;
+    }
+
+    /**
+     * Matches one or more digits at the given index that are followed by whitespace or the end of the input.
+     * @return The value of the digits, -2 if they match but do not fit an int, or -3 if they do not match
+     */
+    private static int matchValue(String input, int index) {
+        long value = 0;
+        int end = index;
+        while (end < input.length() && isDigit(input.charAt(end))) {
+            value = Math.min(value * 10 + input.charAt(end) - '0', Integer.MAX_VALUE + 1L);
+            end++;
+        }
+        boolean isTerminated = end == input.length() || isWhitespace(input.charAt(end));
+        if (end == index || !isTerminated) {
+            return NO_MATCH;
+        }
+        return value > Integer.MAX_VALUE ? MALFORMED_VALUE : (int) value;
+    }
+
+    private static boolean matchesTimestamp(String input, int index) {
+        if (index + TIMESTAMP_LENGTH > input.length()) {
+            return false;
+        }
+        for (int i = 0; i < TIMESTAMP_LENGTH; i++) {
+            char character = input.charAt(index + i);
+            boolean isSeparator = i == 4 || i == 7;
+            if (isSeparator ? character != '-' : !isDigit(character)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    /**
+     * Matches the characters of the regular expression class {@code \s}.
+     */
+    private static boolean isWhitespace(char character) {
+        return character == ' ' || character == '\t' || character == '\n' || character == '\u000B'
+                || character == '\f' || character == '\r';
+    }
+}
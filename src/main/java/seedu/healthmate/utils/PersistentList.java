@@ -0,0 +1,371 @@
+package seedu.healthmate.utils;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * An immutable list whose changes return new lists sharing all unchanged structure with the old one.
+ * The elements are held in an AVL tree keyed by position: accessing, appending, inserting, replacing or
+ * removing an element takes O(log n) time, and a change copies only the O(log n) nodes on the path to the
+ * changed position. Older versions of a list therefore stay valid and cheap to keep, e.g. for undo.
+ * <p>
+ * Elements implementing {@link Weighted} count as their weight, all others as 1, and every node keeps the total
+ * weight of its subtree. A list of blocks of rows, e.g. chunks of a larger log, can thus locate the block
+ * holding a row by its position in O(log n) with {@link #indexOfWeight} and {@link #weightBefore}.
+ * <p>
+ * The {@code java.util.List} mutators throw {@code UnsupportedOperationException}; use {@link #plus},
+ * {@link #with} and {@link #minus} instead.
+ *
+ * @param <T> The type of the elements
+ */
+public final class PersistentList<T> extends AbstractList<T> implements RandomAccess {
+    private static final PersistentList<?> EMPTY = new PersistentList<>(null);
+
+    private final Node<T> root;
+
+    /**
+     * An element counting as several units for {@link #indexOfWeight} and {@link #weightBefore}.
+     * The weight is read when the element is put into a list, so an element whose weight changed has to be
+     * put in again with {@link #with}.
+     */
+    public interface Weighted {
+        int weight();
+    }
+
+    private static final class Node<T> {
+        private final T value;
+        private final Node<T> left;
+        private final Node<T> right;
+        private final int size;
+        private final int height;
+        private final long weight;
+
+        private Node(T value, Node<T> left, Node<T> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = sizeOf(left) + 1 + sizeOf(right);
+            this.height = Math.max(heightOf(left), heightOf(right)) + 1;
+            this.weight = weightOf(left) + weightOfValue(value) + weightOf(right);
+        }
+    }
+
+    private PersistentList(Node<T> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentList<T> empty() {
+        return (PersistentList<T>) EMPTY;
+    }
+
+    /**
+     * Builds a balanced list holding the given elements in O(n).
+     * @param elements The elements in order
+     * @return The list, or the given list itself if it is a {@code PersistentList} already
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentList<T> of(List<? extends T> elements) {
+        if (elements instanceof PersistentList) {
+            return (PersistentList<T>) elements;
+        }
+        Object[] values = elements.toArray();
+        return values.length == 0 ? empty() : new PersistentList<>(build((T[]) values, 0, values.length));
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index, size());
+        Node<T> node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Sums the weights of all elements.
+     * @return The total weight
+     */
+    public long totalWeight() {
+        return weightOf(root);
+    }
+
+    /**
+     * Finds the element covering the given offset in the concatenation of the weights of all elements.
+     * @param offset The offset, between 0 inclusive and {@link #totalWeight()} exclusive
+     * @return The index of the first element whose weights up to and including its own exceed the offset
+     */
+    public int indexOfWeight(long offset) {
+        if (offset < 0 || offset >= totalWeight()) {
+            throw new IndexOutOfBoundsException("Weight " + offset + " out of bounds for " + totalWeight());
+        }
+        Node<T> node = root;
+        int index = 0;
+        while (true) {
+            long leftWeight = weightOf(node.left);
+            long ownWeight = weightOfValue(node.value);
+            if (offset < leftWeight) {
+                node = node.left;
+            } else if (offset < leftWeight + ownWeight) {
+                return index + sizeOf(node.left);
+            } else {
+                offset -= leftWeight + ownWeight;
+                index += sizeOf(node.left) + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Sums the weights of the elements before the given index.
+     * @param index The index, between 0 and {@link #size()} inclusive
+     * @return The total weight of the elements {@code 0..index - 1}
+     */
+    public long weightBefore(int index) {
+        checkIndex(index, size() + 1);
+        long weight = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int leftSize = sizeOf(node.left);
+            if (index <= leftSize) {
+                node = node.left;
+            } else {
+                weight += weightOf(node.left) + weightOfValue(node.value);
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Returns a list with the element appended.
+     * @param value The element to append
+     * @return The new list
+     */
+    public PersistentList<T> plus(T value) {
+        return plus(size(), value);
+    }
+
+    /**
+     * Returns a list with the element inserted at the given index.
+     * @param index The index the element is inserted at
+     * @param value The element to insert
+     * @return The new list
+     */
+    public PersistentList<T> plus(int index, T value) {
+        checkIndex(index, size() + 1);
+        return new PersistentList<>(insert(root, index, value));
+    }
+
+    /**
+     * Returns a list with the element at the given index replaced.
+     * @param index The index of the element to replace
+     * @param value The new element
+     * @return The new list
+     */
+    public PersistentList<T> with(int index, T value) {
+        checkIndex(index, size());
+        return new PersistentList<>(replace(root, index, value));
+    }
+
+    /**
+     * Returns a list without the element at the given index.
+     * @param index The index of the element to remove
+     * @return The new list
+     */
+    public PersistentList<T> minus(int index) {
+        checkIndex(index, size());
+        return new PersistentList<>(remove(root, index));
+    }
+
+    /**
+     * Finds the first element satisfying a condition in O(log n). The condition must hold for all elements
+     * from some index on and for none before, e.g. being at least a given key in a sorted list.
+     * @param condition The condition to test the elements with
+     * @return The index of the first element satisfying it, or {@link #size()} if no element does
+     */
+    public int indexOfFirst(Predicate<? super T> condition) {
+        int index = size();
+        int offset = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (condition.test(node.value)) {
+                index = offset + sizeOf(node.left);
+                node = node.left;
+            } else {
+                offset += sizeOf(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Iterates the elements in order in O(n), without descending from the root for every element.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Iterates the elements from the given index on in order. Reaching the first element takes O(log n),
+     * every further element O(1) amortized.
+     * @param fromIndex The index of the first element, between 0 and {@link #size()} inclusive
+     * @return The iterator
+     */
+    public Iterator<T> iterator(int fromIndex) {
+        checkIndex(fromIndex, size() + 1);
+        ArrayDeque<Node<T>> startPath = new ArrayDeque<>();
+        Node<T> node = root;
+        int index = fromIndex;
+        while (node != null) {
+            int leftSize = sizeOf(node.left);
+            if (index <= leftSize) {
+                startPath.push(node);
+                node = index < leftSize ? node.left : null;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return new Iterator<>() {
+            private final ArrayDeque<Node<T>> path = startPath;
+            private Node<T> next = null;
+
+            @Override
+            public boolean hasNext() {
+                return next != null || !path.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                while (next != null) {
+                    path.push(next);
+                    next = next.left;
+                }
+                Node<T> node = path.pop();
+                next = node.right;
+                return node.value;
+            }
+        };
+    }
+
+    private static <T> Node<T> build(T[] values, int from, int to) {
+        if (from == to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node<>(values[middle], build(values, from, middle), build(values, middle + 1, to));
+    }
+
+    private static <T> Node<T> insert(Node<T> node, int index, T value) {
+        if (node == null) {
+            return new Node<>(value, null, null);
+        }
+        int leftSize = sizeOf(node.left);
+        if (index <= leftSize) {
+            return balance(node.value, insert(node.left, index, value), node.right);
+        }
+        return balance(node.value, node.left, insert(node.right, index - leftSize - 1, value));
+    }
+
+    private static <T> Node<T> replace(Node<T> node, int index, T value) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return new Node<>(node.value, replace(node.left, index, value), node.right);
+        } else if (index > leftSize) {
+            return new Node<>(node.value, node.left, replace(node.right, index - leftSize - 1, value));
+        }
+        return new Node<>(value, node.left, node.right);
+    }
+
+    private static <T> Node<T> remove(Node<T> node, int index) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return balance(node.value, remove(node.left, index), node.right);
+        } else if (index > leftSize) {
+            return balance(node.value, node.left, remove(node.right, index - leftSize - 1));
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+        Node<T> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.value, node.left, remove(node.right, 0));
+    }
+
+    /**
+     * Creates a node from subtrees whose heights differ by at most two, rotating it back into AVL balance.
+     */
+    private static <T> Node<T> balance(T value, Node<T> left, Node<T> right) {
+        int balance = heightOf(left) - heightOf(right);
+        if (balance > 1) {
+            if (heightOf(left.left) < heightOf(left.right)) {
+                left = rotateLeft(left.value, left.left, left.right);
+            }
+            return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+        } else if (balance < -1) {
+            if (heightOf(right.right) < heightOf(right.left)) {
+                right = rotateRight(right.value, right.left, right.right);
+            }
+            return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+        }
+        return new Node<>(value, left, right);
+    }
+
+    private static <T> Node<T> rotateLeft(T value, Node<T> left, Node<T> right) {
+        return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+    }
+
+    private static <T> Node<T> rotateRight(T value, Node<T> left, Node<T> right) {
+        return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int heightOf(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long weightOf(Node<?> node) {
+        return node == null ? 0 : node.weight;
+    }
+
+    private static long weightOfValue(Object value) {
+        return value instanceof Weighted ? ((Weighted) value).weight() : 1;
+    }
+
+    private static void checkIndex(int index, int length) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package seedu.healthmate;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.services.BinaryMealEntryStore;
+import seedu.healthmate.services.MealEntryJournal;
+
+public class BinaryMealEntryStoreTest {
+
+    @Test
+    public void writeAndRead_mealEntries_roundTripsLosslessly() throws IOException {
+        File file = File.createTempFile("meal_entries", ".bin");
+        file.deleteOnExit();
+        LocalDateTime preciseTimestamp = LocalDateTime.of(2024, 10, 30, 12, 34, 56, 789_123_456);
+        List<Meal> meals = List.of(
+                new MealEntry(Optional.of("pizza"), 300, preciseTimestamp),
+                new MealEntry(Optional.empty(), 120, preciseTimestamp.minusDays(400)),
+                new MealEntry(Optional.of("pizza"), 600, preciseTimestamp.plusHours(1), 3));
+
+        BinaryMealEntryStore.write(meals, file, MealEntryJournal.Checkpoint.NONE);
+        List<Meal> loadedMeals = BinaryMealEntryStore.read(file);
+
+        assertEquals(meals.size(), loadedMeals.size());
+        for (int i = 0; i < meals.size(); i++) {
+            assertEquals(meals.get(i).toSaveString(), loadedMeals.get(i).toSaveString());
+            assertEquals(meals.get(i).getName(), loadedMeals.get(i).getName());
+        }
+    }
+
+    @Test
+    public void map_mealEntries_answersQueriesWithoutMaterializing() throws IOException {
+        File file = File.createTempFile("meal_entries", ".bin");
+        file.deleteOnExit();
+        LocalDateTime day = LocalDateTime.of(2024, 10, 30, 0, 0);
+        List<Meal> meals = List.of(
+                new MealEntry(Optional.of("pizza"), 300, day),
+                new MealEntry(Optional.of("burger"), 700, day.plusDays(1)),
+                new MealEntry(Optional.of("salad"), 100, day.plusDays(1).plusHours(5), 2));
+        BinaryMealEntryStore.write(meals, file, MealEntryJournal.Checkpoint.NONE);
+
+        MealEntriesList mappedEntries = BinaryMealEntryStore.map(file);
+        assertEquals(3, mappedEntries.size());
+        assertEquals(1200, mappedEntries.getTotalCaloriesConsumed());
+        assertEquals(700, mappedEntries.getMaxCaloriesConsumed().get().getCalories());
+        assertEquals(meals.get(2).toString(), mappedEntries.toMealStringByIndex(2));
+
+        MealEntriesList secondDay = mappedEntries.getMealEntriesByDate(day.plusDays(1), day.plusDays(2).minusNanos(1));
+        assertEquals(2, secondDay.size());
+        assertEquals(900, secondDay.getTotalCaloriesConsumed());
+
+        mappedEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("soup"), 50, day.plusDays(1)));
+        secondDay = mappedEntries.getMealEntriesByDate(day.plusDays(1), day.plusDays(2));
+        assertEquals(950, secondDay.getTotalCaloriesConsumed());
+        mappedEntries.removeMealWithoutCLIMessage(1);
+        assertEquals(3, mappedEntries.size());
+        assertEquals(meals.get(1).toString(), mappedEntries.toMealStringByIndex(0));
+        assertEquals(950, mappedEntries.getTotalCaloriesConsumed());
+    }
+
+    @Test
+    public void read_notABinaryFile_throwsIOException() throws IOException {
+        File file = File.createTempFile("meal_entries", ".bin");
+        file.deleteOnExit();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("pizza,300, 2024-10-30T00:00");
+        }
+        assertThrows(IOException.class, () -> BinaryMealEntryStore.read(file));
+    }
+}
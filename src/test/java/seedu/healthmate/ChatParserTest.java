@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.ByteArrayInputStream;
@@ -12,8 +13,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Scanner;
 import java.util.stream.IntStream;
 
+import seedu.healthmate.services.HistoryTracker;
 import seedu.healthmate.services.UserHistoryTracker;
 import seedu.healthmate.core.MealEntry;
 import seedu.healthmate.core.User;
@@ -84,6 +87,18 @@ public class ChatParserTest {
         compareChatParserOutput(chatParser, simulatedInput, expectedOutput);
     }
 
+    /**
+     * Tests that the exit command is dispatched like any other command, in any case
+     */
+    @Test
+    public void byeInAnyCase_printsFarewellAndExits() {
+        ChatParser chatParser = new ChatParser();
+        String simulatedInput = "Bye\nhi\n";
+        String expectedOutput = UI.simulateInitOutput()
+            + UI.simulateFareWell();
+        compareChatParserOutput(chatParser, simulatedInput, expectedOutput);
+    }
+
     /**
      * Tests the situation of adding a meal (without portions and dates specified)
      */
@@ -417,5 +432,24 @@ public class ChatParserTest {
         compareChatParserOutput(chatParser, simulatedInput, expectedOutput);
     }
 
-
+    /**
+     * Tests that a batch run executes all commands of a script and saves their changes at the end.
+     */
+    @Test
+    void runBatch_scriptWithCheckpoints_savesAllCommands() {
+        ChatParser chatParser = new ChatParser();
+        chatParser.cleanMealLists();
+        String script = "# nightly import\n"
+                + "add mealEntry pizza /c500\n"
+                + "\n"
+                + "add mealEntry salad /c100\n"
+                + "add mealEntry soup /c200\n"
+                + "bye\n"
+                + "add mealEntry cake /c400\n";
+        chatParser.runBatch(new Scanner(script), 2);
+
+        assertTrue(outputStream.toString().contains("Batch: Executed 3 command(s) in "));
+        assertEquals(3, new HistoryTracker().loadMealEntries(true).size());
+        chatParser.cleanMealLists();
+    }
 }
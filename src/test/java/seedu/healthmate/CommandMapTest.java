@@ -4,12 +4,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import seedu.healthmate.command.Command;
 import seedu.healthmate.command.CommandMap;
+import seedu.healthmate.command.commands.AddMealEntryCommand;
+import seedu.healthmate.command.commands.ClearUserDataCommand;
 import seedu.healthmate.command.commands.MealLogCommand;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 class CommandMapTest {
@@ -29,7 +32,7 @@ class CommandMapTest {
         List<Command> commands = CommandMap.getCommands(userInput, command);
 
         // Expect that all commands are returned
-        assertEquals(14, commands.size());
+        assertEquals(20, commands.size());
     }
 
     @Test
@@ -56,6 +59,15 @@ class CommandMapTest {
         assertEquals(1, commands.size());
         assertInstanceOf(MealLogCommand.class, commands.get(0));
     }
-}
-
 
+    @Test
+    void testGetCommandDispatchKeys() {
+        // Test that main commands are looked up regardless of case, including unlisted commands
+        assertInstanceOf(AddMealEntryCommand.class, CommandMap.getCommand("Add MEALENTRY").get());
+        assertInstanceOf(ClearUserDataCommand.class, CommandMap.getCommand("clear userdata").get());
+        assertTrue(CommandMap.getCommand("add").isEmpty());
+
+        // Unlisted commands are not shown by list commands
+        assertEquals(0, CommandMap.getCommands("list commands clear userdata", "list commands").size());
+    }
+}
@@ -4,6 +4,8 @@ package seedu.healthmate;
 
 import org.junit.jupiter.api.Test;
 import seedu.healthmate.command.Command;
+import seedu.healthmate.command.CommandContext;
+import seedu.healthmate.command.CommandPair;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -15,6 +17,10 @@ public class CommandTest {
         public TestCommand(String command, String format, String description) {
             super(command, format, description);
         }
+
+        @Override
+        public void execute(CommandContext context, CommandPair args) {
+        }
     }
 
     @Test
@@ -0,0 +1,108 @@
+package seedu.healthmate;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.core.MealList;
+import seedu.healthmate.core.SegmentedMealEntriesList;
+import seedu.healthmate.services.DataExporter;
+import seedu.healthmate.services.MealEntryImporter;
+
+public class DataExporterTest {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private static MealEntriesList createMealEntries() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pizza"), 300,
+                LocalDateTime.of(2024, 10, 29, 12, 0), 2));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("soup"), 120,
+                LocalDateTime.of(2024, 10, 30, 8, 15)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.empty(), 80,
+                LocalDateTime.of(2024, 10, 30, 20, 0)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("cake"), 400,
+                LocalDateTime.of(2024, 11, 2, 0, 0)));
+        return mealEntries;
+    }
+
+    @Test
+    public void exportMealEntries_csvRange_writesEntriesWithinRange() throws IOException {
+        StringWriter out = new StringWriter();
+        DataExporter exporter = new DataExporter(DataExporter.Format.CSV, out,
+                LocalDate.of(2024, 10, 30), LocalDate.of(2024, 11, 1));
+
+        assertEquals(2, exporter.exportMealEntries(createMealEntries()));
+        assertEquals("name,calories,timestamp,portions" + LINE_SEPARATOR
+                + "soup,120,2024-10-30T08:15,1" + LINE_SEPARATOR
+                + ",80,2024-10-30T20:00,1" + LINE_SEPARATOR, out.toString());
+    }
+
+    @Test
+    public void exportDailyTotals_withAndWithoutRollups_writesSameTotals() throws IOException {
+        MealEntriesList mealEntries = createMealEntries();
+        StringWriter visitedOut = new StringWriter();
+        new DataExporter(DataExporter.Format.JSON_LINES, visitedOut, LocalDate.MIN, LocalDate.MAX)
+                .exportDailyTotals(mealEntries);
+
+        mealEntries.getDailyRollups();
+        StringWriter rollupOut = new StringWriter();
+        assertEquals(3, new DataExporter(DataExporter.Format.JSON_LINES, rollupOut, LocalDate.MIN, LocalDate.MAX)
+                .exportDailyTotals(mealEntries));
+
+        assertEquals("{\"date\": \"2024-10-29\", \"calories\": 600, \"mealCount\": 1}" + LINE_SEPARATOR
+                + "{\"date\": \"2024-10-30\", \"calories\": 200, \"mealCount\": 2}" + LINE_SEPARATOR
+                + "{\"date\": \"2024-11-02\", \"calories\": 400, \"mealCount\": 1}" + LINE_SEPARATOR,
+                visitedOut.toString());
+        assertEquals(visitedOut.toString(), rollupOut.toString());
+    }
+
+    @Test
+    public void exportMealEntries_segmentedList_readsSegmentsWithoutCaching() throws IOException {
+        List<Meal> segmentMeals = createMealEntries().getMealEntries();
+        int[] readCount = {0};
+        SegmentedMealEntriesList mealEntries = new SegmentedMealEntriesList(List.of(
+                new SegmentedMealEntriesList.Segment(LocalDate.of(2024, 10, 1), LocalDate.of(2024, 12, 1), () -> {
+                    readCount[0]++;
+                    return new ArrayList<>(segmentMeals);
+                })), Comparator.comparing(meal -> ((MealEntry) meal).getTimestamp()));
+
+        for (int i = 0; i < 2; i++) {
+            DataExporter exporter = new DataExporter(DataExporter.Format.CSV, new StringWriter(),
+                    LocalDate.of(2024, 10, 30), LocalDate.of(2024, 10, 30));
+            assertEquals(2, exporter.exportMealEntries(mealEntries));
+        }
+        assertEquals(2, readCount[0]);
+    }
+
+    @Test
+    public void exportMealEntries_importedAgain_yieldsSameEntries() throws IOException {
+        MealEntriesList mealEntries = createMealEntries();
+        Path file = Files.createTempFile("meal_entries_export", ".jsonl");
+        try (StringWriter out = new StringWriter()) {
+            new DataExporter(DataExporter.Format.JSON_LINES, out, LocalDate.MIN, LocalDate.MAX)
+                    .exportMealEntries(mealEntries);
+            Files.writeString(file, out.toString());
+        }
+
+        MealEntriesList importedEntries = new MealEntriesList();
+        MealEntryImporter.ImportResult result = new MealEntryImporter(new MealList()).importFile(file,
+                importedEntries);
+        Files.delete(file);
+
+        assertEquals(0, result.getRejectedCount());
+        assertEquals(mealEntries.getMealEntries().toString(), importedEntries.getMealEntries().toString());
+    }
+}
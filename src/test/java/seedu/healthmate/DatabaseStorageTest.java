@@ -0,0 +1,135 @@
+package seedu.healthmate;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import seedu.healthmate.core.DailyCalorieRollups;
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.core.MealEntryChange;
+import seedu.healthmate.services.DatabaseStorage;
+import seedu.healthmate.services.MealEntryJournal;
+import seedu.healthmate.utils.KeyValueDatabase;
+
+public class DatabaseStorageTest {
+    private static final LocalDateTime OCTOBER = LocalDateTime.of(2024, 10, 30, 0, 0);
+    private static final LocalDateTime NOVEMBER = LocalDateTime.of(2024, 11, 2, 0, 0);
+
+    @Test
+    public void applyMealEntryChanges_addAndDelete_persistsLogOrderWithoutSnapshot() throws IOException {
+        File directory = Files.createTempDirectory("data").toFile();
+        DatabaseStorage storage = new DatabaseStorage(directory);
+        storage.writeMealEntries(List.of(
+                new MealEntry(Optional.of("pizza"), 300, NOVEMBER),
+                new MealEntry(Optional.of("burger"), 500, OCTOBER)), new MealEntryJournal.Checkpoint(2, 0));
+
+        MealEntriesList mealEntries = storage.readMealEntries().t();
+        mealEntries.addMeal(new MealEntry(Optional.of("salad"), 100, OCTOBER));
+        mealEntries.deleteMeal(1);
+        assertTrue(storage.applyMealEntryChanges(mealEntries.drainPendingChanges(), mealEntries));
+
+        DatabaseStorage reopenedStorage = new DatabaseStorage(directory);
+        MealEntriesList reloadedEntries = reopenedStorage.readMealEntries().t();
+        assertEquals(600, reloadedEntries.getMealEntriesByDate(OCTOBER, OCTOBER.plusDays(1))
+                .getTotalCaloriesConsumed());
+        assertEquals(2, reloadedEntries.size());
+        assertEquals(mealEntries.toMealStringByIndex(0), reloadedEntries.toMealStringByIndex(0));
+        assertEquals(mealEntries.toMealStringByIndex(1), reloadedEntries.toMealStringByIndex(1));
+        assertEquals(2, reopenedStorage.readMealEntryCheckpoint().getEpoch());
+        DailyCalorieRollups dailyRollups = reopenedStorage.readDailyRollups(MealEntryJournal.Checkpoint.NONE)
+                .orElseThrow();
+        assertEquals(600, dailyRollups.get(OCTOBER.toLocalDate()).getCalories());
+        assertTrue(dailyRollups.get(NOVEMBER.toLocalDate()).isEmpty());
+    }
+
+    @Test
+    public void applyMealEntryChanges_repeatedBatchesAndRejectedBatch_persistsLogOrder() throws IOException {
+        File directory = Files.createTempDirectory("data").toFile();
+        DatabaseStorage storage = new DatabaseStorage(directory);
+        storage.writeMealEntries(List.of(
+                new MealEntry(Optional.of("pizza"), 300, NOVEMBER),
+                new MealEntry(Optional.of("burger"), 500, OCTOBER)), new MealEntryJournal.Checkpoint(2, 0));
+        MealEntriesList mealEntries = storage.readMealEntries().t();
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 10; i++) {
+                mealEntries.addMeal(new MealEntry(Optional.of("meal" + round + "-" + i), 10 * i + round,
+                        OCTOBER.minusDays(i)));
+            }
+            for (int mealNumber = 1; mealNumber <= 5; mealNumber++) {
+                mealEntries.deleteMeal(mealNumber + 1);
+            }
+            assertTrue(storage.applyMealEntryChanges(mealEntries.drainPendingChanges(), mealEntries));
+        }
+        MealEntry unknownEntry = new MealEntry(Optional.of("soup"), 80, OCTOBER);
+        assertFalse(storage.applyMealEntryChanges(List.of(MealEntryChange.added(unknownEntry),
+                MealEntryChange.deleted(1, mealEntries.getMealEntries().get(0)),
+                MealEntryChange.deleted(1, unknownEntry)), mealEntries));
+        mealEntries.deleteMeal(3);
+        assertTrue(storage.applyMealEntryChanges(mealEntries.drainPendingChanges(), mealEntries));
+
+        MealEntriesList reloadedEntries = new DatabaseStorage(directory).readMealEntries().t();
+        assertEquals(mealEntries.size(), reloadedEntries.size());
+        for (int i = 0; i < mealEntries.size(); i++) {
+            assertEquals(mealEntries.toMealStringByIndex(i), reloadedEntries.toMealStringByIndex(i));
+        }
+    }
+
+    @Test
+    public void writeMealOptions_updatedOption_keepsMenuPosition() throws IOException {
+        File directory = Files.createTempDirectory("data").toFile();
+        DatabaseStorage storage = new DatabaseStorage(directory);
+        storage.writeMealOptions(List.of(new Meal(Optional.of("pizza"), 300), new Meal(Optional.of("salad"), 100)));
+        storage.writeMealOptions(List.of(new Meal(Optional.of("salad"), 100), new Meal(Optional.of("Pizza"), 350)));
+
+        List<Meal> mealOptions = new DatabaseStorage(directory).readMealOptions().t();
+
+        assertEquals(2, mealOptions.size());
+        assertEquals("Pizza", mealOptions.get(0).getName().orElseThrow());
+        assertEquals(350, mealOptions.get(0).getCalories());
+    }
+
+    @Test
+    public void open_batchWithoutCommitLine_isDiscarded() throws IOException {
+        File file = Files.createTempFile("healthmate", ".db").toFile();
+        KeyValueDatabase database = KeyValueDatabase.open(file);
+        database.commit(new KeyValueDatabase.Batch().put("users", "1", "alice"));
+        try (FileWriter writer = new FileWriter(file, true)) {
+            writer.write("put,users,2,bob" + System.lineSeparator());
+        }
+
+        KeyValueDatabase reopenedDatabase = KeyValueDatabase.open(file);
+
+        assertEquals(1, reopenedDatabase.getTable("users").size());
+        assertEquals("alice", reopenedDatabase.getTable("users").get("1"));
+    }
+
+    @Test
+    public void refresh_batchesOfAnotherInstance_appliesAppendedBatchesUntilFileIsReplaced() throws IOException {
+        File file = Files.createTempFile("healthmate", ".db").toFile();
+        KeyValueDatabase database = KeyValueDatabase.open(file);
+        database.commit(new KeyValueDatabase.Batch().put("users", "1", "alice"));
+        KeyValueDatabase otherDatabase = KeyValueDatabase.open(file);
+        otherDatabase.commit(new KeyValueDatabase.Batch().put("users", "2", "bob").delete("users", "1"));
+
+        assertTrue(database.refresh());
+        assertEquals(List.of("2"), List.copyOf(database.getTable("users").keySet()));
+
+        otherDatabase.commit(new KeyValueDatabase.Batch().clear("users").put("users", "1", "carol"));
+        assertFalse(database.refresh());
+        otherDatabase.compact();
+        assertFalse(database.refresh());
+        assertEquals("carol", KeyValueDatabase.open(file).getTable("users").get("1"));
+    }
+}
@@ -1,13 +1,42 @@
 package seedu.healthmate;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.core.MealList;
 import seedu.healthmate.services.HistoryTracker;
 
 public class HistoryTrackerTest {
-    
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private final PrintStream originalOutput = System.out;
+
+    @BeforeEach
+    public void setOutputStream() {
+        System.setOut(new PrintStream(outputStream));
+    }
+
+    @AfterEach
+    public void restoreStream() {
+        System.setOut(originalOutput);
+    }
+
     @Test
     public void testCreateDataDirectory() {
         HistoryTracker historyTracker = new HistoryTracker();
@@ -15,4 +44,191 @@ public class HistoryTrackerTest {
         assertEquals(true, dataDirectory.exists(), "Data directory should be created");
         dataDirectory.delete();
     }
+
+    @Test
+    public void saveMealEntryChanges_addAndDelete_reloadsJournaledEntries() {
+        HistoryTracker historyTracker = new HistoryTracker();
+        MealEntriesList mealEntries = historyTracker.loadEmptyMealEntries();
+        historyTracker.saveMealEntries(mealEntries);
+
+        LocalDateTime timestamp = LocalDateTime.of(2024, 10, 30, 0, 0);
+        mealEntries.addMeal(new MealEntry(Optional.of("pizza"), 300, timestamp));
+        mealEntries.addMeal(new MealEntry(Optional.of("burger"), 500, timestamp));
+        mealEntries.addMeal(new MealEntry(Optional.of("salad"), 100, timestamp));
+        historyTracker.saveMealEntryChanges(mealEntries);
+        mealEntries.deleteMeal(2);
+        historyTracker.saveMealEntryChanges(mealEntries);
+
+        MealEntriesList reloadedEntries = historyTracker.loadMealEntries(true);
+        assertEquals(2, reloadedEntries.size());
+        assertEquals(mealEntries.toMealStringByIndex(0), reloadedEntries.toMealStringByIndex(0));
+        assertEquals(mealEntries.toMealStringByIndex(1), reloadedEntries.toMealStringByIndex(1));
+
+        historyTracker.saveMealEntries(historyTracker.loadEmptyMealEntries());
+        assertEquals(0, historyTracker.loadMealEntries(true).size());
+    }
+
+    @Test
+    public void reloadMealEntriesIfChanged_unchangedAndChangedFiles_reloadsOnlyOnChange() {
+        HistoryTracker historyTracker = new HistoryTracker();
+        HistoryTracker otherInstanceTracker = new HistoryTracker();
+        historyTracker.saveMealEntries(historyTracker.loadEmptyMealEntries());
+        MealEntriesList mealEntries = historyTracker.loadMealEntries(true);
+
+        assertSame(mealEntries, historyTracker.reloadMealEntriesIfChanged(mealEntries));
+
+        MealEntriesList otherEntries = otherInstanceTracker.loadMealEntries(true);
+        otherEntries.addMeal(new MealEntry(Optional.of("pizza"), 300, LocalDateTime.of(2024, 10, 30, 0, 0)));
+        otherInstanceTracker.saveMealEntryChanges(otherEntries);
+
+        MealEntriesList reloadedEntries = historyTracker.reloadMealEntriesIfChanged(mealEntries);
+        assertNotSame(mealEntries, reloadedEntries);
+        assertEquals(1, reloadedEntries.size());
+
+        historyTracker.saveMealEntries(historyTracker.loadEmptyMealEntries());
+    }
+
+    @Test
+    public void compactMealEntryJournal_crashBeforeJournalReset_doesNotReplayCompactedRecords() throws IOException {
+        HistoryTracker historyTracker = new HistoryTracker();
+        MealEntriesList mealEntries = historyTracker.loadEmptyMealEntries();
+        historyTracker.saveMealEntries(mealEntries);
+
+        mealEntries.addMeal(new MealEntry(Optional.of("pizza"), 300, LocalDateTime.of(2024, 10, 30, 0, 0)));
+        mealEntries.addMeal(new MealEntry(Optional.of("burger"), 500, LocalDateTime.of(2024, 10, 30, 0, 0)));
+        historyTracker.saveMealEntryChanges(mealEntries);
+
+        // Simulate a crash after the snapshot was replaced but before the journal was reset
+        Path journalPath = Path.of("data", "meal_entries.journal");
+        byte[] uncompactedJournal = Files.readAllBytes(journalPath);
+        historyTracker.compactMealEntryJournal(mealEntries);
+        Files.write(journalPath, uncompactedJournal);
+
+        MealEntriesList reloadedEntries = new HistoryTracker().loadMealEntries(true);
+        assertEquals(2, reloadedEntries.size());
+
+        historyTracker.saveMealEntries(historyTracker.loadEmptyMealEntries());
+    }
+
+    @Test
+    public void loadMealEntries_legacyPortionRowsAndJournal_collapsesPortions() throws IOException {
+        HistoryTracker historyTracker = new HistoryTracker();
+        historyTracker.saveMealEntries(historyTracker.loadEmptyMealEntries());
+        String pizzaRow = "pizza,300, 2024-10-30T12:00";
+        Files.write(Path.of("data", "meal_entries.csv"), List.of("#checkpoint,7,0",
+                pizzaRow, pizzaRow, pizzaRow, "burger,500, 2024-10-30T13:00"));
+        Files.write(Path.of("data", "meal_entries.journal"), List.of("#epoch,7", "delete,2",
+                "add,pizza,300, 2024-10-30T12:00"));
+
+        MealEntriesList mealEntries = historyTracker.loadMealEntries(true);
+        assertEquals(3, mealEntries.size());
+        assertEquals("2 x pizza with 300 calories (at: 2024-10-30)", mealEntries.toMealStringByIndex(0));
+        assertEquals(1400, mealEntries.getTotalCaloriesConsumed());
+
+        historyTracker.compactMealEntryJournal(mealEntries);
+        mealEntries.deleteMeal(1);
+        historyTracker.saveMealEntryChanges(mealEntries);
+        MealEntriesList reloadedEntries = new HistoryTracker().loadMealEntries(true);
+        assertEquals(2, reloadedEntries.size());
+        assertEquals(800, reloadedEntries.getTotalCaloriesConsumed());
+
+        historyTracker.saveMealEntries(historyTracker.loadEmptyMealEntries());
+    }
+
+    @Test
+    public void loadMeals_namesStartingWithHash_keptAfterSaveAndReload() throws IOException {
+        HistoryTracker historyTracker = new HistoryTracker();
+        Files.deleteIfExists(Path.of("data", "meal_options.csv"));
+        Files.deleteIfExists(Path.of("data", "meal_options.log"));
+        MealList mealOptions = historyTracker.loadEmptyMealOptions();
+        mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("#1 special"), 300));
+        historyTracker.saveMealOptions(mealOptions);
+        MealEntriesList mealEntries = historyTracker.loadEmptyMealEntries();
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("#hashtag meal"), 500,
+                LocalDateTime.of(2024, 10, 30, 0, 0)));
+        historyTracker.saveMealEntries(mealEntries);
+
+        MealList reloadedOptions = new HistoryTracker().loadMealOptions(true);
+        MealEntriesList reloadedEntries = new HistoryTracker().loadMealEntries(true);
+        assertEquals(1, reloadedOptions.size());
+        assertEquals("#1 special with 300 calories", reloadedOptions.toMealStringByIndex(0));
+        assertEquals(1, reloadedEntries.size());
+        assertEquals(mealEntries.toMealStringByIndex(0), reloadedEntries.toMealStringByIndex(0));
+
+        historyTracker.saveMealOptions(historyTracker.loadEmptyMealOptions());
+        historyTracker.saveMealEntries(historyTracker.loadEmptyMealEntries());
+    }
+
+    @Test
+    public void loadMealEntries_separateEntriesOfSameMeal_notCollapsed() {
+        HistoryTracker historyTracker = new HistoryTracker();
+        MealEntriesList mealEntries = historyTracker.loadEmptyMealEntries();
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 0, 0);
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pizza"), 500, timestamp));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pizza"), 500, timestamp));
+        historyTracker.saveMealEntries(mealEntries);
+
+        MealEntriesList reloadedEntries = new HistoryTracker().loadMealEntries(true);
+        assertEquals(2, reloadedEntries.size());
+        assertEquals(mealEntries.toMealStringByIndex(1), reloadedEntries.toMealStringByIndex(1));
+
+        historyTracker.saveMealEntries(historyTracker.loadEmptyMealEntries());
+    }
+
+    @Test
+    public void saveMealOptions_addUpdateAndDelete_appendsOnlyChangedOptions() throws IOException {
+        HistoryTracker historyTracker = new HistoryTracker();
+        historyTracker.saveMealOptions(historyTracker.loadEmptyMealOptions());
+        MealList mealOptions = historyTracker.loadMealOptions(true);
+        mealOptions.addMeal(new Meal(Optional.of("pizza"), 300));
+        mealOptions.addMeal(new Meal(Optional.of("burger"), 500));
+        mealOptions.addMeal(new Meal(Optional.of("salad"), 100));
+        historyTracker.saveMealOptions(mealOptions);
+
+        mealOptions.updateMeal(new Meal(Optional.of("burger"), 550));
+        mealOptions.deleteMeal(1);
+        historyTracker.saveMealOptions(mealOptions);
+        historyTracker.saveMealOptions(mealOptions);
+
+        Path logPath = Path.of("data", "meal_options.log");
+        assertEquals(List.of("put,pizza,300", "put,burger,500", "put,salad,100", "remove,pizza", "put,burger,550"),
+                Files.readAllLines(logPath));
+        MealList reloadedOptions = new HistoryTracker().loadMealOptions(true);
+        assertEquals(2, reloadedOptions.size());
+        assertEquals("burger with 550 calories", reloadedOptions.toMealStringByIndex(0));
+        assertEquals("salad with 100 calories", reloadedOptions.toMealStringByIndex(1));
+
+        historyTracker.saveMealOptions(historyTracker.loadEmptyMealOptions());
+        assertEquals(false, logPath.toFile().exists());
+        assertEquals(0, historyTracker.loadMealOptions(true).size());
+    }
+
+    @Test
+    public void flushDeferredSaves_deferredChanges_writtenOnlyOnFlush() {
+        HistoryTracker historyTracker = new HistoryTracker();
+        MealList mealOptions = historyTracker.loadEmptyMealOptions();
+        MealEntriesList mealEntries = historyTracker.loadEmptyMealEntries();
+        historyTracker.saveMealOptions(mealOptions);
+        historyTracker.saveMealEntries(mealEntries);
+
+        historyTracker.deferSaves();
+        LocalDateTime timestamp = LocalDateTime.of(2024, 10, 30, 0, 0);
+        for (int i = 0; i < 3; i++) {
+            mealEntries.addMeal(new MealEntry(Optional.of("pizza"), 300, timestamp));
+            historyTracker.saveMealEntryChanges(mealEntries);
+        }
+        mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("pizza"), 300));
+        historyTracker.saveMealOptions(mealOptions);
+        assertSame(mealEntries, historyTracker.reloadMealEntriesIfChanged(mealEntries));
+        assertEquals(0, new HistoryTracker().loadMealEntries(true).size());
+        assertEquals(0, new HistoryTracker().loadMealOptions(true).size());
+
+        historyTracker.flushDeferredSaves(mealOptions, mealEntries, false);
+        assertEquals(3, new HistoryTracker().loadMealEntries(true).size());
+        assertEquals(1, new HistoryTracker().loadMealOptions(true).size());
+
+        historyTracker.saveMealOptions(historyTracker.loadEmptyMealOptions());
+        historyTracker.saveMealEntries(historyTracker.loadEmptyMealEntries());
+        assertEquals(0, new HistoryTracker().loadMealEntries(true).size());
+    }
 }
@@ -0,0 +1,320 @@
+package seedu.healthmate;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import seedu.healthmate.core.DailyCalorieSummary;
+import seedu.healthmate.core.HealthGoal;
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.core.SegmentedMealEntriesList;
+import seedu.healthmate.core.User;
+import seedu.healthmate.utils.DateTimeUtils;
+
+public class MealEntriesListTest {
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 10, 28);
+
+    @Test
+    public void getMealEntriesByDate_afterAddAndDelete_usesUpdatedIndex() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pizza"), 300, FIRST_DATE.atTime(12, 0)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("burger"), 500, FIRST_DATE.atTime(18, 0)));
+        LocalDateTime startOfDay = FIRST_DATE.atStartOfDay();
+        LocalDateTime endOfDay = FIRST_DATE.atTime(23, 59);
+        assertEquals(800, mealEntries.getMealEntriesByDate(startOfDay, endOfDay).getTotalCaloriesConsumed());
+
+        mealEntries.addMeal(new MealEntry(Optional.of("salad"), 100, FIRST_DATE.atTime(12, 0)));
+        mealEntries.deleteMeal(2);
+
+        MealEntriesList mealsConsumed = mealEntries.getMealEntriesByDate(startOfDay, endOfDay);
+        assertEquals(400, mealsConsumed.getTotalCaloriesConsumed());
+        assertEquals(2, mealsConsumed.size());
+        assertEquals(0, mealEntries.getMealEntriesByDate(endOfDay, startOfDay).size());
+    }
+
+    @Test
+    public void getCaloriesPerDay_entriesAcrossDays_sumsEachDay() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pizza"), 300, FIRST_DATE.atTime(23, 59)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("burger"), 500,
+                FIRST_DATE.plusDays(2).atTime(8, 0)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("salad"), 100, FIRST_DATE.atStartOfDay()));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("soup"), 50,
+                FIRST_DATE.plusDays(3).atStartOfDay()));
+
+        assertArrayEquals(new int[] {400, 0, 500}, mealEntries.getCaloriesPerDay(FIRST_DATE, 3));
+    }
+
+    @Test
+    public void getCalorieSummary_heaviestMealDeleted_recomputesDay() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pizza"), 300, FIRST_DATE.atTime(12, 0)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("burger"), 500, FIRST_DATE.atTime(18, 0)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("salad"), 100,
+                FIRST_DATE.plusDays(1).atTime(8, 0)));
+        assertEquals(2, mealEntries.getDailyRollups().get(FIRST_DATE).getMealCount());
+
+        mealEntries.removeMealWithoutCLIMessage(2);
+
+        DailyCalorieSummary summary = mealEntries.getCalorieSummary(FIRST_DATE.atStartOfDay(),
+                FIRST_DATE.plusDays(1).atTime(8, 0));
+        assertEquals(400, summary.getCalories());
+        assertEquals(2, summary.getMealCount());
+        assertEquals("pizza", summary.getHeaviestMeal().orElseThrow().getName().orElseThrow());
+        assertEquals(300, mealEntries.getDailyRollups().get(FIRST_DATE).getHeaviestMeal().orElseThrow()
+                .getCalories());
+    }
+
+    @Test
+    public void getCalorieSummary_equallyHeavyMealsOnSeveralDays_keepsMealLoggedLast() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pizza"), 500,
+                FIRST_DATE.plusDays(2).atTime(12, 0)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("burger"), 500, FIRST_DATE.atTime(18, 0)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("salad"), 100,
+                FIRST_DATE.plusDays(1).atTime(8, 0)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pasta"), 500,
+                FIRST_DATE.plusDays(1).atTime(7, 0)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("steak"), 500,
+                FIRST_DATE.plusDays(1).atTime(6, 0)));
+        LocalDateTime startOfDay = FIRST_DATE.atStartOfDay();
+        LocalDateTime endOfDay = DateTimeUtils.endOfDayLocalDateTime(FIRST_DATE.plusDays(2));
+
+        DailyCalorieSummary summary = mealEntries.getCalorieSummary(startOfDay, endOfDay);
+
+        assertEquals(2100, summary.getCalories());
+        assertEquals("steak", summary.getHeaviestMeal().orElseThrow().getName().orElseThrow());
+        assertEquals("steak", mealEntries.getDailyRollups().get(FIRST_DATE.plusDays(1)).getHeaviestMeal()
+                .orElseThrow().getName().orElseThrow());
+    }
+
+    @Test
+    public void getCaloriesConsumed_multiYearRange_sumsAddedAndDeletedEntries() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pizza"), 300, FIRST_DATE.atTime(12, 0)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("burger"), 500,
+                FIRST_DATE.minusYears(3).atTime(18, 0)));
+        LocalDateTime lowerDateBound = FIRST_DATE.minusYears(5).atStartOfDay();
+        LocalDateTime upperDateBound = FIRST_DATE.plusYears(5).atTime(23, 59);
+        assertEquals(800, mealEntries.getCaloriesConsumed(lowerDateBound, upperDateBound));
+
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("salad"), 100,
+                FIRST_DATE.plusYears(4).atTime(8, 0)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("soup"), 50, FIRST_DATE.atTime(13, 0)));
+        mealEntries.removeMealWithoutCLIMessage(1);
+
+        assertEquals(650, mealEntries.getCaloriesConsumed(lowerDateBound, upperDateBound));
+        assertEquals(50, mealEntries.getCaloriesConsumed(FIRST_DATE.atTime(12, 30), FIRST_DATE.plusDays(1)
+                .atStartOfDay()));
+        assertEquals(0, mealEntries.getCaloriesConsumed(upperDateBound, lowerDateBound));
+    }
+
+    @Test
+    public void getMealEntriesByDate_sharedTimestamps_keepsLogOrderAfterRemovingPortion() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        LocalDateTime noon = FIRST_DATE.atTime(12, 0);
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pizza"), 300, noon, 2));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("burger"), 500, FIRST_DATE.atTime(8, 0)));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pizza"), 300, noon));
+        assertTrue(mealEntries.getMealEntriesByDate(noon, noon).toMealStringByIndex(0).startsWith("2 x pizza"));
+
+        mealEntries.removePortionWithoutCLIMessage(1);
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.empty(), 50, noon));
+
+        MealEntriesList mealsAtNoon = mealEntries.getMealEntriesByDate(noon, noon);
+        assertEquals(3, mealsAtNoon.size());
+        assertEquals(650, mealsAtNoon.getTotalCaloriesConsumed());
+        assertEquals(mealsAtNoon.toMealStringByIndex(1), mealsAtNoon.getMaxCaloriesConsumed().orElseThrow().toString());
+        assertEquals(mealEntries.toMealStringByIndex(0), mealsAtNoon.toMealStringByIndex(0));
+        assertEquals(1150, mealEntries.getTotalCaloriesConsumed());
+    }
+
+    @Test
+    public void getMealEntries_repeatedNames_shareInternedName() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of(new String("pizza")), 300,
+                FIRST_DATE.atTime(12, 0)));
+        MealEntriesList otherMealEntries = new MealEntriesList();
+        otherMealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of(new String("pizza")), 350,
+                FIRST_DATE.atTime(18, 0)));
+
+        Optional<String> name = mealEntries.getMealEntries().get(0).getName();
+        assertSame(name, otherMealEntries.getMealEntries().get(0).getName());
+        assertSame(name, Meal.extractMealDescription("add pizza /c300", "add"));
+    }
+
+    @Test
+    public void deleteMeal_positionsAcrossChunks_matchesDisplayedIndices() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        List<String> displayedEntries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            MealEntry mealEntry = new MealEntry(Optional.of("meal" + i), i, FIRST_DATE.atStartOfDay().plusHours(i));
+            mealEntries.addMealWithoutCLIMessage(mealEntry);
+            displayedEntries.add(mealEntry.toString());
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 700; i++) {
+            int mealNumber = random.nextInt(displayedEntries.size()) + 1;
+            mealEntries.removeMealWithoutCLIMessage(mealNumber);
+            displayedEntries.remove(mealNumber - 1);
+        }
+        mealEntries.removePortionWithoutCLIMessage(150);
+        displayedEntries.remove(149);
+
+        assertEquals(displayedEntries.size(), mealEntries.size());
+        for (int i = 0; i < displayedEntries.size(); i++) {
+            assertEquals(displayedEntries.get(i), mealEntries.toMealStringByIndex(i));
+        }
+        LocalDateTime lowerDateBound = FIRST_DATE.plusDays(10).atStartOfDay();
+        LocalDateTime upperDateBound = FIRST_DATE.plusDays(20).atStartOfDay();
+        long entriesInRange = mealEntries.getMealEntries().stream()
+                .filter(meal -> meal.isAfterEqualDate(lowerDateBound) && meal.isBeforeEqualDate(upperDateBound))
+                .count();
+        assertEquals(entriesInRange, mealEntries.getMealEntriesByDate(lowerDateBound, upperDateBound).size());
+    }
+
+    @Test
+    public void removeMeal_heavyInsertsAndDeletes_matchesListAndKeepsSnapshots() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        List<MealEntry> expectedEntries = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            MealEntry mealEntry = new MealEntry(Optional.of("meal" + i), 100, FIRST_DATE.atStartOfDay().plusHours(i));
+            mealEntries.addMealWithoutCLIMessage(mealEntry);
+            expectedEntries.add(mealEntry);
+        }
+        List<Meal> snapshot = mealEntries.getMealEntries();
+        Random random = new Random(7);
+        for (int i = 0; i < 2800; i++) {
+            int mealNumber = random.nextInt(expectedEntries.size()) + 1;
+            mealEntries.removeMealWithoutCLIMessage(mealNumber);
+            expectedEntries.remove(mealNumber - 1);
+            if (i % 10 == 0) {
+                int portionNumber = random.nextInt(expectedEntries.size()) + 1;
+                MealEntry mealEntry = expectedEntries.get(portionNumber - 1).withPortions(2);
+                mealEntries.removeMealWithoutCLIMessage(portionNumber);
+                mealEntries.addMealWithoutCLIMessage(mealEntry);
+                expectedEntries.remove(portionNumber - 1);
+                expectedEntries.add(mealEntry);
+                mealEntries.removePortionWithoutCLIMessage(expectedEntries.size() + 1);
+                expectedEntries.set(expectedEntries.size() - 1, mealEntry.withPortions(1));
+            }
+        }
+
+        assertEquals(3000, snapshot.size());
+        assertEquals("meal1500 with 100 calories (at: 2024-12-29)", snapshot.get(1500).toString());
+        assertEquals(expectedEntries.size(), mealEntries.size());
+        for (int i = 0; i < expectedEntries.size(); i++) {
+            assertEquals(expectedEntries.get(i).toString(), mealEntries.toMealStringByIndex(i));
+        }
+        LocalDateTime lowerDateBound = FIRST_DATE.plusDays(30).atStartOfDay();
+        LocalDateTime upperDateBound = FIRST_DATE.plusDays(60).atStartOfDay();
+        long entriesInRange = expectedEntries.stream()
+                .filter(meal -> meal.isAfterEqualDate(lowerDateBound) && meal.isBeforeEqualDate(upperDateBound))
+                .count();
+        assertEquals(entriesInRange, mealEntries.getMealEntriesByDate(lowerDateBound, upperDateBound).size());
+    }
+
+    @Test
+    public void getMealEntriesByDate_backdatedEntriesAndRepeatedInserts_matchesLogOrder() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        List<MealEntry> expectedEntries = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime timestamp = FIRST_DATE.atStartOfDay().plusHours(i % 3 == 0 ? random.nextInt(2000) : i);
+            MealEntry mealEntry = new MealEntry(Optional.of("meal" + i), i, timestamp);
+            mealEntries.addMealWithoutCLIMessage(mealEntry);
+            expectedEntries.add(mealEntry);
+        }
+        for (int i = 1000; i <= 1001; i++) {
+            MealEntry mealEntry = new MealEntry(Optional.of("meal" + i), 50, FIRST_DATE.plusDays(40).atTime(12, 0), 60);
+            mealEntries.updateMeal(mealEntry);
+            expectedEntries.set(i, mealEntry);
+        }
+        for (int i = 0; i < 100; i++) {
+            int position = 1000 + i % 2;
+            int portionNumber = expectedEntries.subList(0, position + 1).stream()
+                    .mapToInt(MealEntry::getPortions)
+                    .sum();
+            mealEntries.removePortionWithoutCLIMessage(portionNumber);
+            MealEntry mealEntry = expectedEntries.get(position);
+            expectedEntries.set(position, mealEntry.withPortions(mealEntry.getPortions() - 1));
+        }
+        mealEntries.removeMealWithoutCLIMessage(1);
+        expectedEntries.remove(0);
+
+        for (int days = 0; days < 90; days += 7) {
+            LocalDateTime lowerDateBound = FIRST_DATE.plusDays(days).atStartOfDay();
+            LocalDateTime upperDateBound = FIRST_DATE.plusDays(days + 10).atStartOfDay();
+            List<String> entriesInRange = expectedEntries.stream()
+                    .filter(meal -> meal.isAfterEqualDate(lowerDateBound) && meal.isBeforeEqualDate(upperDateBound))
+                    .map(MealEntry::toString)
+                    .toList();
+            List<String> foundEntries = new ArrayList<>();
+            mealEntries.forEachEntryBetween(lowerDateBound, upperDateBound, meal -> foundEntries.add(meal.toString()));
+            assertEquals(entriesInRange, foundEntries);
+            assertEquals(entriesInRange.size(),
+                    mealEntries.getMealEntriesByDate(lowerDateBound, upperDateBound).size());
+        }
+    }
+
+    @Test
+    public void getMealEntries_changedAfterSnapshot_keepsSnapshotUnchanged() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        for (int i = 0; i < 300; i++) {
+            mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("meal" + i), i, FIRST_DATE.atTime(12, 0)));
+        }
+        List<Meal> snapshot = mealEntries.getMealEntries();
+        assertSame(snapshot, mealEntries.getMealEntries());
+        String firstEntry = mealEntries.toMealStringByIndex(0);
+        String lastEntry = mealEntries.toMealStringByIndex(299);
+
+        mealEntries.removeMealWithoutCLIMessage(1);
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("salad"), 100, FIRST_DATE.atTime(18, 0)));
+
+        assertEquals(300, snapshot.size());
+        assertEquals(firstEntry, snapshot.get(0).toString());
+        assertEquals(lastEntry, snapshot.get(299).toString());
+        assertEquals(lastEntry, mealEntries.toMealStringByIndex(298));
+        assertEquals(300, mealEntries.getMealEntries().size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(0));
+    }
+
+    @Test
+    public void printDaysConsumptionBar_segmentedListWithoutRollups_readsOnlySegmentOfDay() {
+        int[] readCounts = new int[2];
+        LocalDate septemberDate = FIRST_DATE.minusMonths(1);
+        SegmentedMealEntriesList mealEntries = new SegmentedMealEntriesList(List.of(
+                new SegmentedMealEntriesList.Segment(septemberDate.withDayOfMonth(1), FIRST_DATE.withDayOfMonth(1),
+                        () -> {
+                            readCounts[0]++;
+                            return new ArrayList<>(List.of(
+                                    new MealEntry(Optional.of("pizza"), 300, septemberDate.atTime(12, 0))));
+                        }),
+                new SegmentedMealEntriesList.Segment(FIRST_DATE.withDayOfMonth(1), FIRST_DATE.plusMonths(1),
+                        () -> {
+                            readCounts[1]++;
+                            return new ArrayList<>(List.of(
+                                    new MealEntry(Optional.of("burger"), 500, FIRST_DATE.atTime(12, 0))));
+                        })), Comparator.comparing(meal -> ((MealEntry) meal).getTimestamp()));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("salad"), 100, FIRST_DATE.atTime(18, 0)));
+
+        mealEntries.printDaysConsumptionBar(new User(180, 80, true, 20, new HealthGoal(3), true),
+                FIRST_DATE.atTime(18, 0));
+
+        assertArrayEquals(new int[] {0, 1}, readCounts);
+        assertEquals(600, mealEntries.getDailySummaries(FIRST_DATE, FIRST_DATE).get(FIRST_DATE).getCalories());
+    }
+}
@@ -0,0 +1,54 @@
+package seedu.healthmate;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.core.MealEntryColumns;
+import seedu.healthmate.core.MealNameTable;
+
+public class MealEntryColumnsTest {
+    private static final LocalDateTime FIRST_TIMESTAMP = LocalDateTime.of(2024, 10, 28, 12, 0);
+
+    @Test
+    public void selectBetween_repeatedInsertsAtSamePosition_keepsLogOrder() {
+        MealEntryColumns columns = new MealEntryColumns(new MealNameTable());
+        List<Meal> expectedEntries = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            MealEntry mealEntry = new MealEntry(Optional.of("meal" + i), i, FIRST_TIMESTAMP.plusHours(i));
+            columns.add(mealEntry);
+            expectedEntries.add(mealEntry);
+        }
+        for (int i = 0; i < 100; i++) {
+            MealEntry mealEntry = new MealEntry(Optional.of("backdated" + i), i, FIRST_TIMESTAMP.plusHours(i % 5));
+            columns.add(300, mealEntry);
+            expectedEntries.add(300, mealEntry);
+        }
+        List<Meal> snapshot = columns.snapshot();
+        columns.remove(0);
+        columns.set(0, new MealEntry(Optional.of("salad"), 100, FIRST_TIMESTAMP.plusHours(3)));
+
+        List<String> expectedInRange = new ArrayList<>();
+        for (Meal meal : expectedEntries.subList(2, expectedEntries.size())) {
+            if (!meal.isAfterEqualDate(FIRST_TIMESTAMP.plusHours(5))) {
+                expectedInRange.add(meal.toString());
+            }
+        }
+        expectedInRange.add(0, "salad with 100 calories (at: 2024-10-28)");
+        List<String> selectedEntries = new ArrayList<>();
+        for (Meal meal : columns.selectBetween(FIRST_TIMESTAMP, FIRST_TIMESTAMP.plusHours(4)).snapshot()) {
+            selectedEntries.add(meal.toString());
+        }
+        assertEquals(expectedInRange, selectedEntries);
+        assertEquals(699, columns.size());
+        for (int i = 0; i < expectedEntries.size(); i++) {
+            assertEquals(expectedEntries.get(i).toString(), snapshot.get(i).toString());
+        }
+    }
+}
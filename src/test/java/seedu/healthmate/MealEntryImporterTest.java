@@ -0,0 +1,87 @@
+package seedu.healthmate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.core.MealList;
+import seedu.healthmate.services.MealEntryImporter;
+
+public class MealEntryImporterTest {
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private final PrintStream originalOutput = System.out;
+
+    @BeforeEach
+    public void setOutputStream() {
+        System.setOut(new PrintStream(outputStream));
+    }
+
+    @AfterEach
+    public void restoreStream() {
+        System.setOut(originalOutput);
+    }
+
+    @Test
+    public void importFile_csvAndJsonLines_importsValidAndCountsRejectedRecords() throws IOException {
+        MealList mealOptions = new MealList();
+        mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("burger"), 500));
+        String tomorrow = LocalDate.now().plusDays(1).toString();
+        Path file = Files.createTempFile("meal_entries_import", ".csv");
+        Files.write(file, List.of(
+                "name,calories,timestamp,portions",
+                "Pizza,300,2024-10-30,2",
+                "soup,120,2024-10-30T12:30",
+                "burger,,2024-10-31",
+                "{\"name\": \"salad\", \"calories\": 80, \"timestamp\": \"2024-11-01\", \"portions\": null}",
+                "cake,400," + tomorrow,
+                "tea,-5,2024-10-30",
+                "fries,200,2024-10-30,0",
+                "unknown meal,,2024-10-30",
+                "{\"name\": \"broken\""));
+
+        MealEntriesList mealEntries = new MealEntriesList();
+        MealEntryImporter.ImportResult result = new MealEntryImporter(mealOptions).importFile(file, mealEntries);
+        Files.delete(file);
+
+        assertEquals(4, result.getImportedCount());
+        assertEquals(5, result.getRejectedCount());
+        assertEquals(5, result.getRejections().size());
+        assertTrue(result.getRejections().get(0).startsWith("Line 6: "));
+        assertEquals(4, mealEntries.size());
+        assertEquals(new MealEntry(Optional.of("pizza"), 300, LocalDateTime.of(2024, 10, 30, 0, 0), 2).toString(),
+                mealEntries.toMealStringByIndex(0));
+        MealEntry soup = (MealEntry) mealEntries.getMealEntries().get(1);
+        assertEquals(LocalDateTime.of(2024, 10, 30, 12, 30), soup.getTimestamp());
+        assertEquals(500, mealEntries.getMealEntries().get(2).getCalories());
+        assertEquals(80, mealEntries.getMealEntries().get(3).getCalories());
+        assertTrue(mealEntries.drainPendingChanges().isEmpty());
+        assertEquals("", outputStream.toString());
+    }
+
+    @Test
+    public void importFile_missingFile_throwsAndKeepsEntries() {
+        MealEntriesList mealEntries = new MealEntriesList();
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pizza"), 300));
+        Path missingFile = Path.of("data", "missing_import.csv");
+
+        assertThrows(IOException.class, () -> new MealEntryImporter(new MealList()).importFile(missingFile,
+                mealEntries));
+        assertEquals(1, mealEntries.size());
+    }
+}
@@ -0,0 +1,86 @@
+package seedu.healthmate;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealList;
+
+public class MealListTest {
+
+    @Test
+    public void getCaloriesByMealName_afterAddUpdateAndDelete_usesUpdatedIndex() {
+        MealList mealOptions = new MealList();
+        mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("Pizza"), 300));
+        mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("burger"), 500));
+        assertEquals(Optional.of(300), mealOptions.getCaloriesByMealName("pizza"));
+        assertTrue(mealOptions.containsMealName(Optional.of("Pizza")));
+        assertFalse(mealOptions.containsMealName(Optional.of("pizza")));
+
+        mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("salad"), 100));
+        mealOptions.updateMeal(new Meal(Optional.of("burger"), 550));
+        assertEquals(Optional.of(550), mealOptions.getCaloriesByMealName("BURGER"));
+
+        mealOptions.removeMealWithoutCLIMessage(1);
+        assertEquals(Optional.empty(), mealOptions.getCaloriesByMealName("pizza"));
+        assertEquals(Optional.of(100), mealOptions.getCaloriesByMealName("Salad"));
+        assertEquals(2, mealOptions.size());
+    }
+
+    @Test
+    public void getCaloriesByMealName_foldedCase_matchesEqualsIgnoreCase() {
+        MealList mealOptions = new MealList();
+        mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("\u0130nci"), 200));
+        mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("\u017Fushi"), 400));
+
+        assertTrue("\u0130nci".equalsIgnoreCase("inci"));
+        assertEquals(Optional.of(200), mealOptions.getCaloriesByMealName("inci"));
+        assertTrue("\u017Fushi".equalsIgnoreCase("SUSHI"));
+        assertEquals(Optional.of(400), mealOptions.getCaloriesByMealName("SUSHI"));
+        assertEquals(Optional.empty(), mealOptions.getCaloriesByMealName("inc"));
+    }
+
+    @Test
+    public void getCaloriesByMealName_manyAddsAndDeletes_findsFirstRemainingMeal() {
+        MealList mealOptions = new MealList();
+        mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("soup"), 0));
+        assertEquals(Optional.of(0), mealOptions.getCaloriesByMealName("soup"));
+        for (int i = 1; i <= 100; i++) {
+            mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of(i % 2 == 0 ? "Soup" : "meal " + i), i));
+        }
+        assertEquals(Optional.of(1), mealOptions.getCaloriesByMealName("meal 1"));
+        for (int i = 0; i < 40; i++) {
+            mealOptions.removeMealWithoutCLIMessage(1);
+        }
+
+        assertEquals(61, mealOptions.size());
+        assertEquals(Optional.of(40), mealOptions.getCaloriesByMealName("SOUP"));
+        assertEquals(Optional.empty(), mealOptions.getCaloriesByMealName("meal 39"));
+        assertEquals(Optional.of(41), mealOptions.getCaloriesByMealName("meal 41"));
+        mealOptions.updateMeal(new Meal(Optional.of("Soup"), 45));
+        assertEquals(Optional.of(45), mealOptions.getCaloriesByMealName("soup"));
+        assertEquals("Soup with 45 calories", mealOptions.toMealStringByIndex(0));
+    }
+
+    @Test
+    public void getMealList_changedAfterView_keepsViewUnchanged() {
+        MealList mealOptions = new MealList();
+        mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("pizza"), 300));
+        List<Meal> mealOptionsView = mealOptions.getMealList();
+
+        mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("burger"), 500));
+        mealOptions.updateMeal(new Meal(Optional.of("pizza"), 350));
+
+        assertEquals(1, mealOptionsView.size());
+        assertEquals(300, mealOptionsView.get(0).getCalories());
+        assertEquals(Optional.of(350), mealOptions.getCaloriesByMealName("pizza"));
+        assertEquals(2, mealOptions.getMealList().size());
+        assertThrows(UnsupportedOperationException.class, () -> mealOptionsView.remove(0));
+    }
+}
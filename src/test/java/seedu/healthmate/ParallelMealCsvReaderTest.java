@@ -0,0 +1,76 @@
+package seedu.healthmate;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.services.ParallelMealCsvReader;
+import seedu.healthmate.utils.Pair;
+
+public class ParallelMealCsvReaderTest {
+
+    @Test
+    public void read_multiChunkFileWithCorruptedLines_keepsFileOrderAndCountsCorruptedLines() throws IOException {
+        File file = File.createTempFile("meal_entries", ".csv");
+        file.deleteOnExit();
+        int lineCount = 100_000;
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            writer.write("#checkpoint,1,0\r\n");
+            for (int i = 0; i < lineCount; i++) {
+                if (i % 1000 == 0) {
+                    writer.write("corrupted line\r\n");
+                }
+                writer.write("meal" + i + "," + i + "," + start.plusMinutes(i) + "\r\n");
+            }
+        }
+
+        Pair<List<Meal>, Integer> result = ParallelMealCsvReader.read(file, true, 1);
+
+        assertEquals(lineCount / 1000, (int) result.u());
+        assertEquals(lineCount, result.t().size());
+        for (int i = 0; i < lineCount; i++) {
+            assertEquals(i, result.t().get(i).getCalories());
+        }
+        assertEquals("meal99999", result.t().get(lineCount - 1).getName().orElse(""));
+    }
+
+    @Test
+    public void read_namesStartingWithHash_skipsOnlyEntriesHeader() throws IOException {
+        File optionsFile = File.createTempFile("meal_options", ".csv");
+        optionsFile.deleteOnExit();
+        Files.write(optionsFile.toPath(), List.of("#checkpoint,1,0", "#1 special,300", "salad,100"));
+        File entriesFile = File.createTempFile("meal_entries", ".csv");
+        entriesFile.deleteOnExit();
+        Files.write(entriesFile.toPath(), List.of("#checkpoint,1,0", "#hashtag meal,500, 2024-10-30T12:00"));
+
+        Pair<List<Meal>, Integer> options = ParallelMealCsvReader.read(optionsFile, false, 0);
+        Pair<List<Meal>, Integer> entries = ParallelMealCsvReader.read(entriesFile, true, 1);
+
+        assertEquals(2, options.t().size());
+        assertEquals("#1 special", options.t().get(0).getName().orElse(""));
+        assertEquals(1, (int) options.u());
+        assertEquals(1, entries.t().size());
+        assertEquals("#hashtag meal", entries.t().get(0).getName().orElse(""));
+        assertEquals(0, (int) entries.u());
+    }
+
+    @Test
+    public void read_emptyFile_returnsNoMeals() throws IOException {
+        File file = File.createTempFile("meal_options", ".csv");
+        file.deleteOnExit();
+
+        Pair<List<Meal>, Integer> result = ParallelMealCsvReader.read(file, false, 0);
+
+        assertEquals(0, result.t().size());
+        assertEquals(0, (int) result.u());
+    }
+}
@@ -6,9 +6,12 @@ import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.time.LocalDate;
+import java.util.Optional;
 
 import seedu.healthmate.exceptions.BadCalorieException;
 import seedu.healthmate.exceptions.BadPortionException;
@@ -16,6 +19,7 @@ import seedu.healthmate.exceptions.BadTimestampException;
 import seedu.healthmate.exceptions.EmptyCalorieException;
 import seedu.healthmate.exceptions.EmptyTimestampException;
 import seedu.healthmate.utils.Parameter;
+import seedu.healthmate.utils.ParsedParameters;
 
 public class ParametersTest {
     private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
@@ -157,4 +161,35 @@ public class ParametersTest {
         }
     }
 
+    /**
+     * Test cases for parsing all parameters of an input at once.
+     */
+    @Test
+    public void testParsedParameters() throws Exception {
+        ParsedParameters parameters = ParsedParameters.parse("add mealEntry Grapes /cx /c400 /p3 /t2024-11-05");
+        assertEquals(Optional.of("grapes"), parameters.getDescription("add mealEntry"));
+        assertEquals(400, parameters.getCalories());
+        assertEquals(3, parameters.getPortions());
+        assertEquals(LocalDate.of(2024, 11, 5), parameters.getTimestamp());
+        assertFalse(parameters.containsComma());
+
+        ParsedParameters noDescription = ParsedParameters.parse("add mealEntry /c400, /p0");
+        assertEquals(Optional.empty(), noDescription.getDescription("add mealEntry"));
+        assertTrue(noDescription.containsComma());
+        assertThrows(BadCalorieException.class, noDescription::getCalories);
+        assertThrows(BadPortionException.class, noDescription::getPortions);
+        assertThrows(EmptyTimestampException.class, noDescription::getTimestamp);
+
+        // a value too large for an int is malformed even if a valid value follows
+        assertThrows(BadCalorieException.class, () -> {
+            ParsedParameters.parse("add mealEntry grapes /c99999999999 /c400").getCalories();
+        });
+        assertEquals(-2, Parameter.parseParameter("add mealEntry grapes /p3/c4", Parameter.PORTIONS_SIGNALLER));
+        assertThrows(BadTimestampException.class, () -> {
+            ParsedParameters.parse("add mealEntry grapes /t2024-02-32").getTimestamp();
+        });
+        assertThrows(StringIndexOutOfBoundsException.class, () -> {
+            ParsedParameters.parse("/c400 add mealEntry grapes").getDescription("add mealEntry");
+        });
+    }
 }
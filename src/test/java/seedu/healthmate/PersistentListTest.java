@@ -0,0 +1,111 @@
+package seedu.healthmate;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import seedu.healthmate.utils.PersistentList;
+
+public class PersistentListTest {
+
+    @Test
+    public void plusWithMinus_randomChanges_matchArrayListAndKeepOldVersions() {
+        PersistentList<Integer> list = PersistentList.empty();
+        List<Integer> expected = new ArrayList<>();
+        List<PersistentList<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> expectedVersions = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            int operation = random.nextInt(4);
+            if (expected.isEmpty() || operation == 0) {
+                int index = random.nextInt(expected.size() + 1);
+                list = list.plus(index, i);
+                expected.add(index, i);
+            } else if (operation == 1) {
+                list = list.plus(i);
+                expected.add(i);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                list = list.with(index, -i);
+                expected.set(index, -i);
+            } else {
+                int index = random.nextInt(expected.size());
+                list = list.minus(index);
+                expected.remove(index);
+            }
+            if (i % 100 == 0) {
+                versions.add(list);
+                expectedVersions.add(new ArrayList<>(expected));
+            }
+        }
+
+        assertEquals(expected, list);
+        assertEquals(expected.get(expected.size() / 2), list.get(expected.size() / 2));
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(expectedVersions.get(i), versions.get(i));
+        }
+    }
+
+    @Test
+    public void indexOfWeight_weightedBlocks_locatesBlockOfEachOffset() {
+        PersistentList<Block> blocks = PersistentList.of(List.of(new Block(3), new Block(0), new Block(2)));
+        blocks = blocks.plus(1, new Block(4)).minus(2).plus(new Block(1));
+
+        assertEquals(10, blocks.totalWeight());
+        int[] expectedIndices = {0, 0, 0, 1, 1, 1, 1, 2, 2, 3};
+        for (int offset = 0; offset < expectedIndices.length; offset++) {
+            assertEquals(expectedIndices[offset], blocks.indexOfWeight(offset));
+        }
+        assertEquals(0, blocks.weightBefore(0));
+        assertEquals(7, blocks.weightBefore(2));
+        assertEquals(10, blocks.weightBefore(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> PersistentList.of(List.of(new Block(2))).indexOfWeight(2));
+        assertEquals(3, PersistentList.of(List.of("pizza", "burger", "salad")).totalWeight());
+    }
+
+    @Test
+    public void indexOfFirst_sortedList_findsLowerBoundAndIteratesFromIt() {
+        PersistentList<Integer> list = PersistentList.empty();
+        for (int i = 0; i < 100; i++) {
+            list = list.plus(i * 2);
+        }
+
+        assertEquals(21, list.indexOfFirst(value -> value >= 41));
+        assertEquals(0, list.indexOfFirst(value -> value >= -1));
+        assertEquals(100, list.indexOfFirst(value -> value >= 200));
+        for (int fromIndex = 0; fromIndex <= 100; fromIndex += 9) {
+            List<Integer> iterated = new ArrayList<>();
+            list.iterator(fromIndex).forEachRemaining(iterated::add);
+            assertEquals(list.subList(fromIndex, 100), iterated);
+        }
+        assertFalse(list.iterator(100).hasNext());
+    }
+
+    @Test
+    public void of_list_buildsEqualImmutableList() {
+        PersistentList<String> list = PersistentList.of(List.of("pizza", "burger", "salad"));
+
+        assertEquals(List.of("pizza", "burger", "salad"), list);
+        assertEquals(List.of("pizza", "salad"), list.minus(1));
+        assertThrows(UnsupportedOperationException.class, () -> list.add("soup"));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+    }
+
+    private static class Block implements PersistentList.Weighted {
+        private final int size;
+
+        private Block(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int weight() {
+            return size;
+        }
+    }
+}
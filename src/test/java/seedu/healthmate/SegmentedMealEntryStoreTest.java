@@ -0,0 +1,90 @@
+package seedu.healthmate;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.services.MealEntryJournal;
+import seedu.healthmate.services.SegmentPeriod;
+import seedu.healthmate.services.SegmentedMealEntryStore;
+
+public class SegmentedMealEntryStoreTest {
+    private static final LocalDateTime OCTOBER = LocalDateTime.of(2024, 10, 30, 0, 0);
+    private static final LocalDateTime NOVEMBER = LocalDateTime.of(2024, 11, 2, 0, 0);
+
+    @Test
+    public void load_dateRangeQuery_readsOnlyOverlappingSegments() throws IOException {
+        File directory = Files.createTempDirectory("meal_entries").toFile();
+        SegmentedMealEntryStore store = new SegmentedMealEntryStore(directory, SegmentPeriod.MONTH);
+        store.write(List.of(
+                new MealEntry(Optional.of("pizza"), 300, NOVEMBER),
+                new MealEntry(Optional.of("burger"), 500, OCTOBER),
+                new MealEntry(Optional.of("salad"), 100, NOVEMBER)), new MealEntryJournal.Checkpoint(3, 7));
+
+        SegmentedMealEntryStore reloadedStore = new SegmentedMealEntryStore(directory, SegmentPeriod.MONTH);
+        MealEntriesList loadedEntries = reloadedStore.load();
+        assertTrue(findSegmentFile(directory, "2024-10.").delete());
+
+        MealEntriesList novemberEntries = loadedEntries.getMealEntriesByDate(NOVEMBER, NOVEMBER.plusDays(1));
+        assertEquals(400, novemberEntries.getTotalCaloriesConsumed());
+        assertEquals(3, reloadedStore.readCheckpoint().getEpoch());
+        assertEquals(7, reloadedStore.readCheckpoint().getRecordCount());
+    }
+
+    @Test
+    public void load_entriesNotInDateOrder_keepsLogOrderAcrossSegments() throws IOException {
+        File directory = Files.createTempDirectory("meal_entries").toFile();
+        List<Meal> meals = List.of(
+                new MealEntry(Optional.of("pizza"), 300, NOVEMBER),
+                new MealEntry(Optional.of("burger"), 500, OCTOBER),
+                new MealEntry(Optional.of("salad"), 100, NOVEMBER));
+        new SegmentedMealEntryStore(directory, SegmentPeriod.MONTH).write(meals, MealEntryJournal.Checkpoint.NONE);
+
+        MealEntriesList loadedEntries = new SegmentedMealEntryStore(directory, SegmentPeriod.MONTH).load();
+
+        assertEquals(3, loadedEntries.size());
+        for (int i = 0; i < meals.size(); i++) {
+            assertEquals(meals.get(i).toString(), loadedEntries.toMealStringByIndex(i));
+        }
+    }
+
+    @Test
+    public void write_entryAddedToOneMonth_rewritesOnlyThatSegment() throws IOException {
+        File directory = Files.createTempDirectory("meal_entries").toFile();
+        SegmentedMealEntryStore store = new SegmentedMealEntryStore(directory, SegmentPeriod.MONTH);
+        List<Meal> meals = new ArrayList<>(List.of(
+                new MealEntry(Optional.of("burger"), 500, OCTOBER),
+                new MealEntry(Optional.of("pizza"), 300, NOVEMBER)));
+        store.write(meals, MealEntryJournal.Checkpoint.NONE);
+        String octoberFileName = findSegmentFile(directory, "2024-10.").getName();
+        String novemberFileName = findSegmentFile(directory, "2024-11.").getName();
+
+        MealEntriesList mealEntries = store.load();
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("salad"), 100, NOVEMBER));
+        store.write(mealEntries.getMealEntries(), MealEntryJournal.Checkpoint.NONE);
+
+        assertEquals(octoberFileName, findSegmentFile(directory, "2024-10.").getName());
+        assertTrue(!novemberFileName.equals(findSegmentFile(directory, "2024-11.").getName()));
+        assertEquals(3, directory.listFiles().length);
+        assertEquals(3, store.load().size());
+    }
+
+    private static File findSegmentFile(File directory, String prefix) {
+        return Arrays.stream(directory.listFiles())
+                .filter(file -> file.getName().startsWith(prefix))
+                .findFirst()
+                .orElseThrow();
+    }
+}
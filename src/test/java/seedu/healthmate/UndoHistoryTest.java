@@ -0,0 +1,121 @@
+package seedu.healthmate;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import seedu.healthmate.core.Meal;
+import seedu.healthmate.core.MealEntriesList;
+import seedu.healthmate.core.MealEntry;
+import seedu.healthmate.core.MealList;
+import seedu.healthmate.core.SegmentedMealEntriesList;
+import seedu.healthmate.services.UndoHistory;
+import seedu.healthmate.utils.Pair;
+
+public class UndoHistoryTest {
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 10, 28, 12, 0);
+
+    @Test
+    public void undoRedo_changesToBothLists_restoresEachState() {
+        UndoHistory undoHistory = new UndoHistory();
+        MealList mealOptions = new MealList();
+        MealEntriesList mealEntries = new MealEntriesList();
+
+        Pair<List<Meal>, List<Meal>> stateBefore = undoHistory.capture(mealOptions, mealEntries);
+        mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("pizza"), 300));
+        undoHistory.record(stateBefore, mealOptions, mealEntries);
+
+        stateBefore = undoHistory.capture(mealOptions, mealEntries);
+        for (int i = 0; i < 300; i++) {
+            mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("pizza"), 300, TIMESTAMP));
+        }
+        undoHistory.record(stateBefore, mealOptions, mealEntries);
+
+        stateBefore = undoHistory.capture(mealOptions, mealEntries);
+        mealEntries.removeMealWithoutCLIMessage(1);
+        undoHistory.record(stateBefore, mealOptions, mealEntries);
+
+        stateBefore = undoHistory.capture(mealOptions, mealEntries);
+        undoHistory.record(stateBefore, mealOptions, mealEntries);
+
+        assertTrue(undoHistory.undo(mealOptions, mealEntries));
+        assertEquals(300, mealEntries.size());
+        assertEquals(90000, mealEntries.getTotalCaloriesConsumed());
+        assertTrue(undoHistory.undo(mealOptions, mealEntries));
+        assertEquals(0, mealEntries.size());
+        assertEquals(1, mealOptions.size());
+        assertTrue(undoHistory.undo(mealOptions, mealEntries));
+        assertEquals(0, mealOptions.size());
+        assertFalse(undoHistory.undo(mealOptions, mealEntries));
+
+        assertTrue(undoHistory.redo(mealOptions, mealEntries));
+        assertEquals(Optional.of(300), mealOptions.getCaloriesByMealName("pizza"));
+        assertTrue(undoHistory.redo(mealOptions, mealEntries));
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("salad"), 100, TIMESTAMP));
+        assertEquals(301, mealEntries.size());
+        assertTrue(undoHistory.redo(mealOptions, mealEntries));
+        assertEquals(299, mealEntries.size());
+        assertFalse(undoHistory.redo(mealOptions, mealEntries));
+    }
+
+    @Test
+    public void undoRedo_segmentedEntries_readsNoSegment() {
+        int[] readCount = new int[1];
+        LocalDate date = TIMESTAMP.toLocalDate();
+        UndoHistory undoHistory = new UndoHistory();
+        MealList mealOptions = new MealList();
+        SegmentedMealEntriesList mealEntries = new SegmentedMealEntriesList(List.of(
+                new SegmentedMealEntriesList.Segment(date.withDayOfMonth(1), date.plusMonths(1).withDayOfMonth(1),
+                        () -> {
+                            readCount[0]++;
+                            return new ArrayList<>(List.of(new MealEntry(Optional.of("pizza"), 300, TIMESTAMP)));
+                        })), Comparator.comparing(meal -> ((MealEntry) meal).getTimestamp()));
+
+        Pair<List<Meal>, List<Meal>> stateBefore = undoHistory.capture(mealOptions, mealEntries);
+        mealEntries.addMealWithoutCLIMessage(new MealEntry(Optional.of("salad"), 100, TIMESTAMP));
+        undoHistory.record(stateBefore, mealOptions, mealEntries);
+        assertTrue(undoHistory.undo(mealOptions, mealEntries));
+        assertTrue(undoHistory.redo(mealOptions, mealEntries));
+        assertTrue(undoHistory.undo(mealOptions, mealEntries));
+
+        assertArrayEquals(new int[] {0}, readCount);
+        assertEquals(1, mealEntries.size());
+        assertEquals(300, mealEntries.getTotalCaloriesConsumed());
+        assertTrue(undoHistory.redo(mealOptions, mealEntries));
+        assertEquals(400, mealEntries.getTotalCaloriesConsumed());
+        assertEquals(1, readCount[0]);
+    }
+
+    @Test
+    public void record_afterUndoAndBeyondCapacity_dropsRedoAndOldestChanges() {
+        UndoHistory undoHistory = new UndoHistory(2);
+        MealList mealOptions = new MealList();
+        MealEntriesList mealEntries = new MealEntriesList();
+        for (int i = 0; i < 3; i++) {
+            Pair<List<Meal>, List<Meal>> stateBefore = undoHistory.capture(mealOptions, mealEntries);
+            mealOptions.addMealWithoutCLIMessage(new Meal(Optional.of("meal" + i), i));
+            undoHistory.record(stateBefore, mealOptions, mealEntries);
+        }
+
+        assertTrue(undoHistory.undo(mealOptions, mealEntries));
+        Pair<List<Meal>, List<Meal>> stateBefore = undoHistory.capture(mealOptions, mealEntries);
+        mealOptions.removeMealWithoutCLIMessage(1);
+        undoHistory.record(stateBefore, mealOptions, mealEntries);
+
+        assertFalse(undoHistory.redo(mealOptions, mealEntries));
+        assertTrue(undoHistory.undo(mealOptions, mealEntries));
+        assertTrue(undoHistory.undo(mealOptions, mealEntries));
+        assertFalse(undoHistory.undo(mealOptions, mealEntries));
+        assertEquals(1, mealOptions.size());
+    }
+}
@@ -5,6 +5,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
 import seedu.healthmate.core.HealthGoal;
 import seedu.healthmate.core.User;
 import seedu.healthmate.core.UserEntryList;
@@ -57,6 +61,26 @@ public class UserHistoryTrackerTest {
         assertEquals(expectedSaveFileContent.toString().trim(), userEntryList.toString());
     }
 
+    /**
+     * Verifies that the latest User entry is read from the end of the save file,
+     * so corrupted historic entries do not affect it.
+     */
+    @Test
+    public void getLatestUser_corruptedHistoricEntry_returnsLatestEntry() throws IOException {
+        userHistoryTracker.clearSaveFile();
+        try (FileWriter writer = new FileWriter("data" + File.separator + "user_data.csv", true)) {
+            writer.write("corrupted,line" + System.lineSeparator());
+        }
+        User user = User.createUserStub();
+        userHistoryTracker.addUserEntry(user);
+
+        String latestUser = userHistoryTracker.getLatestUser()
+                .map(x -> x.toString())
+                .orElseThrow(() -> new AssertionError("Expected a saved user entry, but none was found"));
+
+        assertEquals(user.toString(), latestUser);
+    }
+
     @AfterEach
     public void userHistoryTracker_cleanup() {
         userHistoryTracker.clearSaveFile();